@@ -0,0 +1,209 @@
+package net.jmp.util.extra.benchmarks;
+
+/*
+ * (#)AppliedListBenchmark.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import net.jmp.util.extra.AppliedList;
+
+import static net.jmp.util.extra.benchmarks.Baselines.*;
+
+import org.openjdk.jmh.annotations.*;
+
+/// The benchmarks of AppliedList against an ArrayList
+/// whose consumers are submitted by hand to a fixed pool.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppliedListBenchmark {
+    /// The number of elements.
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    /// The number of threads that apply consumers.
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    /// The elements.
+    private List<Integer> elements;
+
+    /// The elements to remove, every other one.
+    private Set<Integer> removals;
+
+    /// The applied list that holds the elements.
+    private AppliedList<Integer> appliedElements;
+
+    /// The applied list that is refilled by each benchmark.
+    private AppliedList<Integer> appliedList;
+
+    /// The JDK list that is refilled by each benchmark.
+    private List<Integer> jdkList;
+
+    /// The executor service of the JDK baselines.
+    private ExecutorService executor;
+
+    /// The default constructor.
+    public AppliedListBenchmark() {
+        super();
+    }
+
+    /// Create the collections and executor services.
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.elements = IntStream.range(0, this.size).boxed().toList();
+        this.removals = this.elements.stream().filter(e -> e % 2 == 0).collect(Collectors.toSet());
+        this.appliedElements = new AppliedList<>(this.threads);
+        this.appliedElements.addAll(this.elements);
+        this.appliedList = new AppliedList<>(this.threads);
+        this.jdkList = new ArrayList<>(this.size);
+        this.executor = Executors.newFixedThreadPool(this.threads);
+    }
+
+    /// Close the collections and shut down the executor service.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.appliedElements.close();
+        this.appliedList.close();
+
+        shutdown(this.executor);
+    }
+
+    /// Measure AppliedList.applyAndAdd.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedApplyAndAdd() {
+        boolean result = true;
+
+        this.appliedList.clear();
+
+        for (final Integer element : this.elements) {
+            result &= this.appliedList.applyAndAdd(element, MAPPER);
+        }
+
+        return result;
+    }
+
+    /// Measure mapping and adding to an ArrayList.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean jdkApplyAndAdd() {
+        boolean result = true;
+
+        this.jdkList.clear();
+
+        for (final Integer element : this.elements) {
+            result &= this.jdkList.add(MAPPER.apply(element));
+        }
+
+        return result;
+    }
+
+    /// Measure AppliedList.applyAndAddAll.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedApplyAndAddAll() {
+        this.appliedList.clear();
+
+        return this.appliedList.applyAndAddAll(this.elements, MAPPER);
+    }
+
+    /// Measure mapping and adding all to an ArrayList.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean jdkApplyAndAddAll() {
+        this.jdkList.clear();
+
+        return this.jdkList.addAll(this.elements.stream().map(MAPPER).toList());
+    }
+
+    /// Measure AppliedList.consume to completion.
+    @Benchmark
+    public void appliedConsume() {
+        this.appliedElements.consumeAsync(CONSUMER).join();
+    }
+
+    /// Measure applying the consumer to each
+    /// element of an ArrayList by hand.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public void jdkConsume() throws InterruptedException {
+        applyEach(this.executor, this.elements, CONSUMER);
+    }
+
+    /// Measure refilling the list and
+    /// AppliedList.removeAllAndApply to completion.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedRemoveAllAndApply() {
+        this.appliedList.clear();
+        this.appliedList.addAll(this.elements);
+
+        return this.appliedList.removeAllAndApplyAsync(this.removals, CONSUMER).join();
+    }
+
+    /// Measure refilling an ArrayList, removing
+    /// elements and applying the consumer by hand.
+    ///
+    /// @return boolean
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public boolean jdkRemoveAllAndApply() throws InterruptedException {
+        final List<Integer> removed = new ArrayList<>();
+
+        this.jdkList.clear();
+        this.jdkList.addAll(this.elements);
+
+        final boolean result = this.jdkList.removeIf(e -> this.removals.contains(e) && removed.add(e));
+
+        applyEach(this.executor, removed, CONSUMER);
+
+        return result;
+    }
+}
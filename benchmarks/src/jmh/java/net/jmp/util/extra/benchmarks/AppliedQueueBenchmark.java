@@ -0,0 +1,229 @@
+package net.jmp.util.extra.benchmarks;
+
+/*
+ * (#)AppliedQueueBenchmark.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.Consumer;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import net.jmp.util.extra.AppliedQueue;
+
+import static net.jmp.util.extra.benchmarks.Baselines.*;
+
+import org.openjdk.jmh.annotations.*;
+
+/// The benchmarks of AppliedQueue against a ConcurrentLinkedQueue
+/// whose consumers are submitted by hand to a fixed pool.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppliedQueueBenchmark {
+    /// The number of elements.
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    /// The number of threads that apply consumers.
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    /// The elements.
+    private List<Integer> elements;
+
+    /// The elements to remove, every other one.
+    private Set<Integer> removals;
+
+    /// The applied queue that is refilled by each benchmark.
+    private AppliedQueue<Integer> appliedQueue;
+
+    /// The JDK queue that is refilled by each benchmark.
+    private Queue<Integer> jdkQueue;
+
+    /// The executor service of the JDK baselines.
+    private ExecutorService executor;
+
+    /// The default constructor.
+    public AppliedQueueBenchmark() {
+        super();
+    }
+
+    /// Create the collections and executor services.
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.elements = IntStream.range(0, this.size).boxed().toList();
+        this.removals = this.elements.stream().filter(e -> e % 2 == 0).collect(Collectors.toSet());
+        this.appliedQueue = new AppliedQueue<>(this.threads);
+        this.jdkQueue = new ConcurrentLinkedQueue<>();
+        this.executor = Executors.newFixedThreadPool(this.threads);
+    }
+
+    /// Close the collections and shut down the executor service.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.appliedQueue.close();
+
+        shutdown(this.executor);
+    }
+
+    /// Measure AppliedQueue.applyAndAdd.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedApplyAndAdd() {
+        boolean result = true;
+
+        this.appliedQueue.clear();
+
+        for (final Integer element : this.elements) {
+            result &= this.appliedQueue.applyAndAdd(element, MAPPER);
+        }
+
+        return result;
+    }
+
+    /// Measure mapping and adding to a ConcurrentLinkedQueue.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean jdkApplyAndAdd() {
+        boolean result = true;
+
+        this.jdkQueue.clear();
+
+        for (final Integer element : this.elements) {
+            result &= this.jdkQueue.add(MAPPER.apply(element));
+        }
+
+        return result;
+    }
+
+    /// Measure AppliedQueue.applyAndAddAll.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedApplyAndAddAll() {
+        this.appliedQueue.clear();
+
+        return this.appliedQueue.applyAndAddAll(this.elements, MAPPER);
+    }
+
+    /// Measure mapping and adding all to a ConcurrentLinkedQueue.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean jdkApplyAndAddAll() {
+        this.jdkQueue.clear();
+
+        return this.jdkQueue.addAll(this.elements.stream().map(MAPPER).toList());
+    }
+
+    /// Measure refilling the queue and draining
+    /// it with AppliedQueue.pollAndApply until
+    /// every consumer has finished.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public void appliedPollAndApply() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(this.size);
+        final Consumer<Integer> consumer = e -> {
+            try {
+                CONSUMER.accept(e);
+            } finally {
+                latch.countDown();
+            }
+        };
+
+        this.appliedQueue.addAll(this.elements);
+
+        while (this.appliedQueue.pollAndApply(consumer) != null) {
+            // Keep polling until the queue is empty
+        }
+
+        latch.await();
+    }
+
+    /// Measure refilling a ConcurrentLinkedQueue, draining
+    /// it and applying the consumer by hand.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public void jdkPollAndApply() throws InterruptedException {
+        this.jdkQueue.addAll(this.elements);
+
+        pollEach(this.executor, this.jdkQueue, CONSUMER);
+    }
+
+    /// Measure refilling the queue and
+    /// AppliedQueue.removeAllAndApply to completion.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedRemoveAllAndApply() {
+        this.appliedQueue.clear();
+        this.appliedQueue.addAll(this.elements);
+
+        return this.appliedQueue.removeAllAndApplyAsync(this.removals, CONSUMER).join();
+    }
+
+    /// Measure refilling a ConcurrentLinkedQueue, removing
+    /// elements and applying the consumer by hand.
+    ///
+    /// @return boolean
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public boolean jdkRemoveAllAndApply() throws InterruptedException {
+        final List<Integer> removed = new ArrayList<>();
+
+        this.jdkQueue.clear();
+        this.jdkQueue.addAll(this.elements);
+
+        final boolean result = this.jdkQueue.removeIf(e -> this.removals.contains(e) && removed.add(e));
+
+        applyEach(this.executor, removed, CONSUMER);
+
+        return result;
+    }
+}
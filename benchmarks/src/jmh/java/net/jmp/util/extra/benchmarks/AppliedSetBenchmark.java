@@ -0,0 +1,210 @@
+package net.jmp.util.extra.benchmarks;
+
+/*
+ * (#)AppliedSetBenchmark.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import net.jmp.util.extra.AppliedSet;
+
+import static net.jmp.util.extra.benchmarks.Baselines.*;
+
+import org.openjdk.jmh.annotations.*;
+
+/// The benchmarks of AppliedSet against a HashSet
+/// whose consumers are submitted by hand to a fixed pool.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppliedSetBenchmark {
+    /// The number of elements.
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    /// The number of threads that apply consumers.
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    /// The elements.
+    private List<Integer> elements;
+
+    /// The elements to remove, every other one.
+    private Set<Integer> removals;
+
+    /// The applied list that holds the elements.
+    private AppliedSet<Integer> appliedElements;
+
+    /// The applied list that is refilled by each benchmark.
+    private AppliedSet<Integer> appliedSet;
+
+    /// The JDK list that is refilled by each benchmark.
+    private Set<Integer> jdkSet;
+
+    /// The executor service of the JDK baselines.
+    private ExecutorService executor;
+
+    /// The default constructor.
+    public AppliedSetBenchmark() {
+        super();
+    }
+
+    /// Create the collections and executor services.
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.elements = IntStream.range(0, this.size).boxed().toList();
+        this.removals = this.elements.stream().filter(e -> e % 2 == 0).collect(Collectors.toSet());
+        this.appliedElements = new AppliedSet<>(this.threads);
+        this.appliedElements.addAll(this.elements);
+        this.appliedSet = new AppliedSet<>(this.threads);
+        this.jdkSet = new HashSet<>(this.size);
+        this.executor = Executors.newFixedThreadPool(this.threads);
+    }
+
+    /// Close the collections and shut down the executor service.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.appliedElements.close();
+        this.appliedSet.close();
+
+        shutdown(this.executor);
+    }
+
+    /// Measure AppliedSet.applyAndAdd.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedApplyAndAdd() {
+        boolean result = true;
+
+        this.appliedSet.clear();
+
+        for (final Integer element : this.elements) {
+            result &= this.appliedSet.applyAndAdd(element, MAPPER);
+        }
+
+        return result;
+    }
+
+    /// Measure mapping and adding to a HashSet.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean jdkApplyAndAdd() {
+        boolean result = true;
+
+        this.jdkSet.clear();
+
+        for (final Integer element : this.elements) {
+            result &= this.jdkSet.add(MAPPER.apply(element));
+        }
+
+        return result;
+    }
+
+    /// Measure AppliedSet.applyAndAddAll.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedApplyAndAddAll() {
+        this.appliedSet.clear();
+
+        return this.appliedSet.applyAndAddAll(this.elements, MAPPER);
+    }
+
+    /// Measure mapping and adding all to a HashSet.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean jdkApplyAndAddAll() {
+        this.jdkSet.clear();
+
+        return this.jdkSet.addAll(this.elements.stream().map(MAPPER).toList());
+    }
+
+    /// Measure AppliedSet.consume to completion.
+    @Benchmark
+    public void appliedConsume() {
+        this.appliedElements.consumeAsync(CONSUMER).join();
+    }
+
+    /// Measure applying the consumer to each
+    /// element of a HashSet by hand.
+    ///
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public void jdkConsume() throws InterruptedException {
+        applyEach(this.executor, this.elements, CONSUMER);
+    }
+
+    /// Measure refilling the set and
+    /// AppliedSet.removeAllAndApply to completion.
+    ///
+    /// @return boolean
+    @Benchmark
+    public boolean appliedRemoveAllAndApply() {
+        this.appliedSet.clear();
+        this.appliedSet.addAll(this.elements);
+
+        return this.appliedSet.removeAllAndApplyAsync(this.removals, CONSUMER).join();
+    }
+
+    /// Measure refilling a HashSet, removing
+    /// elements and applying the consumer by hand.
+    ///
+    /// @return boolean
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Benchmark
+    public boolean jdkRemoveAllAndApply() throws InterruptedException {
+        final List<Integer> removed = new ArrayList<>();
+
+        this.jdkSet.clear();
+        this.jdkSet.addAll(this.elements);
+
+        final boolean result = this.jdkSet.removeIf(e -> this.removals.contains(e) && removed.add(e));
+
+        applyEach(this.executor, removed, CONSUMER);
+
+        return result;
+    }
+}
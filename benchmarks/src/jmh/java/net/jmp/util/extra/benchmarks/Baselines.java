@@ -0,0 +1,129 @@
+package net.jmp.util.extra.benchmarks;
+
+/*
+ * (#)Baselines.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Collection;
+import java.util.Queue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/// The hand-written baselines that the applied collections are
+/// measured against: plain JDK collections whose consumers are
+/// submitted one task per element to an executor service.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+final class Baselines {
+    /// The amount of work done by the benchmark consumer in JMH tokens.
+    static final long CONSUMER_TOKENS = 64;
+
+    /// The consumer applied by every benchmark.
+    static final Consumer<Integer> CONSUMER = _ -> Blackhole.consumeCPU(CONSUMER_TOKENS);
+
+    /// The mapper applied by every benchmark.
+    static final UnaryOperator<Integer> MAPPER = e -> e + 1;
+
+    /// The default constructor.
+    private Baselines() {
+        super();
+    }
+
+    /// Apply the consumer to each element in its own
+    /// task and wait for every task to finish.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @param  elements    java.util.Collection<? extends T>
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @throws             java.lang.InterruptedException When interrupted while waiting
+    static <T> void applyEach(final ExecutorService executor,
+                              final Collection<? extends T> elements,
+                              final Consumer<? super T> consumer) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(elements.size());
+
+        for (final T element : elements) {
+            executor.execute(() -> {
+                try {
+                    consumer.accept(element);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+    }
+
+    /// Poll every element from the queue, apply the consumer
+    /// to each in its own task and wait for every task to finish.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @param  queue       java.util.Queue<T>
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @throws             java.lang.InterruptedException When interrupted while waiting
+    static <T> void pollEach(final ExecutorService executor,
+                             final Queue<T> queue,
+                             final Consumer<? super T> consumer) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(queue.size());
+
+        T element;
+
+        while ((element = queue.poll()) != null) {
+            final T polled = element;
+
+            executor.execute(() -> {
+                try {
+                    consumer.accept(polled);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+    }
+
+    /// Shut down the executor service and wait for it to terminate.
+    ///
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @throws             java.lang.InterruptedException When interrupted while waiting
+    static void shutdown(final ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.jmp.util.extra.benchmarks;
+
+/*
+ * (#)ShardedQueueBenchmark.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import net.jmp.util.extra.AppliedQueue;
+import net.jmp.util.extra.ShardDrainMode;
+
+import org.openjdk.jmh.annotations.*;
+
+/// The benchmarks of offering to and polling from an AppliedQueue
+/// over a single concurrent linked queue against one striped over
+/// shards, with many producer and consumer threads at once.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ShardedQueueBenchmark {
+    /// The backing queue: a single concurrent linked
+    /// queue, or shards drained round-robin or by stealing.
+    @Param({"SINGLE", "ROUND_ROBIN", "WORK_STEALING"})
+    public String backend;
+
+    /// The applied queue shared by the threads.
+    private AppliedQueue<Integer> appliedQueue;
+
+    /// The default constructor.
+    public ShardedQueueBenchmark() {
+        super();
+    }
+
+    /// Create the applied queue.
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.appliedQueue = "SINGLE".equals(this.backend)
+                ? new AppliedQueue<>(1)
+                : AppliedQueue.withShards(Runtime.getRuntime().availableProcessors(),
+                        ShardDrainMode.valueOf(this.backend));
+    }
+
+    /// Close the applied queue.
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.appliedQueue.close();
+    }
+
+    /// Measure an offer followed by a poll on each thread.
+    ///
+    /// @return java.lang.Integer
+    @Benchmark
+    public Integer offerAndPoll() {
+        this.appliedQueue.offer(1);
+
+        return this.appliedQueue.poll();
+    }
+}
@@ -1,10 +1,11 @@
 /*
+ * (#)module-info.java  1.5.0   10/16/2026
  * (#)module-info.java  1.4.0   10/19/2024
  * (#)module-info.java  1.2.0   09/27/2024
  * (#)module-info.java  1.1.0   09/27/2024
  * (#)module-info.java  1.0.0   09/25/2024
  *
- * @version  1.4.0
+ * @version  1.5.0
  *
  * MIT License
  *
@@ -34,6 +35,7 @@
 /// @since  1.0.0
 module extra.utilities {
     requires java.base;
+    requires java.management;
 
     requires com.google.common;
     requires logging.utilities;
@@ -0,0 +1,46 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ApplicationMode.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/// The order in which an applied collection applies
+/// its consumers to elements.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public enum ApplicationMode {
+    /// Consumers run concurrently in no particular order.
+    UNORDERED,
+
+    /// Consumers run one at a time in submission order,
+    /// pipelined so that the caller never waits.
+    ORDERED,
+
+    /// Consumers for elements with the same key run one at
+    /// a time in submission order while different keys run
+    /// in parallel across a fixed number of serial lanes.
+    ORDERED_BY_KEY
+}
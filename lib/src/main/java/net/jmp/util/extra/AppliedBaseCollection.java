@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)AppliedBaseCollection.java    1.5.0   10/16/2026
  * (#)AppliedBaseCollection.java    1.2.0   09/27/2024
  *
  * MIT License
@@ -29,16 +30,24 @@ package net.jmp.util.extra;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import javax.management.JMException;
+
 import static net.jmp.util.logging.LoggerUtils.*;
 
 import org.slf4j.Logger;
@@ -47,26 +56,86 @@ import org.slf4j.LoggerFactory;
 /// A base class for applied collections.
 ///
 /// @param  <T> The type of element
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public class AppliedBaseCollection<T> {
+    /// The chunk size that dispatches each element as its own task.
+    ///
+    /// @since  1.5.0
+    public static final int NO_CHUNKING = 1;
+
+    /// The chunk size that sizes chunks from the
+    /// element count and the executor's parallelism.
+    ///
+    /// @since  1.5.0
+    public static final int ADAPTIVE_CHUNKING = 0;
+
     /// The default number of threads.
     private static final int DEFAULT_NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
 
+    /// The fork/join threshold that disables the fork/join path.
+    ///
+    /// @since  1.5.0
+    public static final int NO_FORK_JOIN = 0;
+
+    /// The in-flight limit that places no bound on consumer tasks.
+    ///
+    /// @since  1.5.0
+    public static final int UNBOUNDED = 0;
+
+    /// The number of chunks per thread when chunking adaptively.
+    /// More than one evens out the load when elements vary in cost.
+    private static final int CHUNKS_PER_THREAD = 4;
+
     /// The logger.
     private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
     /// The executor service.
     protected final ExecutorService executor;
 
-    /// A list of runnable futures.
-    protected final List<Future<?>> futures = new ArrayList<>();
+    /// True if the executor service was created by,
+    /// and so is shut down by, this collection.
+    private final boolean ownsExecutor;
+
+    /// The tracker of in-flight consumer tasks.
+    private final CompletionTracker tracker = new CompletionTracker();
+
+    /// The number of elements applied per task by bulk operations.
+    private volatile int chunkSize = NO_CHUNKING;
+
+    /// The leaf size of the fork/join path for bulk operations.
+    private volatile int forkJoinThreshold = NO_FORK_JOIN;
+
+    /// The metrics listener or null if metrics are disabled.
+    private volatile AppliedMetricsListener metricsListener;
+
+    /// The permits for in-flight consumer tasks or null if unbounded.
+    private volatile Semaphore permits;
+
+    /// The maximum number of in-flight consumer tasks.
+    private volatile int maxInFlight = UNBOUNDED;
+
+    /// The policy applied when the in-flight limit is reached.
+    private volatile BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
+    /// The handler given elements dropped by the DROP policy.
+    private volatile Consumer<? super T> onDrop = e -> {};
+
+    /// The retry policy or null if consumers are not retried.
+    private volatile RetryPolicy retryPolicy;
+
+    /// The dead-letter queue, created with the first retry policy.
+    private volatile AppliedQueue<T> deadLetterQueue;
+
+    /// The application mode with its serial lanes and key extractor.
+    private volatile Ordering<T> ordering = new Ordering<>(ApplicationMode.UNORDERED, null, null);
 
     /// The default constructor.
     protected AppliedBaseCollection() {
         super();
 
         this.executor = Executors.newFixedThreadPool(DEFAULT_NUMBER_OF_THREADS);
+        this.ownsExecutor = true;
     }
 
     /// A constructor that takes
@@ -81,45 +150,334 @@ public class AppliedBaseCollection<T> {
         }
 
         this.executor = Executors.newFixedThreadPool(numberOfThreads);
+        this.ownsExecutor = true;
+    }
+
+    /// A constructor that takes the executor
+    /// service to use. The executor service is
+    /// borrowed and is left running on close.
+    ///
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @since              1.5.0
+    protected AppliedBaseCollection(final ExecutorService executor) {
+        this(executor, false);
+    }
+
+    /// A constructor that takes the executor service
+    /// to use and whether this collection owns it. An
+    /// owned executor service is shut down on close.
+    ///
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    /// @since                  1.5.0
+    protected AppliedBaseCollection(final ExecutorService executor, final boolean ownsExecutor) {
+        super();
+
+        this.executor = Objects.requireNonNull(executor, () -> "ExecutorService 'executor' is null");
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /// Set the number of elements that bulk operations, such
+    /// as consume and clearAndApply, apply per submitted task.
+    /// Use NO_CHUNKING to submit a task per element, or
+    /// ADAPTIVE_CHUNKING to size chunks from the element count
+    /// and the parallelism of the executor service.
+    ///
+    /// @param  chunkSize   int
+    /// @since              1.5.0
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk size must not be negative");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    /// Return the number of elements that bulk
+    /// operations apply per submitted task.
+    ///
+    /// @return int
+    /// @since  1.5.0
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /// Set the threshold of the fork/join path for bulk operations,
+    /// namely consume, clearAndApply and retainAllAndApply. When
+    /// unordered and given more elements than the threshold, they
+    /// snapshot the elements and apply the consumer in a single
+    /// task that recursively splits the snapshot's spliterator
+    /// down to the threshold. The task runs in the executor
+    /// service if it is a fork/join pool, otherwise in the common
+    /// pool. Use NO_FORK_JOIN to disable the path.
+    ///
+    /// @param  forkJoinThreshold   int
+    /// @since                      1.5.0
+    public void setForkJoinThreshold(final int forkJoinThreshold) {
+        if (forkJoinThreshold < 0) {
+            throw new IllegalArgumentException("Fork/join threshold must not be negative");
+        }
+
+        this.forkJoinThreshold = forkJoinThreshold;
+    }
+
+    /// Return the threshold of the fork/join
+    /// path for bulk operations.
+    ///
+    /// @return int
+    /// @since  1.5.0
+    public int getForkJoinThreshold() {
+        return this.forkJoinThreshold;
+    }
+
+    /// Limit the number of consumer tasks that may be in flight,
+    /// that is submitted but not yet finished, and choose what
+    /// happens to further tasks when the limit is reached. Use
+    /// UNBOUNDED to remove the limit. Tasks already in flight
+    /// are unaffected by a change.
+    ///
+    /// @param  maxInFlight int
+    /// @param  policy      net.jmp.util.extra.BackpressurePolicy
+    /// @since              1.5.0
+    public void setMaxInFlight(final int maxInFlight, final BackpressurePolicy policy) {
+        if (maxInFlight < 0) {
+            throw new IllegalArgumentException("Maximum in-flight tasks must not be negative");
+        }
+
+        this.backpressurePolicy = Objects.requireNonNull(policy, () -> "BackpressurePolicy 'policy' is null");
+        this.maxInFlight = maxInFlight;
+        this.permits = maxInFlight == UNBOUNDED ? null : new Semaphore(maxInFlight);
+    }
+
+    /// Return the maximum number of in-flight
+    /// consumer tasks or UNBOUNDED.
+    ///
+    /// @return int
+    /// @since  1.5.0
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /// Return the policy applied when the in-flight limit is reached.
+    ///
+    /// @return net.jmp.util.extra.BackpressurePolicy
+    /// @since  1.5.0
+    public BackpressurePolicy getBackpressurePolicy() {
+        return this.backpressurePolicy;
+    }
+
+    /// Set the handler that is given each element
+    /// dropped under the DROP backpressure policy.
+    /// It runs on the caller's thread.
+    ///
+    /// @param  onDrop  java.util.function.Consumer<? super T>
+    /// @since          1.5.0
+    public void setOnDrop(final Consumer<? super T> onDrop) {
+        this.onDrop = Objects.requireNonNull(onDrop, () -> "Consumer<? super T> 'onDrop' is null");
+    }
+
+    /// Return the backlog, the number of consumer tasks
+    /// that have been submitted but have not yet finished.
+    ///
+    /// @return long
+    /// @since  1.5.0
+    public long getInFlightCount() {
+        return this.tracker.inFlight();
+    }
+
+    /// Return the number of tasks waiting in the executor service's
+    /// queue, or -1 if it is neither a thread pool executor nor a
+    /// fork/join pool.
+    ///
+    /// @return long
+    /// @since  1.5.0
+    public long getQueueDepth() {
+        if (this.executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            return threadPoolExecutor.getQueue().size();
+        } else if (this.executor instanceof ForkJoinPool forkJoinPool) {
+            return forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount();
+        }
+
+        return -1;
+    }
+
+    /// Set the listener that is told about consumer tasks and
+    /// operations, or null to disable metrics. When disabled
+    /// the only cost on the hot path is a null check.
+    ///
+    /// @param  metricsListener net.jmp.util.extra.AppliedMetricsListener or null
+    /// @since                  1.5.0
+    public void setMetricsListener(final AppliedMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /// Return the metrics listener or null if metrics are disabled.
+    ///
+    /// @return net.jmp.util.extra.AppliedMetricsListener
+    /// @since  1.5.0
+    public AppliedMetricsListener getMetricsListener() {
+        return this.metricsListener;
+    }
+
+    /// Enable metrics for this collection, replacing any
+    /// listener, and return them. They may be registered
+    /// with the platform MBean server, in which case they
+    /// are unregistered when the collection is closed.
+    ///
+    /// @return net.jmp.util.extra.AppliedMetrics
+    /// @since  1.5.0
+    public AppliedMetrics enableMetrics() {
+        final AppliedMetrics metrics = new AppliedMetrics(this::getInFlightCount, this::getQueueDepth);
+
+        this.metricsListener = metrics;
+
+        return metrics;
+    }
+
+    /// Retry consumers that throw under the retry policy, or
+    /// pass null to stop retrying. A failed consumer is retried
+    /// after a backoff that is waited out by a timer, not by a
+    /// thread of the executor service. The retry is counted as
+    /// in flight until it finishes, so waiting for consumers and
+    /// closing also wait out any backoff, but it is not subject
+    /// to the in-flight limit. A retried element loses its place
+    /// in the order of an ordered collection. An element whose
+    /// consumer exhausts its attempts is offered to the
+    /// dead-letter queue, as is each element of a batch.
+    ///
+    /// @param  retryPolicy net.jmp.util.extra.RetryPolicy or null
+    /// @since              1.5.0
+    public void setRetryPolicy(final RetryPolicy retryPolicy) {
+        if (retryPolicy != null && this.deadLetterQueue == null) {
+            synchronized (this) {
+                if (this.deadLetterQueue == null) {
+                    this.deadLetterQueue = new AppliedQueue<>(this.executor);
+                }
+            }
+        }
+
+        this.retryPolicy = retryPolicy;
+    }
+
+    /// Return the retry policy or null if consumers are not retried.
+    ///
+    /// @return net.jmp.util.extra.RetryPolicy
+    /// @since  1.5.0
+    public RetryPolicy getRetryPolicy() {
+        return this.retryPolicy;
+    }
+
+    /// Return the queue of elements whose consumers exhausted
+    /// their attempts, or null if no retry policy was ever set.
+    /// It borrows this collection's executor service and is
+    /// closed with this collection, so apply consumers to it,
+    /// for example with drainAllAndApply, before then; its
+    /// elements can still be polled afterwards.
+    ///
+    /// @return net.jmp.util.extra.AppliedQueue<T>
+    /// @since  1.5.0
+    public AppliedQueue<T> getDeadLetterQueue() {
+        return this.deadLetterQueue;
+    }
+
+    /// Apply consumers concurrently in no particular order.
+    /// This is the default application mode.
+    ///
+    /// @since  1.5.0
+    public void setUnordered() {
+        this.ordering = new Ordering<>(ApplicationMode.UNORDERED, null, null);
+    }
+
+    /// Apply consumers one at a time in the order they are
+    /// submitted. Submission is pipelined, so callers do not
+    /// wait for earlier consumers. Tasks run on the caller by
+    /// the CALLER_RUNS backpressure policy are not ordered.
+    ///
+    /// @since  1.5.0
+    public void setOrdered() {
+        this.ordering = new Ordering<>(ApplicationMode.ORDERED, new SerialLane[] { new SerialLane(this.executor) }, null);
+    }
+
+    /// Apply consumers in submission order per key. The key
+    /// extractor selects one of a number of serial lanes for
+    /// each element, so elements with equal keys are applied
+    /// in order while different lanes run in parallel. Bulk
+    /// operations do not chunk in this mode.
+    ///
+    /// @param  keyExtractor    java.util.function.Function<? super T, ?>
+    /// @param  lanes           int
+    /// @since                  1.5.0
+    public void setOrderedByKey(final Function<? super T, ?> keyExtractor, final int lanes) {
+        Objects.requireNonNull(keyExtractor, () -> "Function<? super T, ?> 'keyExtractor' is null");
+
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("Number of lanes must be greater than 0");
+        }
+
+        final SerialLane[] serialLanes = new SerialLane[lanes];
+
+        for (int i = 0; i < lanes; i++) {
+            serialLanes[i] = new SerialLane(this.executor);
+        }
+
+        this.ordering = new Ordering<>(ApplicationMode.ORDERED_BY_KEY, serialLanes, keyExtractor);
+    }
+
+    /// Return the application mode.
+    ///
+    /// @return net.jmp.util.extra.ApplicationMode
+    /// @since  1.5.0
+    public ApplicationMode getApplicationMode() {
+        return this.ordering.mode();
     }
 
     /// Close any resources. In this case wait
-    /// for futures to complete and shut down
-    /// the executor service.
+    /// for tasks to complete, close the dead-letter
+    /// queue if there is one and shut down the
+    /// executor service if this collection owns it.
     protected void close() {
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(entry());
         }
 
-        this.waitForFutures();
-        this.executor.shutdown();
+        this.waitForTasks();
+
+        final AppliedQueue<T> deadLetters = this.deadLetterQueue;
+
+        if (deadLetters != null) {
+            deadLetters.close();
+        }
+
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+
+        if (this.metricsListener instanceof AppliedMetrics metrics) {
+            try {
+                metrics.unregister();
+            } catch (final JMException jme) {
+                this.logger.error(catching(jme));
+            }
+        }
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
     }
 
-    /// Wait for any futures to complete.
-    private void waitForFutures() {
+    /// Wait for any in-flight tasks to complete.
+    private void waitForTasks() {
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(entry());
         }
 
-        this.futures.forEach(future -> {
-            if (!future.isDone()) {
-                try {
-                    future.get();
-                } catch (InterruptedException | ExecutionException e) {
-                    this.logger.error(catching(e));
-
-                    if (e instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
-        });
+        try {
+            this.tracker.await();
+        } catch (final InterruptedException ie) {
+            this.logger.error(catching(ie));
 
-        this.futures.clear();
+            Thread.currentThread().interrupt();
+        }
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
@@ -255,11 +613,7 @@ public class AppliedBaseCollection<T> {
             this.logger.trace(entryWith(collection, onElement, onEnd));
         }
 
-        collection.forEach(e -> {
-            if (e != null) {
-                this.runTask(() -> onElement.accept(e));
-            }
-        });
+        this.dispatch(collection, onElement, null);
 
         collection.clear();
 
@@ -282,11 +636,7 @@ public class AppliedBaseCollection<T> {
             this.logger.trace(entryWith(collection, onElement, onEnd));
         }
 
-        collection.forEach(e -> {
-            if (e != null) {
-                this.runTask(() -> onElement.accept(e));
-            }
-        });
+        this.dispatch(collection, onElement, null);
 
         onEnd.run();
 
@@ -295,6 +645,60 @@ public class AppliedBaseCollection<T> {
         }
     }
 
+    /// Apply the onElement to each element and then clear the
+    /// collection. The returned future completes when the
+    /// consumer has been applied to every element, or
+    /// exceptionally with the first exception it threw.
+    ///
+    /// @param  collection  java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    protected CompletableFuture<Void> clearAndApplyAsync(final Collection<? extends T> collection,
+                                                         final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(collection, onElement));
+        }
+
+        final CallCompletion completion = new CallCompletion();
+
+        this.dispatch(collection, onElement, completion);
+
+        collection.clear();
+
+        final CompletableFuture<Void> result = completion.seal();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Consume all the elements in the collection. The
+    /// returned future completes when the consumer has
+    /// been applied to every element, or exceptionally
+    /// with the first exception it threw.
+    ///
+    /// @param  collection  java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    protected CompletableFuture<Void> consumeAsync(final Collection<? extends T> collection,
+                                                   final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(collection, onElement));
+        }
+
+        final CompletableFuture<Void> result = this.dispatch(collection, onElement, new CallCompletion()).seal();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Removes all of this collection's elements that are also contained in the specified
     /// collection (optional operation). After this call returns, this collection will contain
     /// no elements in common with the specified collection.
@@ -313,23 +717,70 @@ public class AppliedBaseCollection<T> {
             this.logger.trace(entryWith(target, source, onElement, onEnd));
         }
 
+        final boolean result = this.removeAllAndSubmit(target, source, onElement, null);
+
+        onEnd.run();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Removes all of this collection's elements that are also
+    /// contained in the specified collection. Apply the onElement
+    /// consumer to each removed element. The returned future
+    /// completes with the result when the consumer has been
+    /// applied to every removed element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  target      java.util.Collection<? super T>
+    /// @param  source      java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    protected CompletableFuture<Boolean> removeAllAndApplyAsync(final Collection<? super T> target,
+                                                                final Collection<? extends T> source,
+                                                                final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(target, source, onElement));
+        }
+
+        final CallCompletion completion = new CallCompletion();
+        final boolean removed = this.removeAllAndSubmit(target, source, onElement, completion);
+        final CompletableFuture<Boolean> result = completion.seal().thenApply(_ -> removed);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Removes all of the target's elements that are also contained
+    /// in the source and applies the consumer to each removed element.
+    ///
+    /// @param  target      java.util.Collection<? super T>
+    /// @param  source      java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    /// @return             boolean
+    private boolean removeAllAndSubmit(final Collection<? super T> target,
+                                       final Collection<? extends T> source,
+                                       final Consumer<? super T> onElement,
+                                       final CallCompletion completion) {
         final WrappedObject<Boolean> result = WrappedObject.of(false);
 
         if (!source.isEmpty()) {
             source.forEach(e -> {
                 if (target.contains(e) && target.remove(e)) {
-                    this.runTask(() -> onElement.accept(e));
+                    this.applyTask(e, onElement, completion);
                     result.set(true);
                 }
             });
         }
 
-        onEnd.run();
-
-        if (this.logger.isTraceEnabled()) {
-            this.logger.trace(exitWith(result.get()));
-        }
-
         return result.get();
     }
 
@@ -381,57 +832,793 @@ public class AppliedBaseCollection<T> {
             this.logger.trace(entryWith(target, source, onElement, onEnd));
         }
 
-        final WrappedObject<Boolean> result = WrappedObject.of(false);
+        final boolean result = this.retainAllAndSubmit(target, source, onElement, null);
+
+        onEnd.run();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Retains only the elements in this collection that are
+    /// contained in the specified collection. Apply the onElement
+    /// consumer to each retained element. The returned future
+    /// completes with the result when the consumer has been
+    /// applied to every retained element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  target      java.util.Collection<T>
+    /// @param  source      java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    protected CompletableFuture<Boolean> retainAllAndApplyAsync(final Collection<T> target,
+                                                                final Collection<? extends T> source,
+                                                                final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(target, source, onElement));
+        }
+
+        final CallCompletion completion = new CallCompletion();
+        final boolean changed = this.retainAllAndSubmit(target, source, onElement, completion);
+        final CompletableFuture<Boolean> result = completion.seal().thenApply(_ -> changed);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Retains only the target's elements that are contained in the
+    /// source and applies the consumer to each retained element.
+    ///
+    /// @param  target      java.util.Collection<T>
+    /// @param  source      java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    /// @return             boolean
+    private boolean retainAllAndSubmit(final Collection<T> target,
+                                       final Collection<? extends T> source,
+                                       final Consumer<? super T> onElement,
+                                       final CallCompletion completion) {
+        boolean result = false;
+
+        final List<T> retains = new ArrayList<>();
         final List<T> removals = new ArrayList<>();
 
         for (final T element : target) {
             if (source.contains(element)) {
-                this.runTask(() -> onElement.accept(element));
+                retains.add(element);
             } else {
                 removals.add(element);
             }
         }
 
+        this.dispatch(retains, onElement, completion);
+
         if (!removals.isEmpty()) {
             target.removeAll(removals);
-            result.set(true);
+            result = true;
         }
 
-        onEnd.run();
+        return result;
+    }
 
+    /// Run the task by submitting the
+    /// runnable to the executor service.
+    /// The task is counted as in-flight
+    /// until it finishes; any exception
+    /// it throws is logged. A task dropped
+    /// by backpressure is discarded.
+    ///
+    /// @param  task    java.lang.Runnable
+    protected void runTask(final Runnable task) {
         if (this.logger.isTraceEnabled()) {
-            this.logger.trace(exitWith(result.get()));
+            this.logger.trace(entryWith(task));
         }
 
-        return result.get();
+        this.submit(task, this.laneFor(null), null);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
     }
 
-    /// Run the task by submitting the
-    /// runnable to the executor service.
+    /// Run the task, as runTask does, and return
+    /// false instead if backpressure dropped it.
     ///
     /// @param  task    java.lang.Runnable
-    protected void runTask(final Runnable task) {
+    /// @return         boolean
+    /// @since          1.5.0
+    protected boolean tryRunTask(final Runnable task) {
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(entryWith(task));
         }
 
-        this.futures.add(this.executor.submit(task));
+        final boolean result = this.submit(task, this.laneFor(null), null);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Apply the consumer to the element in a task submitted
+    /// to the executor service. An element dropped by
+    /// backpressure is given to the drop handler instead.
+    ///
+    /// @param  element     T
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @since              1.5.0
+    protected void applyTask(final T element, final Consumer<? super T> consumer) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(element, consumer));
+        }
+
+        this.applyTask(element, consumer, null);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Apply the consumer to each non-null element in tasks
+    /// submitted to the executor service, one element or one
+    /// chunk of elements per task, or by fork/join, as the
+    /// bulk operations such as consume do.
+    ///
+    /// @param  elements    java.util.Collection<? extends T>
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @since              1.5.0
+    protected void applyEach(final Collection<? extends T> elements, final Consumer<? super T> consumer) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(elements, consumer));
+        }
+
+        this.dispatch(elements, consumer, null);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Apply the consumer to the batch of elements in a single
+    /// task submitted to the executor service. Batches keep
+    /// their submission order when the collection is ordered,
+    /// but not by key, since a batch may hold many keys. A
+    /// batch dropped by backpressure has each of its elements
+    /// given to the drop handler instead.
+    ///
+    /// @param  batch       java.util.List<T>
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @since              1.5.0
+    protected void applyBatch(final List<T> batch, final Consumer<? super List<T>> consumer) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(batch, consumer));
+        }
+
+        final Runnable task = () -> this.applyLogged(batch, null, consumer, this::deadLetterAll, null, 1);
+
+        if (!this.submit(task, this.laneFor(null), null)) {
+            batch.forEach(this.onDrop);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Apply the consumer to the element in a task submitted
+    /// to the executor service, as applyTask does, and run the
+    /// settlement once this collection is done with the element:
+    /// after the consumer returns normally, after its last
+    /// attempt fails and the element is logged and dead-lettered
+    /// if there is a retry policy, after backpressure drops it
+    /// and it is given to the drop handler, or when the task is
+    /// rejected.
+    ///
+    /// @param  element     T
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @param  settlement  java.lang.Runnable
+    /// @since              1.5.0
+    protected void applyTaskAndSettle(final T element, final Consumer<? super T> consumer, final Runnable settlement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(element, consumer, settlement));
+        }
+
+        final Consumer<T> settled = e -> {
+            consumer.accept(e);
+            settlement.run();
+        };
+
+        final Consumer<T> failed = e -> {
+            try {
+                this.deadLetter(e);
+            } finally {
+                settlement.run();
+            }
+        };
+
+        this.submitAndSettle(() -> this.applyLogged(element, element, settled, failed, null, 1),
+                this.laneFor(element),
+                () -> this.onDrop.accept(element),
+                settlement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Apply the consumer to the batch of elements in a single
+    /// task submitted to the executor service, as applyBatch
+    /// does, and run the settlement once this collection is
+    /// done with the batch, as applyTaskAndSettle does.
+    ///
+    /// @param  batch       java.util.List<T>
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @param  settlement  java.lang.Runnable
+    /// @since              1.5.0
+    protected void applyBatchAndSettle(final List<T> batch,
+                                       final Consumer<? super List<T>> consumer,
+                                       final Runnable settlement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(batch, consumer, settlement));
+        }
+
+        final Consumer<List<T>> settled = b -> {
+            consumer.accept(b);
+            settlement.run();
+        };
+
+        final Consumer<List<T>> failed = b -> {
+            try {
+                this.deadLetterAll(b);
+            } finally {
+                settlement.run();
+            }
+        };
+
+        this.submitAndSettle(() -> this.applyLogged(batch, null, settled, failed, null, 1),
+                this.laneFor(null),
+                () -> batch.forEach(this.onDrop),
+                settlement);
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
     }
 
+    /// Submit the task, running the drop and then the
+    /// settlement if backpressure drops it, or just the
+    /// settlement if it is rejected.
+    ///
+    /// @param  task        java.lang.Runnable
+    /// @param  lane        java.util.concurrent.Executor
+    /// @param  drop        java.lang.Runnable
+    /// @param  settlement  java.lang.Runnable
+    private void submitAndSettle(final Runnable task,
+                                 final Executor lane,
+                                 final Runnable drop,
+                                 final Runnable settlement) {
+        final boolean submitted;
+
+        try {
+            submitted = this.submit(task, lane, null);
+        } catch (final RuntimeException re) {
+            settlement.run();
+
+            throw re;
+        }
+
+        if (!submitted) {
+            try {
+                drop.run();
+            } finally {
+                settlement.run();
+            }
+        }
+    }
+
+    /// Apply the consumer to the element in a task
+    /// counted by the call completion, if any.
+    ///
+    /// @param  element     T
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    private void applyTask(final T element, final Consumer<? super T> consumer, final CallCompletion completion) {
+        if (!this.submit(() -> this.applyLogged(element, consumer, completion), this.laneFor(element), completion)) {
+            this.onDrop.accept(element);
+        }
+    }
+
+    /// Submit the task to the executor service subject to the
+    /// in-flight limit and backpressure policy. The task is
+    /// counted as in-flight, and by the call completion if
+    /// there is one, until it finishes; any exception it
+    /// throws is logged.
+    ///
+    /// @param  task        java.lang.Runnable
+    /// @param  lane        java.util.concurrent.Executor
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    /// @return             boolean False if the task was dropped
+    private boolean submit(final Runnable task, final Executor lane, final CallCompletion completion) {
+        final Semaphore taskPermits = this.permits;
+        final AppliedMetricsListener listener = this.metricsListener;
+
+        if (taskPermits != null && !taskPermits.tryAcquire()) {
+            switch (this.backpressurePolicy) {
+                case BLOCK -> {
+                    try {
+                        taskPermits.acquire();
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+
+                        throw new RejectedExecutionException("Interrupted while waiting for an in-flight task", ie);
+                    }
+                }
+                case CALLER_RUNS -> {
+                    if (listener != null) {
+                        listener.taskSubmitted();
+                    }
+
+                    this.runMeasured(task, completion, listener);
+
+                    return true;
+                }
+                case DROP -> {
+                    if (listener != null) {
+                        listener.taskDropped();
+                    }
+
+                    return false;
+                }
+                case FAIL_FAST ->
+                    throw new RejectedExecutionException("Maximum in-flight tasks reached: " + this.maxInFlight);
+            }
+        }
+
+        this.tracker.begin();
+
+        if (completion != null) {
+            completion.begin();
+        }
+
+        if (listener != null) {
+            listener.taskSubmitted();
+        }
+
+        try {
+            lane.execute(() -> {
+                try {
+                    this.runMeasured(task, completion, listener);
+                } finally {
+                    this.finish(taskPermits, completion);
+                }
+            });
+        } catch (final RejectedExecutionException ree) {
+            this.finish(taskPermits, completion);
+
+            throw ree;
+        }
+
+        return true;
+    }
+
+    /// Return the executor that runs the element's consumer:
+    /// the executor service when unordered, the only lane when
+    /// ordered, or the lane selected by the element's key when
+    /// ordered by key. A null element, such as for a plain
+    /// runnable task, has no key and is not ordered by key.
+    ///
+    /// @param  element T or null
+    /// @return         java.util.concurrent.Executor
+    private Executor laneFor(final T element) {
+        final Ordering<T> current = this.ordering;
+
+        return switch (current.mode()) {
+            case UNORDERED -> this.executor;
+            case ORDERED -> current.lanes()[0];
+            case ORDERED_BY_KEY -> {
+                if (element == null) {
+                    yield this.executor;
+                }
+
+                final int hash = Objects.hashCode(current.keyExtractor().apply(element));
+
+                yield current.lanes()[Math.floorMod(hash ^ (hash >>> 16), current.lanes().length)];
+            }
+        };
+    }
+
+    /// Uncount a task that has finished or could not be submitted.
+    ///
+    /// @param  taskPermits java.util.concurrent.Semaphore or null
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    private void finish(final Semaphore taskPermits, final CallCompletion completion) {
+        this.tracker.end();
+
+        if (taskPermits != null) {
+            taskPermits.release();
+        }
+
+        if (completion != null) {
+            completion.end();
+        }
+    }
+
+    /// Run the task as runLogged does and, if there is
+    /// a metrics listener, report its execution time.
+    ///
+    /// @param  task        java.lang.Runnable
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    /// @param  listener    net.jmp.util.extra.AppliedMetricsListener or null
+    private void runMeasured(final Runnable task,
+                             final CallCompletion completion,
+                             final AppliedMetricsListener listener) {
+        if (listener == null) {
+            this.runLogged(task, completion);
+        } else {
+            final long start = System.nanoTime();
+
+            try {
+                this.runLogged(task, completion);
+            } finally {
+                listener.taskCompleted(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /// Record an invocation of the named operation
+    /// with the metrics listener if there is one.
+    ///
+    /// @param  operation   java.lang.String
+    /// @since              1.5.0
+    protected void recordOperation(final String operation) {
+        final AppliedMetricsListener listener = this.metricsListener;
+
+        if (listener != null) {
+            listener.operationInvoked(operation);
+        }
+    }
+
+    /// Apply the consumer to the element, logging any exception
+    /// it throws, as the first attempt under the retry policy.
+    ///
+    /// @param  element     T
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    private void applyLogged(final T element, final Consumer<? super T> consumer, final CallCompletion completion) {
+        this.applyLogged(element, element, consumer, this::deadLetter, completion, 1);
+    }
+
+    /// Apply the consumer to the work, an element or a batch,
+    /// logging any exception it throws. While the retry policy
+    /// allows further attempts, a retry is scheduled after a
+    /// backoff. Otherwise the work is given to the dead-letter
+    /// consumer, which dead-letters it if there is a retry
+    /// policy, and the exception is recorded with the call
+    /// completion.
+    ///
+    /// @param  <W>         The type of work
+    /// @param  work        W
+    /// @param  key         T or null The element that selects the retry's lane
+    /// @param  consumer    java.util.function.Consumer<? super W>
+    /// @param  deadLetter  java.util.function.Consumer<? super W>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    /// @param  attempt     int
+    private <W> void applyLogged(final W work,
+                                 final T key,
+                                 final Consumer<? super W> consumer,
+                                 final Consumer<? super W> deadLetter,
+                                 final CallCompletion completion,
+                                 final int attempt) {
+        try {
+            consumer.accept(work);
+        } catch (final RuntimeException re) {
+            this.logger.error(catching(re));
+
+            final RetryPolicy policy = this.retryPolicy;
+
+            if (policy != null && attempt < policy.maxAttempts()) {
+                this.scheduleRetry(work, key, consumer, deadLetter, completion, attempt, policy.backoffNanos(attempt));
+            } else {
+                try {
+                    deadLetter.accept(work);
+                } finally {
+                    if (completion != null) {
+                        completion.fail(re);
+                    }
+                }
+            }
+        }
+    }
+
+    /// Schedule the next attempt at applying the consumer to the
+    /// work once the backoff has passed. The backoff is waited out
+    /// by a timer, after which the attempt is executed in the lane
+    /// of the key. The attempt is counted as in flight, and by the
+    /// call completion if there is one, from now until it finishes.
+    /// If the lane rejects the attempt the work is dead-lettered.
+    ///
+    /// @param  <W>             The type of work
+    /// @param  work            W
+    /// @param  key             T or null
+    /// @param  consumer        java.util.function.Consumer<? super W>
+    /// @param  deadLetter      java.util.function.Consumer<? super W>
+    /// @param  completion      net.jmp.util.extra.CallCompletion or null
+    /// @param  failedAttempts  int
+    /// @param  backoffNanos    long
+    private <W> void scheduleRetry(final W work,
+                                   final T key,
+                                   final Consumer<? super W> consumer,
+                                   final Consumer<? super W> deadLetter,
+                                   final CallCompletion completion,
+                                   final int failedAttempts,
+                                   final long backoffNanos) {
+        final Executor lane = this.laneFor(key);
+        final AppliedMetricsListener listener = this.metricsListener;
+
+        this.tracker.begin();
+
+        if (completion != null) {
+            completion.begin();
+        }
+
+        if (listener != null) {
+            listener.taskRetried();
+            listener.taskSubmitted();
+        }
+
+        final Runnable retry = () -> {
+            try {
+                this.runMeasured(() -> this.applyLogged(work, key, consumer, deadLetter, completion, failedAttempts + 1),
+                        null,
+                        listener);
+            } finally {
+                this.finish(null, completion);
+            }
+        };
+
+        CompletableFuture.delayedExecutor(backoffNanos, TimeUnit.NANOSECONDS, task -> {
+            try {
+                lane.execute(task);
+            } catch (final RejectedExecutionException ree) {
+                this.logger.error(catching(ree));
+
+                try {
+                    deadLetter.accept(work);
+
+                    if (completion != null) {
+                        completion.fail(ree);
+                    }
+                } finally {
+                    this.finish(null, completion);
+                }
+            }
+        }).execute(retry);
+    }
+
+    /// Offer the element whose consumer exhausted its attempts
+    /// to the dead-letter queue, if there is a retry policy.
+    ///
+    /// @param  element T
+    private void deadLetter(final T element) {
+        final AppliedQueue<T> deadLetters = this.deadLetterQueue;
+
+        if (deadLetters != null && this.retryPolicy != null) {
+            deadLetters.offer(element);
+
+            final AppliedMetricsListener listener = this.metricsListener;
+
+            if (listener != null) {
+                listener.elementDeadLettered();
+            }
+        }
+    }
+
+    /// Offer each element of the batch whose consumer
+    /// exhausted its attempts, or that could not be
+    /// submitted, to the dead-letter queue, if there
+    /// is a retry policy.
+    ///
+    /// @param  batch   java.util.List<T>
+    /// @since          1.5.0
+    protected void deadLetterAll(final List<T> batch) {
+        batch.forEach(this::deadLetter);
+    }
+
+    /// Run the task, logging any exception it throws
+    /// and recording it with the call completion.
+    ///
+    /// @param  task        java.lang.Runnable
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    private void runLogged(final Runnable task, final CallCompletion completion) {
+        try {
+            task.run();
+        } catch (final RuntimeException re) {
+            this.logger.error(catching(re));
+
+            if (completion != null) {
+                completion.fail(re);
+            }
+        }
+    }
+
+    /// Submit tasks that apply the consumer to each non-null
+    /// element: all of them in one fork/join task when above
+    /// the fork/join threshold and unordered, otherwise one
+    /// element or one chunk of elements per task according
+    /// to the chunk size.
+    ///
+    /// @param  elements    java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    /// @return             net.jmp.util.extra.CallCompletion
+    private CallCompletion dispatch(final Collection<? extends T> elements,
+                                    final Consumer<? super T> onElement,
+                                    final CallCompletion completion) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(elements, onElement, completion));
+        }
+
+        final ApplicationMode mode = this.ordering.mode();
+        final int threshold = this.forkJoinThreshold;
+        final int size = mode == ApplicationMode.ORDERED_BY_KEY
+                ? NO_CHUNKING
+                : this.chunkSizeFor(elements);
+
+        if (threshold != NO_FORK_JOIN && mode == ApplicationMode.UNORDERED && elements.size() > threshold) {
+            this.runForkJoin(new ArrayList<>(elements), onElement, threshold, completion);
+        } else if (size == NO_CHUNKING) {
+            elements.forEach(e -> {
+                if (e != null) {
+                    this.applyTask(e, onElement, completion);
+                }
+            });
+        } else {
+            List<T> chunk = new ArrayList<>(size);
+
+            for (final T element : elements) {
+                if (element != null) {
+                    chunk.add(element);
+
+                    if (chunk.size() == size) {
+                        this.runChunk(chunk, onElement, completion);
+
+                        chunk = new ArrayList<>(size);
+                    }
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                this.runChunk(chunk, onElement, completion);
+            }
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(completion));
+        }
+
+        return completion;
+    }
+
+    /// Return the chunk size to use for the elements.
+    ///
+    /// @param  elements    java.util.Collection<? extends T>
+    /// @return             int
+    private int chunkSizeFor(final Collection<? extends T> elements) {
+        final int size = this.chunkSize;
+
+        if (size != ADAPTIVE_CHUNKING) {
+            return size;
+        }
+
+        final long chunks = (long) this.parallelism() * CHUNKS_PER_THREAD;
+
+        return (int) Math.max(NO_CHUNKING, (elements.size() + chunks - 1) / chunks);
+    }
+
+    /// Return the parallelism of the executor service,
+    /// or the number of processors if it is not known.
+    ///
+    /// @return int
+    private int parallelism() {
+        if (this.executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            return threadPoolExecutor.getMaximumPoolSize();
+        } else if (this.executor instanceof ForkJoinPool forkJoinPool) {
+            return forkJoinPool.getParallelism();
+        }
+
+        return DEFAULT_NUMBER_OF_THREADS;
+    }
+
+    /// Submit a task that applies the consumer to each element
+    /// of the chunk. An exception thrown for one element is
+    /// logged and does not prevent the rest being applied. The
+    /// elements of a chunk dropped by backpressure are given to
+    /// the drop handler.
+    ///
+    /// @param  chunk       java.util.List<T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    private void runChunk(final List<T> chunk,
+                          final Consumer<? super T> onElement,
+                          final CallCompletion completion) {
+        final boolean submitted = this.submit(() -> {
+            for (final T element : chunk) {
+                this.applyLogged(element, onElement, completion);
+            }
+        }, this.laneFor(null), completion);
+
+        if (!submitted) {
+            chunk.forEach(this.onDrop);
+        }
+    }
+
+    /// Submit a single task that applies the consumer to each
+    /// non-null element of the snapshot by fork/join, splitting
+    /// down to the threshold. The task runs in the executor
+    /// service if it is a fork/join pool, otherwise in the
+    /// common pool, so that forked actions are work-stolen. An
+    /// exception thrown for one element is logged and does not
+    /// prevent the rest being applied. If the task is dropped by
+    /// backpressure the elements are given to the drop handler.
+    ///
+    /// @param  snapshot    java.util.List<T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @param  threshold   int
+    /// @param  completion  net.jmp.util.extra.CallCompletion or null
+    private void runForkJoin(final List<T> snapshot,
+                             final Consumer<? super T> onElement,
+                             final int threshold,
+                             final CallCompletion completion) {
+        final ForkJoinPool pool = this.executor instanceof ForkJoinPool forkJoinPool
+                ? forkJoinPool
+                : ForkJoinPool.commonPool();
+
+        final Consumer<T> leaf = e -> {
+            if (e != null) {
+                this.applyLogged(e, onElement, completion);
+            }
+        };
+
+        final boolean submitted = this.submit(
+                () -> new ForkJoinApplyAction<>(snapshot.spliterator(), leaf, threshold).invoke(),
+                pool,
+                completion
+        );
+
+        if (!submitted) {
+            snapshot.forEach(this.onDrop);
+        }
+    }
+
     /// Wait for the consumers to finish.
     protected void waitForConsumers() {
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(entry());
         }
 
-        this.waitForFutures();
+        this.waitForTasks();
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
     }
+
+    /// An application mode with its serial lanes, which are
+    /// null when unordered, and its key extractor, which is
+    /// null unless ordered by key.
+    ///
+    /// @param  <T>             The type of element
+    /// @param  mode            net.jmp.util.extra.ApplicationMode
+    /// @param  lanes           net.jmp.util.extra.SerialLane[]
+    /// @param  keyExtractor    java.util.function.Function<? super T, ?>
+    private record Ordering<T>(ApplicationMode mode, SerialLane[] lanes, Function<? super T, ?> keyExtractor) {
+    }
 }
@@ -0,0 +1,332 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedBlockingQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Collection;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static net.jmp.util.logging.LoggerUtils.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/// An applied blocking queue. It is an applied queue with
+/// an optional capacity whose waiting producers and consumers
+/// park until space or an element is available, instead of
+/// spinning on isEmpty or pollAndApply.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+public class AppliedBlockingQueue<T> extends AppliedQueue<T> implements BlockingQueue<T> {
+    /// The logger.
+    private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+    /// The blocking queue.
+    private final BlockingQueue<T> blockingQueue;
+
+    /// The default constructor. The queue is unbounded.
+    public AppliedBlockingQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /// A constructor that takes the capacity.
+    ///
+    /// @param  capacity    int
+    public AppliedBlockingQueue(final int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    /// A constructor that takes the capacity
+    /// and the number of threads to use.
+    ///
+    /// @param  capacity    int
+    /// @param  numThreads  int
+    public AppliedBlockingQueue(final int capacity, final int numThreads) {
+        this(new LinkedBlockingQueue<>(capacity), numThreads);
+    }
+
+    /// A constructor that takes the capacity and the
+    /// executor service to use. The executor service is
+    /// borrowed and is left running when this queue is
+    /// closed.
+    ///
+    /// @param  capacity    int
+    /// @param  executor    java.util.concurrent.ExecutorService
+    public AppliedBlockingQueue(final int capacity, final ExecutorService executor) {
+        this(new LinkedBlockingQueue<>(capacity), executor, false);
+    }
+
+    /// A constructor that takes the blocking
+    /// queue and the number of threads to use.
+    ///
+    /// @param  blockingQueue   java.util.concurrent.BlockingQueue<T>
+    /// @param  numThreads      int
+    private AppliedBlockingQueue(final BlockingQueue<T> blockingQueue, final int numThreads) {
+        super(blockingQueue, numThreads);
+
+        this.blockingQueue = blockingQueue;
+    }
+
+    /// A constructor that takes the blocking queue, the
+    /// executor service to use and whether this queue owns it.
+    ///
+    /// @param  blockingQueue   java.util.concurrent.BlockingQueue<T>
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    private AppliedBlockingQueue(final BlockingQueue<T> blockingQueue,
+                                 final ExecutorService executor,
+                                 final boolean ownsExecutor) {
+        super(blockingQueue, executor, ownsExecutor);
+
+        this.blockingQueue = blockingQueue;
+    }
+
+    /// Create an empty applied blocking queue with the
+    /// capacity that borrows the library-wide shared
+    /// executor service.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  capacity    int
+    /// @return             net.jmp.util.extra.AppliedBlockingQueue<T>
+    public static <T> AppliedBlockingQueue<T> withSharedExecutor(final int capacity) {
+        return new AppliedBlockingQueue<>(capacity, AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an empty applied blocking queue with the
+    /// capacity whose consumers each run on their own
+    /// virtual thread. The executor service is owned
+    /// by, and shut down with, the queue.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  capacity    int
+    /// @return             net.jmp.util.extra.AppliedBlockingQueue<T>
+    public static <T> AppliedBlockingQueue<T> withVirtualThreads(final int capacity) {
+        return new AppliedBlockingQueue<>(new LinkedBlockingQueue<>(capacity),
+                AppliedExecutors.newVirtualThreadExecutor(),
+                true);
+    }
+
+    /// Retrieves and removes the head of this queue, waiting
+    /// if necessary until an element becomes available.
+    /// Apply the consumer to the retrieved element.
+    ///
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @return             T
+    /// @throws             java.lang.InterruptedException When interrupted while waiting
+    public T takeAndApply(final Consumer<? super T> consumer) throws InterruptedException {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(consumer));
+        }
+
+        super.recordOperation("takeAndApply");
+
+        final T element = this.blockingQueue.take();
+
+        super.applyTask(element, consumer);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(element));
+        }
+
+        return element;
+    }
+
+    /// Retrieves and removes the head of this queue, waiting
+    /// up to the specified wait time if necessary for an element
+    /// to become available, or returns null if none did.
+    /// Apply the consumer to the retrieved element if it is not null.
+    ///
+    /// @param  timeout     long
+    /// @param  unit        java.util.concurrent.TimeUnit
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @return             T
+    /// @throws             java.lang.InterruptedException When interrupted while waiting
+    public T pollAndApply(final long timeout,
+                          final TimeUnit unit,
+                          final Consumer<? super T> consumer) throws InterruptedException {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(timeout, unit, consumer));
+        }
+
+        super.recordOperation("pollAndApply");
+
+        final T element = this.blockingQueue.poll(timeout, unit);
+
+        if (element != null) {
+            super.applyTask(element, consumer);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(element));
+        }
+
+        return element;
+    }
+
+    /// Inserts the element into the queue after applying the mapper
+    /// function, waiting if necessary for space to become available.
+    ///
+    /// @param  t       T
+    /// @param  mapper  java.util.function.Function<? super T, ? extends T>
+    /// @throws         java.lang.InterruptedException When interrupted while waiting
+    public void applyAndPut(final T t, final Function<? super T, ? extends T> mapper) throws InterruptedException {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(t, mapper));
+        }
+
+        super.recordOperation("applyAndPut");
+
+        this.blockingQueue.put(mapper.apply(t));
+
+        super.signalSubscribers(1);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Inserts the element into the queue after applying the
+    /// mapper function, waiting up to the specified wait time
+    /// if necessary for space to become available.
+    ///
+    /// @param  t       T
+    /// @param  mapper  java.util.function.Function<? super T, ? extends T>
+    /// @param  timeout long
+    /// @param  unit    java.util.concurrent.TimeUnit
+    /// @return         boolean
+    /// @throws         java.lang.InterruptedException When interrupted while waiting
+    public boolean applyAndOffer(final T t,
+                                 final Function<? super T, ? extends T> mapper,
+                                 final long timeout,
+                                 final TimeUnit unit) throws InterruptedException {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(t, mapper, timeout, unit));
+        }
+
+        super.recordOperation("applyAndOffer");
+
+        final boolean result = this.blockingQueue.offer(mapper.apply(t), timeout, unit);
+
+        super.signalSubscribers(1);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Inserts the specified element into this queue, waiting
+    /// if necessary for space to become available.
+    ///
+    /// @param  t   T
+    /// @throws     java.lang.InterruptedException When interrupted while waiting
+    @Override
+    public void put(final T t) throws InterruptedException {
+        this.blockingQueue.put(t);
+
+        super.signalSubscribers(1);
+    }
+
+    /// Inserts the specified element into this queue, waiting up to
+    /// the specified wait time if necessary for space to become available.
+    ///
+    /// @param  t       T
+    /// @param  timeout long
+    /// @param  unit    java.util.concurrent.TimeUnit
+    /// @return         boolean
+    /// @throws         java.lang.InterruptedException When interrupted while waiting
+    @Override
+    public boolean offer(final T t, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final boolean result = this.blockingQueue.offer(t, timeout, unit);
+
+        super.signalSubscribers(1);
+
+        return result;
+    }
+
+    /// Retrieves and removes the head of this queue, waiting
+    /// if necessary until an element becomes available.
+    ///
+    /// @return T
+    /// @throws java.lang.InterruptedException When interrupted while waiting
+    @Override
+    public T take() throws InterruptedException {
+        return this.blockingQueue.take();
+    }
+
+    /// Retrieves and removes the head of this queue, waiting up
+    /// to the specified wait time if necessary for an element to
+    /// become available.
+    ///
+    /// @param  timeout long
+    /// @param  unit    java.util.concurrent.TimeUnit
+    /// @return         T
+    /// @throws         java.lang.InterruptedException When interrupted while waiting
+    @Override
+    public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.blockingQueue.poll(timeout, unit);
+    }
+
+    /// Returns the number of additional elements that this
+    /// queue can ideally accept without blocking.
+    ///
+    /// @return int
+    @Override
+    public int remainingCapacity() {
+        return this.blockingQueue.remainingCapacity();
+    }
+
+    /// Removes all available elements from this queue
+    /// and adds them to the given collection.
+    ///
+    /// @param  c   java.util.Collection<? super T>
+    /// @return     int
+    @Override
+    public int drainTo(final Collection<? super T> c) {
+        return this.blockingQueue.drainTo(c);
+    }
+
+    /// Removes at most the given number of available elements
+    /// from this queue and adds them to the given collection.
+    ///
+    /// @param  c           java.util.Collection<? super T>
+    /// @param  maxElements int
+    /// @return             int
+    @Override
+    public int drainTo(final Collection<? super T> c, final int maxElements) {
+        return this.blockingQueue.drainTo(c, maxElements);
+    }
+}
@@ -0,0 +1,434 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedDelayQueue.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.function.Consumer;
+
+import static net.jmp.util.logging.LoggerUtils.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/// An applied delay queue. Each scheduled element is held
+/// until its delay expires, and expired elements are then
+/// applied to the queue's consumer in batches. The elements
+/// are kept in a hierarchical timing wheel, so scheduling is
+/// constant time however many elements are pending. Delays
+/// are measured in ticks of the wheel; an element is never
+/// applied early, and is applied at most about one tick late.
+///
+/// A single daemon thread, started when the first element is
+/// scheduled, advances the wheel and submits the batches. It
+/// sleeps while no elements are pending.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+public class AppliedDelayQueue<T> extends AppliedBaseCollection<T> implements AutoCloseable {
+    /// The default tick.
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+
+    /// The default number of slots per level of the wheel.
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /// The largest number of elements in a batch.
+    private static final int MAXIMUM_BATCH_SIZE = 1_024;
+
+    /// The logger.
+    private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+    /// The consumer of expired batches.
+    private final Consumer<? super List<T>> consumer;
+
+    /// The tick in nanoseconds.
+    private final long tickNanos;
+
+    /// The time at which tick zero began.
+    private final long startNanos = System.nanoTime();
+
+    /// The timing wheel.
+    private final TimingWheel<T> wheel;
+
+    /// The lock guarding the wheel.
+    private final Lock lock = new ReentrantLock();
+
+    /// The condition signalled when the wheel
+    /// stops being empty or the queue is closed.
+    private final Condition scheduled = this.lock.newCondition();
+
+    /// The thread that advances the wheel,
+    /// started when the first element is scheduled.
+    private Thread ticker;
+
+    /// True when closed.
+    private boolean closed;
+
+    /// A constructor that takes the consumer
+    /// of expired batches. The wheel uses the
+    /// default tick and wheel size.
+    ///
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    public AppliedDelayQueue(final Consumer<? super List<T>> consumer) {
+        this(consumer, DEFAULT_TICK, DEFAULT_WHEEL_SIZE);
+    }
+
+    /// A constructor that takes the consumer of
+    /// expired batches, the tick and the number
+    /// of slots per level of the wheel, which is
+    /// rounded up to a power of two.
+    ///
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @param  tick        java.time.Duration
+    /// @param  wheelSize   int
+    public AppliedDelayQueue(final Consumer<? super List<T>> consumer, final Duration tick, final int wheelSize) {
+        this(consumer, tick, wheelSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /// A constructor that takes the consumer of expired
+    /// batches, the tick, the number of slots per level
+    /// of the wheel and the number of threads to use.
+    ///
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @param  tick        java.time.Duration
+    /// @param  wheelSize   int
+    /// @param  numThreads  int
+    public AppliedDelayQueue(final Consumer<? super List<T>> consumer,
+                             final Duration tick,
+                             final int wheelSize,
+                             final int numThreads) {
+        this(consumer, tick, wheelSize, Executors.newFixedThreadPool(numThreads), true);
+    }
+
+    /// A constructor that takes the consumer of expired
+    /// batches, the tick, the number of slots per level of
+    /// the wheel and the executor service to use. The
+    /// executor service is borrowed and is left running
+    /// when this queue is closed.
+    ///
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @param  tick        java.time.Duration
+    /// @param  wheelSize   int
+    /// @param  executor    java.util.concurrent.ExecutorService
+    public AppliedDelayQueue(final Consumer<? super List<T>> consumer,
+                             final Duration tick,
+                             final int wheelSize,
+                             final ExecutorService executor) {
+        this(consumer, tick, wheelSize, executor, false);
+    }
+
+    /// A constructor that takes the consumer of expired
+    /// batches, the tick, the number of slots per level of
+    /// the wheel, the executor service to use and whether
+    /// this queue owns it.
+    ///
+    /// @param  consumer        java.util.function.Consumer<? super java.util.List<T>>
+    /// @param  tick            java.time.Duration
+    /// @param  wheelSize       int
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    private AppliedDelayQueue(final Consumer<? super List<T>> consumer,
+                              final Duration tick,
+                              final int wheelSize,
+                              final ExecutorService executor,
+                              final boolean ownsExecutor) {
+        super(executor, ownsExecutor);
+
+        Objects.requireNonNull(tick, () -> "Duration 'tick' is null");
+
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+
+        this.consumer = Objects.requireNonNull(consumer, () -> "Consumer<? super List<T>> 'consumer' is null");
+        this.tickNanos = tick.toNanos();
+        this.wheel = new TimingWheel<>(wheelSize);
+    }
+
+    /// Create an applied delay queue with the default tick
+    /// and wheel size that borrows the library-wide shared
+    /// executor service.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             net.jmp.util.extra.AppliedDelayQueue<T>
+    public static <T> AppliedDelayQueue<T> withSharedExecutor(final Consumer<? super List<T>> consumer) {
+        return new AppliedDelayQueue<>(consumer, DEFAULT_TICK, DEFAULT_WHEEL_SIZE, AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an applied delay queue with the default
+    /// tick and wheel size whose batches each run on
+    /// their own virtual thread. The executor service
+    /// is owned by, and shut down with, the queue.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             net.jmp.util.extra.AppliedDelayQueue<T>
+    public static <T> AppliedDelayQueue<T> withVirtualThreads(final Consumer<? super List<T>> consumer) {
+        return new AppliedDelayQueue<>(consumer,
+                DEFAULT_TICK,
+                DEFAULT_WHEEL_SIZE,
+                AppliedExecutors.newVirtualThreadExecutor(),
+                true);
+    }
+
+    /// Schedule the element to be applied to the consumer
+    /// once the delay expires. An element with a delay of
+    /// zero or less is applied with the next batch.
+    ///
+    /// @param  t       T
+    /// @param  delay   long
+    /// @param  unit    java.util.concurrent.TimeUnit
+    public void schedule(final T t, final long delay, final TimeUnit unit) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(t, delay, unit));
+        }
+
+        super.recordOperation("schedule");
+
+        Objects.requireNonNull(unit, () -> "TimeUnit 'unit' is null");
+
+        final long now = System.nanoTime();
+        final long delayNanos = Math.clamp(unit.toNanos(delay), 0, Long.MAX_VALUE >>> 2);
+        final long deadlineTick = (now - this.startNanos + delayNanos + this.tickNanos - 1) / this.tickNanos;
+
+        this.lock.lock();
+
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("Queue is closed");
+            }
+
+            if (this.ticker == null) {
+                this.startTicker();
+            }
+
+            if (this.wheel.isEmpty()) {
+                this.wheel.advance(this.tickAt(now), List.of());
+                this.scheduled.signal();
+            }
+
+            this.wheel.schedule(t, deadlineTick);
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Returns the number of elements whose
+    /// delays have not yet expired.
+    ///
+    /// @return int
+    public int size() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final int size;
+
+        this.lock.lock();
+
+        try {
+            size = this.wheel.size();
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(size));
+        }
+
+        return size;
+    }
+
+    /// Returns true if no elements are pending.
+    ///
+    /// @return boolean
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /// Close any resources. Elements whose delays have
+    /// not expired are discarded, and batches already
+    /// submitted are waited for.
+    @Override
+    public void close() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final Thread thread;
+
+        this.lock.lock();
+
+        try {
+            this.closed = true;
+            this.wheel.clear();
+            this.scheduled.signal();
+
+            thread = this.ticker;
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (final InterruptedException ie) {
+                this.logger.error(catching(ie));
+
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        super.close();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Start the thread that advances the wheel.
+    /// The lock must be held.
+    private void startTicker() {
+        this.ticker = Thread.ofPlatform()
+                .daemon()
+                .name("applied-delay-queue-ticker")
+                .start(this::advance);
+    }
+
+    /// Advance the wheel tick by tick and apply the
+    /// consumer to each batch of expired elements,
+    /// until the queue is closed. Should the thread
+    /// stop for any other reason, a new one is started
+    /// if elements are pending, or else when the next
+    /// element is scheduled.
+    private void advance() {
+        List<T> expired = new ArrayList<>();
+
+        this.lock.lock();
+
+        try {
+            while (!this.closed) {
+                if (this.wheel.isEmpty()) {
+                    this.scheduled.await();
+                } else {
+                    final long now = System.nanoTime();
+                    final long tick = this.tickAt(now);
+
+                    if (tick <= this.wheel.currentTick()) {
+                        this.scheduled.awaitNanos(this.startNanos + (tick + 1) * this.tickNanos - now);
+                    } else {
+                        this.wheel.advance(tick, expired);
+
+                        if (!expired.isEmpty()) {
+                            this.lock.unlock();
+
+                            try {
+                                this.dispatch(expired);
+                            } finally {
+                                this.lock.lock();
+                            }
+
+                            expired = new ArrayList<>();
+                        }
+                    }
+                }
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!this.closed) {
+                this.ticker = null;
+
+                if (!this.wheel.isEmpty()) {
+                    this.startTicker();
+                }
+            }
+
+            this.lock.unlock();
+        }
+    }
+
+    /// Apply the consumer to the expired elements
+    /// in batches of at most MAXIMUM_BATCH_SIZE.
+    ///
+    /// @param  expired java.util.List<T>
+    private void dispatch(final List<T> expired) {
+        if (expired.size() <= MAXIMUM_BATCH_SIZE) {
+            this.submitBatch(expired);
+        } else {
+            for (int from = 0; from < expired.size(); from += MAXIMUM_BATCH_SIZE) {
+                final int to = Math.min(from + MAXIMUM_BATCH_SIZE, expired.size());
+
+                this.submitBatch(new ArrayList<>(expired.subList(from, to)));
+            }
+        }
+    }
+
+    /// Submit the batch to the consumer. A batch that
+    /// cannot be submitted, for example because it is
+    /// rejected by the backpressure policy or by the
+    /// executor service, is logged and dead-lettered if
+    /// there is a retry policy, or else dropped, so that
+    /// the wheel keeps advancing.
+    ///
+    /// @param  batch   java.util.List<T>
+    private void submitBatch(final List<T> batch) {
+        try {
+            super.applyBatch(batch, this.consumer);
+        } catch (final RuntimeException re) {
+            this.logger.error(catching(re));
+
+            super.deadLetterAll(batch);
+        }
+    }
+
+    /// Return the tick in progress at the time.
+    ///
+    /// @param  nanos   long
+    /// @return         long
+    private long tickAt(final long nanos) {
+        return (nanos - this.startNanos) / this.tickNanos;
+    }
+}
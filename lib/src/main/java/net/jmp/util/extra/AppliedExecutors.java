@@ -0,0 +1,73 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedExecutors.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/// Executor services for applied collections.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class AppliedExecutors {
+    /// The default number of threads.
+    private static final int DEFAULT_NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /// The default constructor.
+    private AppliedExecutors() {
+        super();
+    }
+
+    /// Return the library-wide shared executor service. It is
+    /// a fixed pool of daemon threads, one per available processor,
+    /// created on first use. Applied collections that borrow it
+    /// never shut it down and neither should the caller.
+    ///
+    /// @return java.util.concurrent.ExecutorService
+    public static ExecutorService sharedExecutor() {
+        return SharedExecutorHolder.EXECUTOR;
+    }
+
+    /// Create a new executor service that starts a virtual
+    /// thread for each task. It suits consumers that block
+    /// on I/O since concurrency is not capped at the number
+    /// of processors. The caller owns the returned executor.
+    ///
+    /// @return java.util.concurrent.ExecutorService
+    public static ExecutorService newVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("applied-virtual-", 0).factory());
+    }
+
+    /// The lazily initialized holder of the shared executor service.
+    private static final class SharedExecutorHolder {
+        /// The shared executor service.
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                DEFAULT_NUMBER_OF_THREADS,
+                Thread.ofPlatform().name("applied-shared-", 0).daemon(true).factory()
+        );
+    }
+}
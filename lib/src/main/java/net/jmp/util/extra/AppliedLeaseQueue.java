@@ -0,0 +1,306 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedLeaseQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.List;
+import java.util.Objects;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.Consumer;
+
+import static net.jmp.util.logging.LoggerUtils.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/// An applied lease queue. It is an applied queue whose
+/// elements can be leased rather than removed outright, so
+/// that an element whose consumer fails is not lost. A leased
+/// element is invisible to other consumers until its lease is
+/// acknowledged, which settles it, or is released or outlives
+/// the visibility timeout, either of which returns it to the
+/// tail of the queue. Processing is therefore at least once,
+/// and an element may be applied again after its consumer has
+/// run if the lease was not acknowledged in time.
+///
+/// The visibility timeouts are kept in a hierarchical timing
+/// wheel, as in an applied delay queue, so leasing is constant
+/// time however many leases are held. An acknowledged lease
+/// is forgotten when its timeout would have expired.
+///
+/// The inherited poll and pollAndApply still remove elements
+/// outright, without a lease.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+public class AppliedLeaseQueue<T> extends AppliedQueue<T> {
+    /// The logger.
+    private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+    /// The visibility timeout in nanoseconds.
+    private final long visibilityNanos;
+
+    /// The leases, expired when their visibility timeouts pass.
+    private final AppliedDelayQueue<Lease<T>> expirations;
+
+    /// The number of leases held.
+    private final LongAdder leased = new LongAdder();
+
+    /// A constructor that takes the visibility timeout.
+    ///
+    /// @param  visibilityTimeout   java.time.Duration
+    public AppliedLeaseQueue(final Duration visibilityTimeout) {
+        this(visibilityTimeout, Runtime.getRuntime().availableProcessors());
+    }
+
+    /// A constructor that takes the visibility
+    /// timeout and the number of threads to use.
+    ///
+    /// @param  visibilityTimeout   java.time.Duration
+    /// @param  numThreads          int
+    public AppliedLeaseQueue(final Duration visibilityTimeout, final int numThreads) {
+        super(numThreads);
+
+        this.visibilityNanos = requireTimeout(visibilityTimeout);
+        this.expirations = this.newExpirations();
+    }
+
+    /// A constructor that takes the visibility timeout
+    /// and the executor service to use. The executor
+    /// service is borrowed and is left running when
+    /// this queue is closed.
+    ///
+    /// @param  visibilityTimeout   java.time.Duration
+    /// @param  executor            java.util.concurrent.ExecutorService
+    public AppliedLeaseQueue(final Duration visibilityTimeout, final ExecutorService executor) {
+        this(visibilityTimeout, executor, false);
+    }
+
+    /// A constructor that takes the visibility timeout, the
+    /// executor service to use and whether this queue owns it.
+    ///
+    /// @param  visibilityTimeout   java.time.Duration
+    /// @param  executor            java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor        boolean
+    private AppliedLeaseQueue(final Duration visibilityTimeout,
+                              final ExecutorService executor,
+                              final boolean ownsExecutor) {
+        super(executor, ownsExecutor);
+
+        this.visibilityNanos = requireTimeout(visibilityTimeout);
+        this.expirations = this.newExpirations();
+    }
+
+    /// Create an empty applied lease queue with the
+    /// visibility timeout that borrows the library-wide
+    /// shared executor service.
+    ///
+    /// @param  <T>                 The type of element
+    /// @param  visibilityTimeout   java.time.Duration
+    /// @return                     net.jmp.util.extra.AppliedLeaseQueue<T>
+    public static <T> AppliedLeaseQueue<T> withSharedExecutor(final Duration visibilityTimeout) {
+        return new AppliedLeaseQueue<>(visibilityTimeout, AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an empty applied lease queue with the
+    /// visibility timeout whose consumers each run on
+    /// their own virtual thread. The executor service
+    /// is owned by, and shut down with, the queue.
+    ///
+    /// @param  <T>                 The type of element
+    /// @param  visibilityTimeout   java.time.Duration
+    /// @return                     net.jmp.util.extra.AppliedLeaseQueue<T>
+    public static <T> AppliedLeaseQueue<T> withVirtualThreads(final Duration visibilityTimeout) {
+        return new AppliedLeaseQueue<>(visibilityTimeout, AppliedExecutors.newVirtualThreadExecutor(), true);
+    }
+
+    /// Return the visibility timeout.
+    ///
+    /// @return java.time.Duration
+    public Duration getVisibilityTimeout() {
+        return Duration.ofNanos(this.visibilityNanos);
+    }
+
+    /// Return the number of leases held, that is leased
+    /// elements neither acknowledged nor yet returned.
+    ///
+    /// @return long
+    public long getLeasedCount() {
+        return this.leased.sum();
+    }
+
+    /// Retrieves and leases the head of this queue, or returns
+    /// null if this queue is empty. The element reappears at
+    /// the tail of the queue unless the returned lease is
+    /// acknowledged within the visibility timeout.
+    ///
+    /// @return net.jmp.util.extra.Lease<T>
+    public Lease<T> lease() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        super.recordOperation("lease");
+
+        final Lease<T> result = this.leaseHead();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Retrieves and leases the head of this queue, or returns
+    /// null if this queue is empty. Apply the consumer to the
+    /// leased element and acknowledge the lease if it returns
+    /// normally. If the consumer throws an exception, or its
+    /// task is dropped by backpressure, the element reappears
+    /// once the visibility timeout expires. The lease is
+    /// returned so that the caller can release it early.
+    ///
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @return             net.jmp.util.extra.Lease<T>
+    public Lease<T> leaseAndApply(final Consumer<? super T> consumer) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(consumer));
+        }
+
+        super.recordOperation("leaseAndApply");
+
+        Objects.requireNonNull(consumer, () -> "Consumer<? super T> 'consumer' is null");
+
+        final Lease<T> result = this.leaseHead();
+
+        if (result != null) {
+            super.applyTask(result.element(), e -> {
+                consumer.accept(e);
+                result.acknowledge();
+            });
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Close any resources. Leases that are held are
+    /// discarded with their elements, along with the
+    /// elements still in the queue.
+    @Override
+    public void close() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        this.expirations.close();
+
+        super.close();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Record that a lease was acknowledged.
+    void settle() {
+        this.leased.decrement();
+    }
+
+    /// Return the element of a lease that was released
+    /// or expired to the tail of the queue.
+    ///
+    /// @param  element T
+    void requeue(final T element) {
+        this.leased.decrement();
+
+        super.offer(element);
+    }
+
+    /// Poll the head of the queue and lease it
+    /// for the visibility timeout.
+    ///
+    /// @return net.jmp.util.extra.Lease<T>
+    private Lease<T> leaseHead() {
+        final T element = super.poll();
+
+        if (element == null) {
+            return null;
+        }
+
+        final Lease<T> lease = new Lease<>(element, this);
+
+        this.leased.increment();
+        this.expirations.schedule(lease, this.visibilityNanos, TimeUnit.NANOSECONDS);
+
+        return lease;
+    }
+
+    /// Create the delay queue that expires the leases
+    /// on this queue's executor service.
+    ///
+    /// @return net.jmp.util.extra.AppliedDelayQueue<net.jmp.util.extra.Lease<T>>
+    private AppliedDelayQueue<Lease<T>> newExpirations() {
+        return new AppliedDelayQueue<>(AppliedLeaseQueue::expire,
+                AppliedDelayQueue.DEFAULT_TICK,
+                AppliedDelayQueue.DEFAULT_WHEEL_SIZE,
+                super.executor);
+    }
+
+    /// Release each lease in the batch whose visibility
+    /// timeout expired, unless it was already settled.
+    ///
+    /// @param  <T>     The type of element
+    /// @param  batch   java.util.List<net.jmp.util.extra.Lease<T>>
+    private static <T> void expire(final List<Lease<T>> batch) {
+        batch.forEach(Lease::release);
+    }
+
+    /// Return the visibility timeout in nanoseconds
+    /// if it is not null and is positive.
+    ///
+    /// @param  visibilityTimeout   java.time.Duration
+    /// @return                     long
+    private static long requireTimeout(final Duration visibilityTimeout) {
+        Objects.requireNonNull(visibilityTimeout, () -> "Duration 'visibilityTimeout' is null");
+
+        if (visibilityTimeout.isNegative() || visibilityTimeout.isZero()) {
+            throw new IllegalArgumentException("Visibility timeout must be positive");
+        }
+
+        return visibilityTimeout.toNanos();
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)AppliedList.java  1.5.0   10/16/2026
  * (#)AppliedList.java  1.2.0   09/27/2024
  *
  * MIT License
@@ -28,6 +29,9 @@ package net.jmp.util.extra;
 
 import java.util.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -40,7 +44,7 @@ import org.slf4j.LoggerFactory;
 /// An applied list.
 ///
 /// @param  <T> The type of element
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public final class AppliedList<T> extends AppliedBaseCollection<T> implements List<T>, AutoCloseable {
     /// The logger.
@@ -66,12 +70,38 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
         this.list = new ArrayList<>();
     }
 
+    /// A constructor that takes the executor service
+    /// to use. The executor service is borrowed and is
+    /// left running when this list is closed.
+    ///
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @since              1.5.0
+    public AppliedList(final ExecutorService executor) {
+        super(executor);
+
+        this.list = new ArrayList<>();
+    }
+
+    /// A constructor that takes the executor service
+    /// to use and whether this list owns it. An owned
+    /// executor service is shut down on close.
+    ///
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    /// @since                  1.5.0
+    private AppliedList(final ExecutorService executor, final boolean ownsExecutor) {
+        super(executor, ownsExecutor);
+
+        this.list = new ArrayList<>();
+    }
+
     /// A constructor that takes a list
-    /// and creates an unmodifiable object.
+    /// and creates an unmodifiable object
+    /// that borrows the shared executor service.
     ///
     /// @param  list    java.util.List<? extends T>
     private AppliedList(final List<? extends T> list) {
-        super();
+        super(AppliedExecutors.sharedExecutor());
 
         this.list = Collections.unmodifiableList(list);
     }
@@ -90,7 +120,7 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
     /// @param  t   T
     /// @return     net.jmp.util.extra.AppliedList<T>
     public static <T> AppliedList<T> of(final T t) {
-        final AppliedList<T> list = new AppliedList<>();
+        final List<T> list = new ArrayList<>();
 
         list.add(Objects.requireNonNull(t));
 
@@ -104,7 +134,7 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
     /// @param  t2  T
     /// @return     net.jmp.util.extra.AppliedList<T>
     public static <T> AppliedList<T> of(final T t1, final T t2) {
-        final AppliedList<T> list = new AppliedList<>();
+        final List<T> list = new ArrayList<>();
 
         list.add(Objects.requireNonNull(t1));
         list.add(Objects.requireNonNull(t2));
@@ -120,7 +150,7 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
     /// @param  t3  T
     /// @return     net.jmp.util.extra.AppliedList<T>
     public static <T> AppliedList<T> of(final T t1, final T t2, final T t3) {
-        final AppliedList<T> list = new AppliedList<>();
+        final List<T> list = new ArrayList<>();
 
         list.add(Objects.requireNonNull(t1));
         list.add(Objects.requireNonNull(t2));
@@ -129,6 +159,28 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
         return new AppliedList<>(list);
     }
 
+    /// Create an empty applied list that borrows
+    /// the library-wide shared executor service.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedList<T>
+    /// @since      1.5.0
+    public static <T> AppliedList<T> withSharedExecutor() {
+        return new AppliedList<>(AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an empty applied list whose consumers
+    /// each run on their own virtual thread. This suits
+    /// consumers that block on I/O. The executor service
+    /// is owned by, and shut down with, the list.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedList<T>
+    /// @since      1.5.0
+    public static <T> AppliedList<T> withVirtualThreads() {
+        return new AppliedList<>(AppliedExecutors.newVirtualThreadExecutor(), true);
+    }
+
     /// Close any resources.
     @Override
     public void close() {
@@ -154,6 +206,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(t, filter));
         }
 
+        super.recordOperation("addIf");
+
         final boolean result = super.addIf(t, this.list, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -176,6 +230,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(t, mapper, filter));
         }
 
+        super.recordOperation("applyAndAddIf");
+
         final boolean result = super.applyAndAddIf(t, this.list, mapper, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -195,6 +251,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(t, mapper));
         }
 
+        super.recordOperation("applyAndAdd");
+
         final boolean result = super.applyAndAdd(t, this.list, mapper);
 
         if (this.logger.isTraceEnabled()) {
@@ -215,6 +273,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(c, mapper));
         }
 
+        super.recordOperation("applyAndAddAll");
+
         final boolean result = super.applyAndAddAll(this.list, c, mapper);
 
         if (this.logger.isTraceEnabled()) {
@@ -234,6 +294,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(onElement, onEnd));
         }
 
+        super.recordOperation("clearAndApply");
+
         super.clearAndApply(this.list, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -241,6 +303,30 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
         }
     }
 
+    /// Apply the onElement to each element and then clear
+    /// the list. The returned future completes when the
+    /// consumer has been applied to every element, or
+    /// exceptionally with the first exception it threw.
+    ///
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    public CompletableFuture<Void> clearAndApplyAsync(final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(onElement));
+        }
+
+        super.recordOperation("clearAndApplyAsync");
+
+        final CompletableFuture<Void> result = super.clearAndApplyAsync(this.list, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Consume all the elements in the list.
     ///
     /// @param  onElement   java.util.function.Consumer<? super T>
@@ -250,6 +336,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(onElement, onEnd));
         }
 
+        super.recordOperation("consume");
+
         super.consume(this.list, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -257,6 +345,30 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
         }
     }
 
+    /// Consume all the elements in the list. The returned
+    /// future completes when the consumer has been applied
+    /// to every element, or exceptionally with the first
+    /// exception it threw.
+    ///
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    public CompletableFuture<Void> consumeAsync(final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(onElement));
+        }
+
+        super.recordOperation("consumeAsync");
+
+        final CompletableFuture<Void> result = super.consumeAsync(this.list, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Removes the first occurrence of this element from the list if one exists.
     /// Apply the consumer to the removed element if it is not null.
     ///
@@ -268,6 +380,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(object, consumer));
         }
 
+        super.recordOperation("removeAndApply");
+
         final int index = this.list.indexOf(object);
 
         boolean result = false;
@@ -278,7 +392,7 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             result = this.list.remove(element);
 
             if (element != null) {
-                super.runTask(() -> consumer.accept(element));
+                super.applyTask(element, consumer);
             }
         }
 
@@ -300,10 +414,12 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(index, consumer));
         }
 
+        super.recordOperation("removeAndApply");
+
         final T element = this.list.remove(index);
 
         if (element != null) {
-            super.runTask(() -> consumer.accept(element));
+            super.applyTask(element, consumer);
         }
 
         if (this.logger.isTraceEnabled()) {
@@ -329,6 +445,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(c, onElement, onEnd));
         }
 
+        super.recordOperation("removeAllAndApply");
+
         final boolean result = super.removeAllAndApply(this.list, c, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -338,6 +456,34 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
         return result;
     }
 
+    /// Removes all of this list's elements that are also contained
+    /// in the specified collection. Apply the onElement consumer
+    /// to each removed element. The returned future completes
+    /// with true if the list changed once the consumer has been
+    /// applied to every removed element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  c           java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    public CompletableFuture<Boolean> removeAllAndApplyAsync(final Collection<? extends T> c,
+                                                             final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(c, onElement));
+        }
+
+        super.recordOperation("removeAllAndApplyAsync");
+
+        final CompletableFuture<Boolean> result = super.removeAllAndApplyAsync(this.list, c, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Removes the element into the list if the
     /// applied predicate function evaluates to true.
     ///
@@ -349,6 +495,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(t, filter));
         }
 
+        super.recordOperation("removeIf");
+
         final boolean result = super.removeIf(t, this.list, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -373,6 +521,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(object, matcher, consumer));
         }
 
+        super.recordOperation("removeIfAndApply");
+
         final int index = this.list.indexOf(object);
 
         boolean result = false;
@@ -384,7 +534,7 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
                 result = this.list.remove(element);
 
                 if (element != null) {
-                    super.runTask(() -> consumer.accept(element));
+                    super.applyTask(element, consumer);
                 }
             }
         }
@@ -411,6 +561,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(index, matcher, consumer));
         }
 
+        super.recordOperation("removeIfAndApply");
+
         T result = null;
 
         final T element = this.list.get(index);
@@ -421,7 +573,7 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             result = element;
 
             if (element != null) {
-                super.runTask(() -> consumer.accept(element));
+                super.applyTask(element, consumer);
             }
         }
 
@@ -451,6 +603,8 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
             this.logger.trace(entryWith(c, onElement, onEnd));
         }
 
+        super.recordOperation("retainAllAndApply");
+
         final boolean result = super.retainAllAndApply(this.list, c, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -460,6 +614,34 @@ public final class AppliedList<T> extends AppliedBaseCollection<T> implements Li
         return result;
     }
 
+    /// Retains only the elements in this list that are contained
+    /// in the specified collection. Apply the onElement consumer
+    /// to each retained element. The returned future completes
+    /// with true if the list changed once the consumer has been
+    /// applied to every retained element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  c           java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    public CompletableFuture<Boolean> retainAllAndApplyAsync(final Collection<? extends T> c,
+                                                             final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(c, onElement));
+        }
+
+        super.recordOperation("retainAllAndApplyAsync");
+
+        final CompletableFuture<Boolean> result = super.retainAllAndApplyAsync(this.list, c, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /* List method overrides */
 
     /// Returns an array containing all the elements in this list
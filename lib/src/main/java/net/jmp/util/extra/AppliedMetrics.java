@@ -0,0 +1,314 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedMetrics.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/// The metrics of an applied collection. Counters are striped
+/// so that recording them from many threads does not contend.
+/// Obtain an instance from AppliedBaseCollection.enableMetrics
+/// and optionally register it with the platform MBean server.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class AppliedMetrics implements AppliedMetricsListener, AppliedMetricsMXBean {
+    /// The number of execution-time histogram buckets.
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    /// The supplier of the in-flight count.
+    private final LongSupplier inFlightCount;
+
+    /// The supplier of the queue depth.
+    private final LongSupplier queueDepth;
+
+    /// The number of tasks submitted.
+    private final LongAdder submitted = new LongAdder();
+
+    /// The number of tasks completed.
+    private final LongAdder completed = new LongAdder();
+
+    /// The number of tasks dropped.
+    private final LongAdder dropped = new LongAdder();
+
+    /// The number of tasks retried.
+    private final LongAdder retried = new LongAdder();
+
+    /// The number of elements dead-lettered.
+    private final LongAdder deadLettered = new LongAdder();
+
+    /// The total execution time in nanoseconds.
+    private final LongAdder totalNanos = new LongAdder();
+
+    /// The longest execution time in nanoseconds.
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /// The execution-time histogram.
+    private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+    /// The invocation counts by operation.
+    private final ConcurrentMap<String, LongAdder> operations = new ConcurrentHashMap<>();
+
+    /// The name under which this is registered or null.
+    private volatile ObjectName objectName;
+
+    /// A constructor that takes the suppliers
+    /// of the in-flight count and queue depth.
+    ///
+    /// @param  inFlightCount   java.util.function.LongSupplier
+    /// @param  queueDepth      java.util.function.LongSupplier
+    AppliedMetrics(final LongSupplier inFlightCount, final LongSupplier queueDepth) {
+        super();
+
+        this.inFlightCount = Objects.requireNonNull(inFlightCount, () -> "LongSupplier 'inFlightCount' is null");
+        this.queueDepth = Objects.requireNonNull(queueDepth, () -> "LongSupplier 'queueDepth' is null");
+
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            this.histogram[i] = new LongAdder();
+        }
+    }
+
+    /// Count a submitted task.
+    @Override
+    public void taskSubmitted() {
+        this.submitted.increment();
+    }
+
+    /// Count a completed task and record its execution time.
+    ///
+    /// @param  elapsedNanos    long
+    @Override
+    public void taskCompleted(final long elapsedNanos) {
+        final long micros = elapsedNanos / 1_000;
+        final int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKETS - 1);
+
+        this.completed.increment();
+        this.totalNanos.add(elapsedNanos);
+        this.maxNanos.accumulate(elapsedNanos);
+        this.histogram[bucket].increment();
+    }
+
+    /// Count a dropped task.
+    @Override
+    public void taskDropped() {
+        this.dropped.increment();
+    }
+
+    /// Count a retried task.
+    @Override
+    public void taskRetried() {
+        this.retried.increment();
+    }
+
+    /// Count a dead-lettered element.
+    @Override
+    public void elementDeadLettered() {
+        this.deadLettered.increment();
+    }
+
+    /// Count an invocation of the operation.
+    ///
+    /// @param  operation   java.lang.String
+    @Override
+    public void operationInvoked(final String operation) {
+        this.operations.computeIfAbsent(operation, _ -> new LongAdder()).increment();
+    }
+
+    /// Return the number of consumer tasks submitted.
+    ///
+    /// @return long
+    @Override
+    public long getTasksSubmitted() {
+        return this.submitted.sum();
+    }
+
+    /// Return the number of consumer tasks completed.
+    ///
+    /// @return long
+    @Override
+    public long getTasksCompleted() {
+        return this.completed.sum();
+    }
+
+    /// Return the number of consumer tasks dropped.
+    ///
+    /// @return long
+    @Override
+    public long getTasksDropped() {
+        return this.dropped.sum();
+    }
+
+    /// Return the number of consumer tasks retried.
+    ///
+    /// @return long
+    @Override
+    public long getTasksRetried() {
+        return this.retried.sum();
+    }
+
+    /// Return the number of elements dead-lettered.
+    ///
+    /// @return long
+    @Override
+    public long getElementsDeadLettered() {
+        return this.deadLettered.sum();
+    }
+
+    /// Return the number of consumer tasks in flight.
+    ///
+    /// @return long
+    @Override
+    public long getInFlightCount() {
+        return this.inFlightCount.getAsLong();
+    }
+
+    /// Return the executor service's queue depth or -1.
+    ///
+    /// @return long
+    @Override
+    public long getQueueDepth() {
+        return this.queueDepth.getAsLong();
+    }
+
+    /// Return the total execution time in nanoseconds.
+    ///
+    /// @return long
+    @Override
+    public long getTotalExecutionNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /// Return the longest execution time in nanoseconds.
+    ///
+    /// @return long
+    @Override
+    public long getMaxExecutionNanos() {
+        return this.maxNanos.get();
+    }
+
+    /// Return a snapshot of the execution-time histogram.
+    ///
+    /// @return long[]
+    @Override
+    public long[] getExecutionTimeHistogram() {
+        final long[] counts = new long[HISTOGRAM_BUCKETS];
+
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            counts[i] = this.histogram[i].sum();
+        }
+
+        return counts;
+    }
+
+    /// Return a snapshot of the operation counts sorted by name.
+    ///
+    /// @return java.util.Map<java.lang.String, java.lang.Long>
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+
+        this.operations.forEach((operation, count) -> counts.put(operation, count.sum()));
+
+        return counts;
+    }
+
+    /// Reset the counters and the histogram.
+    @Override
+    public void reset() {
+        this.submitted.reset();
+        this.completed.reset();
+        this.dropped.reset();
+        this.retried.reset();
+        this.deadLettered.reset();
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+
+        for (final LongAdder bucket : this.histogram) {
+            bucket.reset();
+        }
+
+        this.operations.clear();
+    }
+
+    /// Register these metrics with the platform
+    /// MBean server under the given name.
+    ///
+    /// @param  name    javax.management.ObjectName
+    /// @throws         javax.management.JMException When registration fails
+    public void register(final ObjectName name) throws JMException {
+        Objects.requireNonNull(name, () -> "ObjectName 'name' is null");
+
+        if (this.objectName != null) {
+            throw new IllegalStateException("Metrics are already registered as " + this.objectName);
+        }
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+
+        this.objectName = name;
+    }
+
+    /// Unregister these metrics from the platform
+    /// MBean server if they are registered.
+    ///
+    /// @throws javax.management.JMException When unregistration fails
+    public void unregister() throws JMException {
+        final ObjectName name = this.objectName;
+
+        if (name != null) {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            this.objectName = null;
+
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+    }
+
+    /// Return the name under which these
+    /// metrics are registered or null.
+    ///
+    /// @return javax.management.ObjectName
+    public ObjectName getObjectName() {
+        return this.objectName;
+    }
+}
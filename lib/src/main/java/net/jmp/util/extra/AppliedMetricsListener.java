@@ -0,0 +1,71 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedMetricsListener.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/// A listener that is told about the consumer tasks and operations
+/// of an applied collection. Implementations are called on the hot
+/// path from both the calling threads and the executor's threads,
+/// so they must be thread-safe and should return quickly. Every
+/// method does nothing by default.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public interface AppliedMetricsListener {
+    /// Called when a consumer task is submitted,
+    /// including one run by the caller under
+    /// backpressure.
+    default void taskSubmitted() {
+    }
+
+    /// Called when a consumer task has finished,
+    /// whether normally or by throwing.
+    ///
+    /// @param  elapsedNanos    long
+    default void taskCompleted(final long elapsedNanos) {
+    }
+
+    /// Called when a consumer task is dropped by backpressure.
+    default void taskDropped() {
+    }
+
+    /// Called when a consumer that threw is
+    /// scheduled to be retried after a backoff.
+    default void taskRetried() {
+    }
+
+    /// Called when an element is given to the dead-letter
+    /// queue because its consumer exhausted its attempts.
+    default void elementDeadLettered() {
+    }
+
+    /// Called when an operation, such as applyAndAdd
+    /// or pollAndApply, is invoked on the collection.
+    ///
+    /// @param  operation   java.lang.String
+    default void operationInvoked(final String operation) {
+    }
+}
@@ -0,0 +1,101 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedMetricsMXBean.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Map;
+
+/// The management interface of the metrics of an applied collection.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public interface AppliedMetricsMXBean {
+    /// Return the number of consumer tasks submitted.
+    ///
+    /// @return long
+    long getTasksSubmitted();
+
+    /// Return the number of consumer tasks completed.
+    ///
+    /// @return long
+    long getTasksCompleted();
+
+    /// Return the number of consumer tasks dropped by backpressure.
+    ///
+    /// @return long
+    long getTasksDropped();
+
+    /// Return the number of consumer tasks retried after throwing.
+    ///
+    /// @return long
+    long getTasksRetried();
+
+    /// Return the number of elements given to the dead-letter queue.
+    ///
+    /// @return long
+    long getElementsDeadLettered();
+
+    /// Return the number of consumer tasks that
+    /// have been submitted but have not yet finished.
+    ///
+    /// @return long
+    long getInFlightCount();
+
+    /// Return the number of tasks waiting in the executor
+    /// service's queue, or -1 if it does not expose one.
+    ///
+    /// @return long
+    long getQueueDepth();
+
+    /// Return the total execution time of completed
+    /// consumer tasks in nanoseconds.
+    ///
+    /// @return long
+    long getTotalExecutionNanos();
+
+    /// Return the longest execution time of a
+    /// completed consumer task in nanoseconds.
+    ///
+    /// @return long
+    long getMaxExecutionNanos();
+
+    /// Return the histogram of the execution times of completed
+    /// consumer tasks. Bucket 0 counts tasks that took under a
+    /// microsecond and bucket i counts those that took at least
+    /// 2^(i-1) and under 2^i microseconds. The last bucket also
+    /// counts every longer task.
+    ///
+    /// @return long[]
+    long[] getExecutionTimeHistogram();
+
+    /// Return the number of invocations of each operation by name.
+    ///
+    /// @return java.util.Map<java.lang.String, java.lang.Long>
+    Map<String, Long> getOperationCounts();
+
+    /// Reset the counters and the histogram.
+    void reset();
+}
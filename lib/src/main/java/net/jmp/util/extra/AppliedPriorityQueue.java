@@ -0,0 +1,147 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)AppliedPriorityQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Comparator;
+import java.util.Objects;
+
+import java.util.concurrent.ExecutorService;
+
+/// An applied priority queue. It is an applied queue whose head
+/// is the least element by its comparator, or by natural ordering,
+/// so pollAndApply always retrieves the highest-priority element.
+/// Elements of equal priority are retrieved in the order they were
+/// offered. The queue is unbounded and backed by a concurrent skip
+/// list, so many producers and consumers proceed without a lock.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+public class AppliedPriorityQueue<T> extends AppliedQueue<T> {
+    /// The priority queue.
+    private final SkipListPriorityQueue<T> priorityQueue;
+
+    /// The default constructor. Elements
+    /// are in their natural ordering.
+    public AppliedPriorityQueue() {
+        this(new SkipListPriorityQueue<>(null), Runtime.getRuntime().availableProcessors());
+    }
+
+    /// A constructor that takes the comparator.
+    ///
+    /// @param  comparator  java.util.Comparator<? super T>
+    public AppliedPriorityQueue(final Comparator<? super T> comparator) {
+        this(comparator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /// A constructor that takes the comparator
+    /// and the number of threads to use.
+    ///
+    /// @param  comparator  java.util.Comparator<? super T>
+    /// @param  numThreads  int
+    public AppliedPriorityQueue(final Comparator<? super T> comparator, final int numThreads) {
+        this(new SkipListPriorityQueue<>(requireComparator(comparator)), numThreads);
+    }
+
+    /// A constructor that takes the comparator and the
+    /// executor service to use. The executor service is
+    /// borrowed and is left running when this queue is
+    /// closed.
+    ///
+    /// @param  comparator  java.util.Comparator<? super T>
+    /// @param  executor    java.util.concurrent.ExecutorService
+    public AppliedPriorityQueue(final Comparator<? super T> comparator, final ExecutorService executor) {
+        this(new SkipListPriorityQueue<>(requireComparator(comparator)), executor, false);
+    }
+
+    /// A constructor that takes the priority
+    /// queue and the number of threads to use.
+    ///
+    /// @param  priorityQueue   net.jmp.util.extra.SkipListPriorityQueue<T>
+    /// @param  numThreads      int
+    private AppliedPriorityQueue(final SkipListPriorityQueue<T> priorityQueue, final int numThreads) {
+        super(priorityQueue, numThreads);
+
+        this.priorityQueue = priorityQueue;
+    }
+
+    /// A constructor that takes the priority queue, the
+    /// executor service to use and whether this queue owns it.
+    ///
+    /// @param  priorityQueue   net.jmp.util.extra.SkipListPriorityQueue<T>
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    private AppliedPriorityQueue(final SkipListPriorityQueue<T> priorityQueue,
+                                 final ExecutorService executor,
+                                 final boolean ownsExecutor) {
+        super(priorityQueue, executor, ownsExecutor);
+
+        this.priorityQueue = priorityQueue;
+    }
+
+    /// Create an empty applied priority queue with the
+    /// comparator that borrows the library-wide shared
+    /// executor service.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  comparator  java.util.Comparator<? super T>
+    /// @return             net.jmp.util.extra.AppliedPriorityQueue<T>
+    public static <T> AppliedPriorityQueue<T> withSharedExecutor(final Comparator<? super T> comparator) {
+        return new AppliedPriorityQueue<>(comparator, AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an empty applied priority queue with the
+    /// comparator whose consumers each run on their own
+    /// virtual thread. The executor service is owned by,
+    /// and shut down with, the queue.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  comparator  java.util.Comparator<? super T>
+    /// @return             net.jmp.util.extra.AppliedPriorityQueue<T>
+    public static <T> AppliedPriorityQueue<T> withVirtualThreads(final Comparator<? super T> comparator) {
+        return new AppliedPriorityQueue<>(new SkipListPriorityQueue<>(requireComparator(comparator)),
+                AppliedExecutors.newVirtualThreadExecutor(),
+                true);
+    }
+
+    /// Return the comparator used to order the elements,
+    /// or null if they are in their natural ordering.
+    ///
+    /// @return java.util.Comparator<? super T>
+    public Comparator<? super T> comparator() {
+        return this.priorityQueue.comparator();
+    }
+
+    /// Return the comparator if it is not null.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  comparator  java.util.Comparator<? super T>
+    /// @return             java.util.Comparator<? super T>
+    private static <T> Comparator<? super T> requireComparator(final Comparator<? super T> comparator) {
+        return Objects.requireNonNull(comparator, () -> "Comparator<? super T> 'comparator' is null");
+    }
+}
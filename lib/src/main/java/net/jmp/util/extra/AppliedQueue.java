@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)AppliedQueue.java 1.5.0   10/16/2026
  * (#)AppliedQueue.java 1.2.0   09/28/2024
  *
  * MIT License
@@ -26,12 +27,24 @@ package net.jmp.util.extra;
  * SOFTWARE.
  */
 
+import java.io.Closeable;
+import java.io.IOException;
+
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Queue;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
 
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -46,20 +59,26 @@ import org.slf4j.LoggerFactory;
 /// An applied queue.
 ///
 /// @param  <T> The type of element
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T>, AutoCloseable {
+    /// The largest initial capacity of a drained batch.
+    private static final int INITIAL_BATCH_CAPACITY = 1_024;
+
     /// The logger.
     private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
     /// The queue.
     private final Queue<T> queue;
 
+    /// The publisher, created when first requested.
+    private volatile QueuePublisher<T> publisher;
+
     /// The default constructor.
     public AppliedQueue() {
         super();
 
-        this.queue = new ConcurrentLinkedQueue<>();
+        this.queue = new ClaimingQueue<>();
     }
 
     /// A constructor that takes
@@ -69,7 +88,388 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
     public AppliedQueue(final int numThreads) {
         super(numThreads);
 
-        this.queue = new ConcurrentLinkedQueue<>();
+        this.queue = new ClaimingQueue<>();
+    }
+
+    /// A constructor that takes the executor service
+    /// to use. The executor service is borrowed and is
+    /// left running when this queue is closed.
+    ///
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @since              1.5.0
+    public AppliedQueue(final ExecutorService executor) {
+        super(executor);
+
+        this.queue = new ClaimingQueue<>();
+    }
+
+    /// A constructor that takes the executor service
+    /// to use and whether this queue owns it. An owned
+    /// executor service is shut down on close.
+    ///
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    /// @since                  1.5.0
+    protected AppliedQueue(final ExecutorService executor, final boolean ownsExecutor) {
+        super(executor, ownsExecutor);
+
+        this.queue = new ClaimingQueue<>();
+    }
+
+    /// A constructor that takes the backing queue and
+    /// the number of threads to use. It lets subclasses
+    /// supply a queue with other capacity or blocking
+    /// behaviour than the default claiming queue.
+    ///
+    /// @param  queue       java.util.Queue<T>
+    /// @param  numThreads  int
+    /// @since              1.5.0
+    protected AppliedQueue(final Queue<T> queue, final int numThreads) {
+        super(numThreads);
+
+        this.queue = Objects.requireNonNull(queue, () -> "Queue<T> 'queue' is null");
+    }
+
+    /// A constructor that takes the backing queue, the
+    /// executor service to use and whether this queue
+    /// owns it. An owned executor service is shut down
+    /// on close.
+    ///
+    /// @param  queue           java.util.Queue<T>
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    /// @since                  1.5.0
+    protected AppliedQueue(final Queue<T> queue, final ExecutorService executor, final boolean ownsExecutor) {
+        super(executor, ownsExecutor);
+
+        this.queue = Objects.requireNonNull(queue, () -> "Queue<T> 'queue' is null");
+    }
+
+    /// Create an empty applied queue that borrows
+    /// the library-wide shared executor service.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedQueue<T>
+    /// @since      1.5.0
+    public static <T> AppliedQueue<T> withSharedExecutor() {
+        return new AppliedQueue<>(AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an empty applied queue whose consumers
+    /// each run on their own virtual thread. This suits
+    /// consumers that block on I/O. The executor service
+    /// is owned by, and shut down with, the queue.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedQueue<T>
+    /// @since      1.5.0
+    public static <T> AppliedQueue<T> withVirtualThreads() {
+        return new AppliedQueue<>(AppliedExecutors.newVirtualThreadExecutor(), true);
+    }
+
+    /// Create an empty applied queue over a pre-allocated
+    /// ring buffer with at least the capacity, rounded up to
+    /// a power of two, for the producer and consumer mode.
+    /// Offering and polling allocate nothing and take no
+    /// lock, and offering fails when the buffer is full.
+    /// The buffer does not support removing elements other
+    /// than the head, so removeAllAndApply, retainAllAndApply
+    /// and removeIfAndApply throw an
+    /// UnsupportedOperationException. With SPSC or MPSC only
+    /// one thread at a time may poll. A publisher from
+    /// asPublisher serializes its subscribers' polls and so
+    /// counts as that one thread.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  capacity    int
+    /// @param  mode        net.jmp.util.extra.RingBufferMode
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withRingBuffer(final int capacity, final RingBufferMode mode) {
+        return new AppliedQueue<>(RingBufferQueue.create(capacity, mode), Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an empty applied queue over a pre-allocated
+    /// ring buffer, as withRingBuffer(int, RingBufferMode)
+    /// does, that borrows the executor service.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  capacity    int
+    /// @param  mode        net.jmp.util.extra.RingBufferMode
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withRingBuffer(final int capacity,
+                                                     final RingBufferMode mode,
+                                                     final ExecutorService executor) {
+        return new AppliedQueue<>(RingBufferQueue.create(capacity, mode), executor, false);
+    }
+
+    /// Create an applied queue over a durable journal of
+    /// memory-mapped segment files in the directory, with
+    /// the default segment size of 64 MiB, the on roll
+    /// fsync policy and the at least once delivery
+    /// guarantee. Elements are encoded by the codec
+    /// directly into the mapped segments. A checkpoint is
+    /// kept in the directory, so a queue opened again over
+    /// it resumes with every element that was offered and
+    /// whose consumer had not finished with it. The
+    /// directory is locked while the queue is open, and
+    /// the journal is closed when the queue is closed.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  directory   java.nio.file.Path
+    /// @param  codec       net.jmp.util.extra.ElementCodec<T>
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @throws             java.io.IOException When the journal cannot be opened
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withJournal(final Path directory,
+                                                  final ElementCodec<T> codec) throws IOException {
+        return withJournal(directory, codec, JournalQueue.DEFAULT_SEGMENT_SIZE, FsyncPolicy.ON_ROLL);
+    }
+
+    /// Create an applied queue over a durable journal,
+    /// as withJournal(Path, ElementCodec) does, with
+    /// the segment size in bytes and the fsync policy.
+    /// An element whose encoding does not fit in a
+    /// segment is rejected with an
+    /// IllegalArgumentException.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  directory   java.nio.file.Path
+    /// @param  codec       net.jmp.util.extra.ElementCodec<T>
+    /// @param  segmentSize int
+    /// @param  fsyncPolicy net.jmp.util.extra.FsyncPolicy
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @throws             java.io.IOException When the journal cannot be opened
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withJournal(final Path directory,
+                                                  final ElementCodec<T> codec,
+                                                  final int segmentSize,
+                                                  final FsyncPolicy fsyncPolicy) throws IOException {
+        return withJournal(directory, codec, segmentSize, fsyncPolicy, DeliveryGuarantee.AT_LEAST_ONCE);
+    }
+
+    /// Create an applied queue over a durable journal, as
+    /// withJournal(Path, ElementCodec, int, FsyncPolicy)
+    /// does, with the delivery guarantee. At least once,
+    /// the checkpoint only moves past an element taken by
+    /// pollAndApply, removeAndApply, drainAndApply or
+    /// drainAllAndApply once this queue has finished with
+    /// it, so an element whose consumer was still running,
+    /// or waiting to be retried, when the process stopped
+    /// or the queue was closed is delivered again when the
+    /// journal is reopened. An element is finished with
+    /// once its consumer returns normally, and also once
+    /// its consumer fails for the last time, when it is
+    /// logged and dead-lettered if there is a retry policy,
+    /// or once backpressure drops it or its task is
+    /// rejected with an exception. It is not delivered
+    /// again then, so set a retry policy to keep the
+    /// elements whose consumers fail. At most 65,536
+    /// elements may be awaiting their consumers at a time,
+    /// beyond which taking another element waits for one
+    /// to be finished with. At most once, the checkpoint
+    /// moves past an element as soon as it is polled.
+    /// Elements removed in other ways are never delivered
+    /// again.
+    ///
+    /// @param  <T>                 The type of element
+    /// @param  directory           java.nio.file.Path
+    /// @param  codec               net.jmp.util.extra.ElementCodec<T>
+    /// @param  segmentSize         int
+    /// @param  fsyncPolicy         net.jmp.util.extra.FsyncPolicy
+    /// @param  deliveryGuarantee   net.jmp.util.extra.DeliveryGuarantee
+    /// @return                     net.jmp.util.extra.AppliedQueue<T>
+    /// @throws                     java.io.IOException When the journal cannot be opened
+    /// @since                      1.5.0
+    public static <T> AppliedQueue<T> withJournal(final Path directory,
+                                                  final ElementCodec<T> codec,
+                                                  final int segmentSize,
+                                                  final FsyncPolicy fsyncPolicy,
+                                                  final DeliveryGuarantee deliveryGuarantee) throws IOException {
+        return new AppliedQueue<>(new JournalQueue<>(directory, codec, segmentSize, fsyncPolicy, deliveryGuarantee),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an applied queue that keeps its elements off
+    /// the heap, in chunks of native memory of 1 MiB. Each
+    /// element is encoded by the codec when it is offered
+    /// and only decoded when it is polled and applied, so a
+    /// pending element costs its encoded size and a four
+    /// byte header. Chunks are freed once they have been
+    /// polled past, and the rest when the queue is closed.
+    /// Only the head can be removed, so removeAllAndApply,
+    /// retainAllAndApply and removeIfAndApply throw an
+    /// UnsupportedOperationException.
+    ///
+    /// @param  <T>     The type of element
+    /// @param  codec   net.jmp.util.extra.ElementCodec<T>
+    /// @return         net.jmp.util.extra.AppliedQueue<T>
+    /// @since          1.5.0
+    public static <T> AppliedQueue<T> withOffHeapStorage(final ElementCodec<T> codec) {
+        return withOffHeapStorage(codec, OffHeapQueue.DEFAULT_CHUNK_SIZE);
+    }
+
+    /// Create an applied queue that keeps its elements off
+    /// the heap, as withOffHeapStorage(ElementCodec) does,
+    /// in chunks of the size in bytes. An element larger
+    /// than a chunk is given a chunk of its own.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  codec       net.jmp.util.extra.ElementCodec<T>
+    /// @param  chunkSize   int
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withOffHeapStorage(final ElementCodec<T> codec, final int chunkSize) {
+        return new AppliedQueue<>(new OffHeapQueue<>(codec, chunkSize), Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an empty applied queue that holds up to the
+    /// number of elements in memory and spills the rest to
+    /// disk, in memory-mapped segment files of 16 MiB in a
+    /// new directory under the directory. Once the queue has
+    /// spilled, further elements are spilled too until every
+    /// spilled element has been polled, so the queue stays
+    /// first in, first out. Spilled elements are encoded by
+    /// the codec and decoded again, in sequence, as the head
+    /// drains. Each segment file is deleted once it has been
+    /// polled past, and the new directory when the queue is
+    /// closed. Only the head can be removed, so
+    /// removeAllAndApply, retainAllAndApply and
+    /// removeIfAndApply throw an
+    /// UnsupportedOperationException.
+    ///
+    /// @param  <T>                 The type of element
+    /// @param  directory           java.nio.file.Path
+    /// @param  codec               net.jmp.util.extra.ElementCodec<T>
+    /// @param  maxElementsInMemory int
+    /// @return                     net.jmp.util.extra.AppliedQueue<T>
+    /// @since                      1.5.0
+    public static <T> AppliedQueue<T> withSpillToDisk(final Path directory,
+                                                      final ElementCodec<T> codec,
+                                                      final int maxElementsInMemory) {
+        return withSpillToDisk(directory, codec, maxElementsInMemory, SpillingQueue.UNBOUNDED_BYTES);
+    }
+
+    /// Create an empty applied queue that spills to disk,
+    /// as withSpillToDisk(Path, ElementCodec, int) does,
+    /// once either the number of elements or the number
+    /// of encoded bytes in memory would be exceeded.
+    ///
+    /// @param  <T>                 The type of element
+    /// @param  directory           java.nio.file.Path
+    /// @param  codec               net.jmp.util.extra.ElementCodec<T>
+    /// @param  maxElementsInMemory int
+    /// @param  maxBytesInMemory    long
+    /// @return                     net.jmp.util.extra.AppliedQueue<T>
+    /// @since                      1.5.0
+    public static <T> AppliedQueue<T> withSpillToDisk(final Path directory,
+                                                      final ElementCodec<T> codec,
+                                                      final int maxElementsInMemory,
+                                                      final long maxBytesInMemory) {
+        return new AppliedQueue<>(new SpillingQueue<>(directory,
+                codec,
+                maxElementsInMemory,
+                maxBytesInMemory,
+                SpillingQueue.DEFAULT_SEGMENT_SIZE), Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an applied queue over a ring of slots in the
+    /// memory-mapped file, which is created if it does not
+    /// exist. Processes that open the same file, for example
+    /// under /dev/shm, share the queue, so a producer in one
+    /// process and pollAndApply consumers in another exchange
+    /// elements through memory without a socket. Elements are
+    /// encoded by the codec into their slots, each slot being
+    /// written by the one producer that claimed it, and no
+    /// lock is taken. Every process must pass the same capacity
+    /// and maximum element size. The queue is bounded, so offer
+    /// returns false and add throws an IllegalStateException
+    /// when it is full, and an element whose encoding is larger
+    /// than the maximum element size is rejected with an
+    /// IllegalArgumentException. Only the head can be removed,
+    /// so removeAllAndApply, retainAllAndApply and
+    /// removeIfAndApply throw an UnsupportedOperationException.
+    /// Elements offered by other processes do not signal this
+    /// process's subscribers. The file is unmapped but not
+    /// deleted when the queue is closed.
+    ///
+    /// @param  <T>             The type of element
+    /// @param  file            java.nio.file.Path
+    /// @param  codec           net.jmp.util.extra.ElementCodec<T>
+    /// @param  capacity        int
+    /// @param  maxElementSize  int
+    /// @return                 net.jmp.util.extra.AppliedQueue<T>
+    /// @throws                 java.io.IOException When the file cannot be mapped
+    /// @since                  1.5.0
+    public static <T> AppliedQueue<T> withSharedMemory(final Path file,
+                                                       final ElementCodec<T> codec,
+                                                       final int capacity,
+                                                       final int maxElementSize) throws IOException {
+        return new AppliedQueue<>(new SharedMemoryQueue<>(file, codec, capacity, maxElementSize),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an empty applied queue striped over the number
+    /// of shards, for many producer threads. A producer offers
+    /// to the shard selected by its thread, so producers on
+    /// different threads seldom contend, and consumers visit
+    /// the shards in the order of the drain mode. Each shard
+    /// is first in, first out, but there is no order across
+    /// shards. The size is the sum of the shards' sizes.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  numShards   int
+    /// @param  mode        net.jmp.util.extra.ShardDrainMode
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withShards(final int numShards, final ShardDrainMode mode) {
+        return new AppliedQueue<>(new ShardedQueue<>(numShards, mode), Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an empty applied queue striped over the number
+    /// of shards, as withShards(int, ShardDrainMode) does,
+    /// that borrows the executor service.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  numShards   int
+    /// @param  mode        net.jmp.util.extra.ShardDrainMode
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withShards(final int numShards,
+                                                 final ShardDrainMode mode,
+                                                 final ExecutorService executor) {
+        return new AppliedQueue<>(new ShardedQueue<>(numShards, mode), executor, false);
+    }
+
+    /// Create an empty applied queue that counts its
+    /// elements as they are offered, polled and removed,
+    /// so that size and approximateSize return in constant
+    /// time instead of walking the backing queue.
+    /// The count is striped, so threads updating it seldom
+    /// contend, and reading it takes no lock. It can lag
+    /// behind while elements are being offered and polled.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedQueue<T>
+    /// @since      1.5.0
+    public static <T> AppliedQueue<T> withCountedSize() {
+        return new AppliedQueue<>(new CountedQueue<>(new ClaimingQueue<>()),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Create an empty applied queue that counts its
+    /// elements, as withCountedSize() does, that borrows
+    /// the executor service.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @return             net.jmp.util.extra.AppliedQueue<T>
+    /// @since              1.5.0
+    public static <T> AppliedQueue<T> withCountedSize(final ExecutorService executor) {
+        return new AppliedQueue<>(new CountedQueue<>(new ClaimingQueue<>()), executor, false);
     }
 
     /// Close any resources.
@@ -79,13 +479,86 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entry());
         }
 
+        final QueuePublisher<T> current = this.publisher;
+
+        if (current != null) {
+            current.close();
+        }
+
         super.close();
 
+        if (this.queue instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (final IOException ioe) {
+                this.logger.error(catching(ioe));
+            }
+        }
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
     }
 
+    /// Return a publisher that pushes the elements of this
+    /// queue to its subscribers as they are offered, within
+    /// the demand that each subscriber requests. Each element
+    /// is polled by, and delivered to, exactly one subscriber,
+    /// so the subscribers share the work. Each subscriber is
+    /// driven by its own task on the executor service while
+    /// it has demand and elements are queued, so no thread
+    /// polls the queue while it is idle. Every subscriber is
+    /// completed when the queue is closed. The same publisher
+    /// is returned on every call. Over a ring buffer for a
+    /// single consumer the subscribers' polls are serialized,
+    /// so the publisher counts as that one consumer and the
+    /// queue must not be polled by other means meanwhile.
+    ///
+    /// @return java.util.concurrent.Flow.Publisher<T>
+    /// @since  1.5.0
+    public Flow.Publisher<T> asPublisher() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        QueuePublisher<T> result = this.publisher;
+
+        if (result == null) {
+            synchronized (this) {
+                result = this.publisher;
+
+                if (result == null) {
+                    result = new QueuePublisher<>(this.queue,
+                            super::tryRunTask,
+                            this.queue instanceof RingBufferQueue<T> ringBuffer && ringBuffer.isSingleConsumer());
+
+                    this.publisher = result;
+                }
+            }
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Wake up to the number of subscribers of the publisher
+    /// that have demand to deliver newly inserted elements.
+    /// Subclasses that insert elements other than through
+    /// this class call it after each insertion.
+    ///
+    /// @param  count   int
+    /// @since          1.5.0
+    protected void signalSubscribers(final int count) {
+        final QueuePublisher<T> current = this.publisher;
+
+        if (current != null) {
+            current.signal(count);
+        }
+    }
+
     /// Inserts the element into the queue if the
     /// applied predicate function evaluates to true.
     ///
@@ -104,6 +577,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
 
         if (matcher.test(t)) {
             result = function.apply(t);
+
+            this.signalSubscribers(1);
         }
 
         if (this.logger.isTraceEnabled()) {
@@ -136,6 +611,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             final T mappedValue = mapper.apply(t);
 
             result = function.apply(mappedValue);
+
+            this.signalSubscribers(1);
         }
 
         if (this.logger.isTraceEnabled()) {
@@ -161,7 +638,7 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         final T element = supplier.get();
 
         if (element != null) {
-            super.runTask(() -> consumer.accept(element));
+            super.applyTask(element, consumer);
         }
 
         if (this.logger.isTraceEnabled()) {
@@ -171,6 +648,133 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         return element;
     }
 
+    /// Remove up to the given number of elements from the head
+    /// of the queue, using drainTo when it is a blocking queue,
+    /// and submit them as one batch to the consumer.
+    ///
+    /// @param  maxElements int
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             int
+    private int drainBatch(final int maxElements, final Consumer<? super List<T>> consumer) {
+        final JournalQueue<T> journal = this.acknowledgingJournal();
+
+        if (journal != null) {
+            return this.drainBatchAcknowledged(journal, maxElements, consumer);
+        }
+
+        final List<T> batch = new ArrayList<>(Math.min(maxElements, INITIAL_BATCH_CAPACITY));
+
+        if (this.queue instanceof BlockingQueue<T> blockingQueue) {
+            blockingQueue.drainTo(batch, maxElements);
+        } else {
+            T element;
+
+            while (batch.size() < maxElements && (element = this.queue.poll()) != null) {
+                batch.add(element);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            super.applyBatch(batch, consumer);
+        }
+
+        return batch.size();
+    }
+
+    /// Return the journal backing this queue if its checkpoint
+    /// waits for consumers to acknowledge elements, or null.
+    ///
+    /// @return net.jmp.util.extra.JournalQueue<T>
+    private JournalQueue<T> acknowledgingJournal() {
+        return this.queue instanceof JournalQueue<T> journal && journal.isAtLeastOnce() ? journal : null;
+    }
+
+    /// Poll the head of the journal and apply the consumer
+    /// to it, acknowledging it once it is settled: once the
+    /// consumer returns normally, fails for the last time or
+    /// is dropped or rejected.
+    ///
+    /// @param  journal     net.jmp.util.extra.JournalQueue<T>
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @return             T
+    private T pollAndApplyAcknowledged(final JournalQueue<T> journal, final Consumer<? super T> consumer) {
+        final JournalQueue.Polled<T> polled = journal.pollUnacknowledged();
+
+        if (polled == null) {
+            return null;
+        }
+
+        super.applyTaskAndSettle(polled.element(), consumer, () -> journal.acknowledge(polled.sequence()));
+
+        return polled.element();
+    }
+
+    /// Poll up to the given number of elements from the head
+    /// of the journal and submit them as one batch to the
+    /// consumer, acknowledging them once the batch is settled.
+    ///
+    /// @param  journal     net.jmp.util.extra.JournalQueue<T>
+    /// @param  maxElements int
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             int
+    private int drainBatchAcknowledged(final JournalQueue<T> journal,
+                                       final int maxElements,
+                                       final Consumer<? super List<T>> consumer) {
+        final List<T> batch = new ArrayList<>(Math.min(maxElements, INITIAL_BATCH_CAPACITY));
+        long[] sequences = new long[Math.min(maxElements, INITIAL_BATCH_CAPACITY)];
+        JournalQueue.Polled<T> polled;
+
+        while (batch.size() < maxElements && (polled = journal.pollUnacknowledged()) != null) {
+            if (batch.size() == sequences.length) {
+                sequences = Arrays.copyOf(sequences, sequences.length * 2);
+            }
+
+            sequences[batch.size()] = polled.sequence();
+            batch.add(polled.element());
+        }
+
+        if (!batch.isEmpty()) {
+            final long[] acknowledgements = Arrays.copyOf(sequences, batch.size());
+
+            super.applyBatchAndSettle(batch, consumer, () -> {
+                for (final long sequence : acknowledgements) {
+                    journal.acknowledge(sequence);
+                }
+            });
+        }
+
+        return batch.size();
+    }
+
+    /// Remove the elements that satisfy the predicate and
+    /// return the ones that this call removed, in queue
+    /// order, so that an element polled by another thread
+    /// during the removal is not applied twice. A backing
+    /// queue that reports its removals, such as the default,
+    /// sharded, counted or priority queue, removes them in
+    /// one pass. Any other removes each match with
+    /// remove(Object), which scans again from the head.
+    ///
+    /// @param  matcher java.util.function.Predicate<? super T>
+    /// @return         java.util.List<T>
+    private List<T> removeMatching(final Predicate<? super T> matcher) {
+        Objects.requireNonNull(matcher, () -> "Predicate<? super T> 'matcher' is null");
+
+        final List<T> removed = new ArrayList<>();
+
+        if (this.queue instanceof ConfirmedRemoval<T> confirmedRemoval) {
+            confirmedRemoval.removeIf(matcher, removed::add);
+        } else {
+            for (final T element : this.queue) {
+                if (matcher.test(element) && this.queue.remove(element)) {
+                    removed.add(element);
+                }
+            }
+        }
+
+        return removed;
+    }
+
     /// Inserts the element into the queue after applying the mapper function.
     ///
     /// @param  t           T
@@ -187,6 +791,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         final T mappedValue = mapper.apply(t);
         final boolean result = function.apply(mappedValue);
 
+        this.signalSubscribers(1);
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exitWith(result));
         }
@@ -205,6 +811,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, matcher));
         }
 
+        super.recordOperation("addIf");
+
         final boolean result = this.addOrOfferIf(t, matcher, this.queue::add);
 
         if (this.logger.isTraceEnabled()) {
@@ -229,6 +837,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, mapper, matcher));
         }
 
+        super.recordOperation("applyAndAddIf");
+
         final boolean result = this.applyAndAddOrOfferIf(t, mapper, matcher, this.queue::add);
 
         if (this.logger.isTraceEnabled()) {
@@ -249,6 +859,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, matcher));
         }
 
+        super.recordOperation("offerIf");
+
         final boolean result = this.addOrOfferIf(t, matcher, this.queue::offer);
 
         if (this.logger.isTraceEnabled()) {
@@ -273,6 +885,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, mapper, matcher));
         }
 
+        super.recordOperation("applyAndOfferIf");
+
         final boolean result = this.applyAndAddOrOfferIf(t, mapper, matcher, this.queue::offer);
 
         if (this.logger.isTraceEnabled()) {
@@ -292,6 +906,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, mapper));
         }
 
+        super.recordOperation("applyAndOffer");
+
         final boolean result = this.applyAndAddOrOffer(t, mapper, this.queue::offer);
 
         if (this.logger.isTraceEnabled()) {
@@ -311,6 +927,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, mapper));
         }
 
+        super.recordOperation("applyAndAdd");
+
         final boolean result = this.applyAndAddOrOffer(t, mapper, this.queue::add);
 
         if (this.logger.isTraceEnabled()) {
@@ -332,8 +950,12 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(c, mapper));
         }
 
+        super.recordOperation("applyAndAddAll");
+
         final boolean result = super.applyAndAddAll(this.queue, c, mapper);
 
+        this.signalSubscribers(c.size());
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exitWith(result));
         }
@@ -351,6 +973,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(onElement, onEnd));
         }
 
+        super.recordOperation("clearAndApply");
+
         super.clearAndApply(this.queue, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -358,6 +982,30 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         }
     }
 
+    /// Apply the onElement to each element and then clear
+    /// the queue. The returned future completes when the
+    /// consumer has been applied to every element, or
+    /// exceptionally with the first exception it threw.
+    ///
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    public CompletableFuture<Void> clearAndApplyAsync(final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(onElement));
+        }
+
+        super.recordOperation("clearAndApplyAsync");
+
+        final CompletableFuture<Void> result = super.clearAndApplyAsync(this.queue, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Retrieves, but does not remove, the head of this queue. This method differs
     /// from peekAndApply only in that it throws an exception if this queue is empty.
     /// Apply the consumer to the retrieved element.
@@ -369,6 +1017,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(consumer));
         }
 
+        super.recordOperation("elementAndApply");
+
         if (this.queue.isEmpty()) {
             throw new NoSuchElementException();
         }
@@ -393,6 +1043,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(consumer));
         }
 
+        super.recordOperation("peekAndApply");
+
         final T element = this.peekOrPollOrRemoveAndApply(consumer, this.queue::peek);
 
         if (this.logger.isTraceEnabled()) {
@@ -412,7 +1064,12 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(consumer));
         }
 
-        final T element = this.peekOrPollOrRemoveAndApply(consumer, this.queue::poll);
+        super.recordOperation("pollAndApply");
+
+        final JournalQueue<T> journal = this.acknowledgingJournal();
+        final T element = journal != null
+                ? this.pollAndApplyAcknowledged(journal, consumer)
+                : this.peekOrPollOrRemoveAndApply(consumer, this.queue::poll);
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exitWith(element));
@@ -421,6 +1078,74 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         return element;
     }
 
+    /// Retrieves and removes up to the given number of elements
+    /// from the head of this queue in one pass. Apply the consumer
+    /// once to the batch of retrieved elements, if there are any.
+    /// The consumer is given its own list.
+    ///
+    /// @param  maxElements int
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             int
+    /// @since              1.5.0
+    public int drainAndApply(final int maxElements, final Consumer<? super List<T>> consumer) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(maxElements, consumer));
+        }
+
+        super.recordOperation("drainAndApply");
+
+        if (maxElements <= 0) {
+            throw new IllegalArgumentException("Maximum elements must be greater than 0");
+        }
+
+        Objects.requireNonNull(consumer, () -> "Consumer<? super List<T>> 'consumer' is null");
+
+        final int result = this.drainBatch(maxElements, consumer);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /// Retrieves and removes elements from the head of this queue
+    /// until it is found empty. Apply the consumer once to each
+    /// batch of up to the given size. Elements added while the
+    /// queue is drained may be included.
+    ///
+    /// @param  batchSize   int
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             int
+    /// @since              1.5.0
+    public int drainAllAndApply(final int batchSize, final Consumer<? super List<T>> consumer) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(batchSize, consumer));
+        }
+
+        super.recordOperation("drainAllAndApply");
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+
+        Objects.requireNonNull(consumer, () -> "Consumer<? super List<T>> 'consumer' is null");
+
+        int result = 0;
+        int drained;
+
+        do {
+            drained = this.drainBatch(batchSize, consumer);
+            result += drained;
+        } while (drained == batchSize);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Retrieves and removes the head of this queue, or throw an exception if this queue is empty.
     /// Apply the consumer to the retrieved element if it is not null.
     ///
@@ -431,11 +1156,24 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(consumer));
         }
 
+        super.recordOperation("removeAndApply");
+
         if (this.queue.isEmpty()) {
             throw new NoSuchElementException();
         }
 
-        final T element = this.peekOrPollOrRemoveAndApply(consumer, this.queue::remove);
+        final JournalQueue<T> journal = this.acknowledgingJournal();
+        final T element;
+
+        if (journal != null) {
+            element = this.pollAndApplyAcknowledged(journal, consumer);
+
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+        } else {
+            element = this.peekOrPollOrRemoveAndApply(consumer, this.queue::remove);
+        }
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exitWith(element));
@@ -460,6 +1198,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(c, onElement, onEnd));
         }
 
+        super.recordOperation("removeAllAndApply");
+
         final boolean result = super.removeAllAndApply(this.queue, c, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -469,6 +1209,34 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         return result;
     }
 
+    /// Removes all of this queue's elements that are also contained
+    /// in the specified collection. Apply the onElement consumer
+    /// to each removed element. The returned future completes
+    /// with true if the queue changed once the consumer has been
+    /// applied to every removed element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  c           java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    public CompletableFuture<Boolean> removeAllAndApplyAsync(final Collection<? extends T> c,
+                                                             final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(c, onElement));
+        }
+
+        super.recordOperation("removeAllAndApplyAsync");
+
+        final CompletableFuture<Boolean> result = super.removeAllAndApplyAsync(this.queue, c, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Removes the element into the queue if the
     /// applied predicate function evaluates to true.
     ///
@@ -480,6 +1248,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(t, filter));
         }
 
+        super.recordOperation("removeIf");
+
         final boolean result = super.removeIf(t, this.queue, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -489,7 +1259,10 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         return result;
     }
 
-    /// Removes all the elements of this collection that satisfy the given predicate.
+    /// Removes all the elements of this collection that satisfy the given
+    /// predicate. Apply the consumer to each element that this call removed.
+    /// The default, sharded, counted and priority queues are passed over
+    /// once. Other backing queues scan from the head for each match.
     ///
     /// @param  matcher     java.util.function.Predicate<? super T>
     /// @param  consumer    java.util.function.Consumer<? super T>
@@ -500,22 +1273,51 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(matcher, consumer));
         }
 
-        final WrappedObject<Boolean> result = WrappedObject.of(false);
+        super.recordOperation("removeIfAndApply");
 
-        if (!this.queue.isEmpty()) {
-            this.queue.forEach(e -> {
-                if (this.queue.removeIf(matcher)) {
-                    super.runTask(() -> consumer.accept(e));
-                    result.set(true);
-                }
-            });
+        final List<T> removed = this.removeMatching(matcher);
+
+        super.applyEach(removed, consumer);
+
+        final boolean result = !removed.isEmpty();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
         }
 
+        return result;
+    }
+
+    /// Removes all the elements of this collection that satisfy the given
+    /// predicate, as removeIfAndApply does. Apply the consumer once to the
+    /// batch of removed elements, if there are any. The consumer is given
+    /// its own list.
+    ///
+    /// @param  matcher     java.util.function.Predicate<? super T>
+    /// @param  consumer    java.util.function.Consumer<? super java.util.List<T>>
+    /// @return             boolean
+    /// @since              1.5.0
+    public boolean removeIfAndApplyBatch(final Predicate<? super T> matcher,
+                                         final Consumer<? super List<T>> consumer) {
         if (this.logger.isTraceEnabled()) {
-            this.logger.trace(exitWith(result.get()));
+            this.logger.trace(entryWith(matcher, consumer));
         }
 
-        return result.get();
+        super.recordOperation("removeIfAndApplyBatch");
+
+        final List<T> removed = this.removeMatching(matcher);
+
+        if (!removed.isEmpty()) {
+            super.applyBatch(removed, consumer);
+        }
+
+        final boolean result = !removed.isEmpty();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
     }
 
     /// Retains only the elements in this queue that are contained
@@ -537,6 +1339,8 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
             this.logger.trace(entryWith(c, onElement, onEnd));
         }
 
+        super.recordOperation("retainAllAndApply");
+
         final boolean result = super.retainAllAndApply(this.queue, c, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -546,6 +1350,34 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         return result;
     }
 
+    /// Retains only the elements in this queue that are contained
+    /// in the specified collection. Apply the onElement consumer
+    /// to each retained element. The returned future completes
+    /// with true if the queue changed once the consumer has been
+    /// applied to every retained element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  c           java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    public CompletableFuture<Boolean> retainAllAndApplyAsync(final Collection<? extends T> c,
+                                                             final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(c, onElement));
+        }
+
+        super.recordOperation("retainAllAndApplyAsync");
+
+        final CompletableFuture<Boolean> result = super.retainAllAndApplyAsync(this.queue, c, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /* Queue method overrides */
 
     /// Returns the number of elements in this queue.
@@ -556,6 +1388,22 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
         return this.queue.size();
     }
 
+    /// Returns an estimate of the number of elements in
+    /// this queue, which is not capped at Integer.MAX_VALUE.
+    /// A queue created by withCountedSize returns its count
+    /// in constant time and without a lock. Any other queue
+    /// returns its size, which may walk the whole queue.
+    ///
+    /// @return long
+    /// @since  1.5.0
+    public long approximateSize() {
+        if (this.queue instanceof CountedQueue<T> countedQueue) {
+            return countedQueue.count();
+        }
+
+        return this.queue.size();
+    }
+
     /// Returns true if this queue contains no elements.
     ///
     /// @return boolean
@@ -611,7 +1459,11 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
     /// @return     boolean
     @Override
     public boolean add(T t) {
-        return this.queue.add(t);
+        final boolean result = this.queue.add(t);
+
+        this.signalSubscribers(1);
+
+        return result;
     }
 
     /// Removes the first occurrence of the specified element from this queue,
@@ -641,7 +1493,11 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
     /// @return     boolean
     @Override
     public boolean addAll(Collection<? extends T> c) {
-        return this.queue.addAll(c);
+        final boolean result = this.queue.addAll(c);
+
+        this.signalSubscribers(c.size());
+
+        return result;
     }
 
     /// Removes from this queue all of its elements that are contained in
@@ -677,7 +1533,11 @@ public class AppliedQueue<T> extends AppliedBaseCollection<T> implements Queue<T
     /// @return     boolean
     @Override
     public boolean offer(T t) {
-        return this.queue.offer(t);
+        final boolean result = this.queue.offer(t);
+
+        this.signalSubscribers(1);
+
+        return result;
     }
 
     /// Retrieves and removes the head of this queue.
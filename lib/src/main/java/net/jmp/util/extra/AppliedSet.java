@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)AppliedSet.java   1.5.0   10/16/2026
  * (#)AppliedSet.java   1.2.0   09/29/2024
  *
  * MIT License
@@ -28,6 +29,9 @@ package net.jmp.util.extra;
 
 import java.util.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -40,7 +44,7 @@ import org.slf4j.LoggerFactory;
 /// An applied set.
 ///
 /// @param  <T> The type of element
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, AutoCloseable {
     /// The logger.
@@ -66,12 +70,38 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
         this.set = new HashSet<>();
     }
 
+    /// A constructor that takes the executor service
+    /// to use. The executor service is borrowed and is
+    /// left running when this set is closed.
+    ///
+    /// @param  executor    java.util.concurrent.ExecutorService
+    /// @since              1.5.0
+    public AppliedSet(final ExecutorService executor) {
+        super(executor);
+
+        this.set = new HashSet<>();
+    }
+
+    /// A constructor that takes the executor service
+    /// to use and whether this set owns it. An owned
+    /// executor service is shut down on close.
+    ///
+    /// @param  executor        java.util.concurrent.ExecutorService
+    /// @param  ownsExecutor    boolean
+    /// @since                  1.5.0
+    private AppliedSet(final ExecutorService executor, final boolean ownsExecutor) {
+        super(executor, ownsExecutor);
+
+        this.set = new HashSet<>();
+    }
+
     /// A constructor that takes a set
-    /// and creates an unmodifiable object.
+    /// and creates an unmodifiable object
+    /// that borrows the shared executor service.
     ///
     /// @param  set java.util.Set<? extends T>
     private AppliedSet(final Set<? extends T> set) {
-        super();
+        super(AppliedExecutors.sharedExecutor());
 
         this.set = Collections.unmodifiableSet(set);
     }
@@ -90,7 +120,7 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
     /// @param  t   T
     /// @return     net.jmp.demo.java22.util.AppliedSet<T>
     public static <T> AppliedSet<T> of(final T t) {
-        final AppliedSet<T> set = new AppliedSet<>();
+        final Set<T> set = new HashSet<>();
 
         set.add(Objects.requireNonNull(t));
 
@@ -104,7 +134,7 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
     /// @param  t2  T
     /// @return     net.jmp.demo.java22.util.AppliedSet<T>
     public static <T> AppliedSet<T> of(final T t1, final T t2) {
-        final AppliedSet<T> set = new AppliedSet<>();
+        final Set<T> set = new HashSet<>();
 
         set.add(Objects.requireNonNull(t1));
         set.add(Objects.requireNonNull(t2));
@@ -120,7 +150,7 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
     /// @param  t3  T
     /// @return     net.jmp.demo.java22.util.AppliedSet<T>
     public static <T> AppliedSet<T> of(final T t1, final T t2, final T t3) {
-        final AppliedSet<T> set = new AppliedSet<>();
+        final Set<T> set = new HashSet<>();
 
         set.add(Objects.requireNonNull(t1));
         set.add(Objects.requireNonNull(t2));
@@ -129,6 +159,28 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
         return new AppliedSet<>(set);
     }
 
+    /// Create an empty applied set that borrows
+    /// the library-wide shared executor service.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedSet<T>
+    /// @since      1.5.0
+    public static <T> AppliedSet<T> withSharedExecutor() {
+        return new AppliedSet<>(AppliedExecutors.sharedExecutor());
+    }
+
+    /// Create an empty applied set whose consumers
+    /// each run on their own virtual thread. This suits
+    /// consumers that block on I/O. The executor service
+    /// is owned by, and shut down with, the set.
+    ///
+    /// @param  <T> The type of element
+    /// @return     net.jmp.util.extra.AppliedSet<T>
+    /// @since      1.5.0
+    public static <T> AppliedSet<T> withVirtualThreads() {
+        return new AppliedSet<>(AppliedExecutors.newVirtualThreadExecutor(), true);
+    }
+
     /// Close any resources.
     @Override
     public void close() {
@@ -155,6 +207,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(t, filter));
         }
 
+        super.recordOperation("addIf");
+
         final boolean result = super.addIf(t, this.set, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -178,6 +232,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(t, mapper, filter));
         }
 
+        super.recordOperation("applyAndAddIf");
+
         final boolean result = super.applyAndAddIf(t, this.set, mapper, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -198,6 +254,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(t, mapper));
         }
 
+        super.recordOperation("applyAndAdd");
+
         final boolean result = super.applyAndAdd(t, this.set, mapper);
 
         if (this.logger.isTraceEnabled()) {
@@ -218,6 +276,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(c, mapper));
         }
 
+        super.recordOperation("applyAndAddAll");
+
         final boolean result = super.applyAndAddAll(this.set, c, mapper);
 
         if (this.logger.isTraceEnabled()) {
@@ -237,6 +297,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(onElement, onEnd));
         }
 
+        super.recordOperation("clearAndApply");
+
         super.clearAndApply(this.set, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -244,6 +306,30 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
         }
     }
 
+    /// Apply the onElement to each element and then clear
+    /// the set. The returned future completes when the
+    /// consumer has been applied to every element, or
+    /// exceptionally with the first exception it threw.
+    ///
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    public CompletableFuture<Void> clearAndApplyAsync(final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(onElement));
+        }
+
+        super.recordOperation("clearAndApplyAsync");
+
+        final CompletableFuture<Void> result = super.clearAndApplyAsync(this.set, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Consume all the elements in the set.
     ///
     /// @param  onElement   java.util.function.Consumer<? super T>
@@ -253,6 +339,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(onElement, onEnd));
         }
 
+        super.recordOperation("consume");
+
         super.consume(this.set, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -260,6 +348,30 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
         }
     }
 
+    /// Consume all the elements in the set. The returned
+    /// future completes when the consumer has been applied
+    /// to every element, or exceptionally with the first
+    /// exception it threw.
+    ///
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Void>
+    /// @since              1.5.0
+    public CompletableFuture<Void> consumeAsync(final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(onElement));
+        }
+
+        super.recordOperation("consumeAsync");
+
+        final CompletableFuture<Void> result = super.consumeAsync(this.set, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Removes the occurrence of this element from the set if one exists.
     /// Apply the consumer to the removed element if it is not null.
     ///
@@ -271,10 +383,12 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(object, consumer));
         }
 
+        super.recordOperation("removeAndApply");
+
         final boolean result = this.set.remove(object);
 
         if (object != null) {
-            super.runTask(() -> consumer.accept(object));
+            super.applyTask(object, consumer);
         }
 
         if (this.logger.isTraceEnabled()) {
@@ -300,6 +414,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(c, onElement, onEnd));
         }
 
+        super.recordOperation("removeAllAndApply");
+
         final boolean result = super.removeAllAndApply(this.set, c, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -309,6 +425,34 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
         return result;
     }
 
+    /// Removes all of this set's elements that are also contained
+    /// in the specified collection. Apply the onElement consumer
+    /// to each removed element. The returned future completes
+    /// with true if the set changed once the consumer has been
+    /// applied to every removed element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  c           java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    public CompletableFuture<Boolean> removeAllAndApplyAsync(final Collection<? extends T> c,
+                                                             final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(c, onElement));
+        }
+
+        super.recordOperation("removeAllAndApplyAsync");
+
+        final CompletableFuture<Boolean> result = super.removeAllAndApplyAsync(this.set, c, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /// Removes the element into the set if the
     /// applied predicate function evaluates to true.
     ///
@@ -320,6 +464,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(t, filter));
         }
 
+        super.recordOperation("removeIf");
+
         final boolean result = super.removeIf(t, this.set, filter);
 
         if (this.logger.isTraceEnabled()) {
@@ -344,13 +490,15 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(object, matcher, consumer));
         }
 
+        super.recordOperation("removeIfAndApply");
+
         boolean result = false;
 
         if (matcher.test(object)) {
             result = this.set.remove(object);
 
             if (object != null) {
-                super.runTask(() -> consumer.accept(object));
+                super.applyTask(object, consumer);
             }
         }
 
@@ -380,6 +528,8 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
             this.logger.trace(entryWith(c, onElement, onEnd));
         }
 
+        super.recordOperation("retainAllAndApply");
+
         final boolean result = super.retainAllAndApply(this.set, c, onElement, onEnd);
 
         if (this.logger.isTraceEnabled()) {
@@ -389,6 +539,34 @@ public class AppliedSet<T> extends AppliedBaseCollection<T> implements Set<T>, A
         return result;
     }
 
+    /// Retains only the elements in this set that are contained
+    /// in the specified collection. Apply the onElement consumer
+    /// to each retained element. The returned future completes
+    /// with true if the set changed once the consumer has been
+    /// applied to every retained element, or exceptionally with
+    /// the first exception it threw.
+    ///
+    /// @param  c           java.util.Collection<? extends T>
+    /// @param  onElement   java.util.function.Consumer<? super T>
+    /// @return             java.util.concurrent.CompletableFuture<java.lang.Boolean>
+    /// @since              1.5.0
+    public CompletableFuture<Boolean> retainAllAndApplyAsync(final Collection<? extends T> c,
+                                                             final Consumer<? super T> onElement) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(c, onElement));
+        }
+
+        super.recordOperation("retainAllAndApplyAsync");
+
+        final CompletableFuture<Boolean> result = super.retainAllAndApplyAsync(this.set, c, onElement);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
     /* Set method overrides */
 
     /// Returns the number of elements in this set.
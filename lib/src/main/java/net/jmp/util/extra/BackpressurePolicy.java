@@ -0,0 +1,49 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)BackpressurePolicy.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/// What an applied collection does with a consumer
+/// task when its limit of in-flight tasks is reached.
+/// Note that an element taken by a removing operation,
+/// such as pollAndApply, has already been removed from
+/// the collection when the policy is applied.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public enum BackpressurePolicy {
+    /// Block the caller until a task finishes.
+    BLOCK,
+
+    /// Run the consumer on the caller's thread.
+    CALLER_RUNS,
+
+    /// Drop the element, passing it to the drop handler.
+    DROP,
+
+    /// Throw a java.util.concurrent.RejectedExecutionException.
+    FAIL_FAST
+}
@@ -0,0 +1,93 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)CallCompletion.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.CompletableFuture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// Tracks the consumer tasks submitted by a single call to
+/// an asynchronous applied operation. The future completes
+/// once the call has been sealed and every task it submitted
+/// has finished, independently of tasks from other calls.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+final class CallCompletion {
+    /// The number of unfinished tasks plus one for the
+    /// submitting call until it is sealed.
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    /// The first exception thrown by a consumer, if any.
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /// The future completed when all tasks have finished.
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    /// The default constructor.
+    CallCompletion() {
+        super();
+    }
+
+    /// Count a task that is about to be submitted.
+    void begin() {
+        this.pending.incrementAndGet();
+    }
+
+    /// Record an exception thrown by a consumer. Only the
+    /// first is kept and used to complete the future.
+    ///
+    /// @param  throwable   java.lang.Throwable
+    void fail(final Throwable throwable) {
+        this.failure.compareAndSet(null, throwable);
+    }
+
+    /// Uncount a task that has finished.
+    void end() {
+        if (this.pending.decrementAndGet() == 0) {
+            final Throwable throwable = this.failure.get();
+
+            if (throwable == null) {
+                this.future.complete(null);
+            } else {
+                this.future.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    /// Mark the end of submission and return the future. It
+    /// completes on the thread that finishes the last task,
+    /// or on the caller if every task has already finished.
+    ///
+    /// @return java.util.concurrent.CompletableFuture<java.lang.Void>
+    CompletableFuture<Void> seal() {
+        this.end();
+
+        return this.future;
+    }
+}
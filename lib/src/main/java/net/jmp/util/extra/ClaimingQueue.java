@@ -0,0 +1,345 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ClaimingQueue.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/// An unbounded, lock-free queue whose elements are held in
+/// nodes of a concurrent linked queue, each with a claim flag.
+/// An element belongs to whichever thread claims its node first,
+/// whether that thread polls it from the head or removes it from
+/// the middle, so every removal knows whether it took the element.
+/// A node removed from the middle is unlinked through the iterator
+/// that found it, so removing the elements that satisfy a filter
+/// is a single pass rather than a scan from the head per element.
+///
+/// The size is computed by traversal and iteration is weakly
+/// consistent, in queue order.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class ClaimingQueue<T> extends AbstractQueue<T> implements ConfirmedRemoval<T> {
+    /// The nodes in queue order.
+    private final ConcurrentLinkedQueue<Node<T>> nodes = new ConcurrentLinkedQueue<>();
+
+    /// The default constructor.
+    ClaimingQueue() {
+        super();
+    }
+
+    /// Inserts the element at the tail.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        Objects.requireNonNull(t, () -> "T 't' is null");
+
+        return this.nodes.offer(new Node<>(t));
+    }
+
+    /// Retrieves and removes the head, or returns null if
+    /// empty. Nodes already claimed by a removal are skipped.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        Node<T> node;
+
+        while ((node = this.nodes.poll()) != null) {
+            if (node.claim()) {
+                return node.element;
+            }
+        }
+
+        return null;
+    }
+
+    /// Retrieves the head, or returns null if empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        for (final Node<T> node : this.nodes) {
+            if (!node.isClaimed()) {
+                return node.element;
+            }
+        }
+
+        return null;
+    }
+
+    /// Returns the number of elements in this queue.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        int size = 0;
+
+        for (final Node<T> node : this.nodes) {
+            if (!node.isClaimed() && ++size == Integer.MAX_VALUE) {
+                break;
+            }
+        }
+
+        return size;
+    }
+
+    /// Returns true if this queue contains no elements.
+    ///
+    /// @return boolean
+    @Override
+    public boolean isEmpty() {
+        return this.peek() == null;
+    }
+
+    /// Removes a single instance of the element if this
+    /// thread claims it before any other thread does.
+    ///
+    /// @param  o   java.lang.Object
+    /// @return     boolean
+    @Override
+    public boolean remove(final Object o) {
+        if (o == null) {
+            return false;
+        }
+
+        final Iterator<Node<T>> iterator = this.nodes.iterator();
+
+        while (iterator.hasNext()) {
+            final Node<T> node = iterator.next();
+
+            if (!node.isClaimed() && o.equals(node.element) && node.claim()) {
+                iterator.remove();
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /// Removes the elements that satisfy the filter.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        return this.removeIf(filter, element -> {});
+    }
+
+    /// Removes the elements that satisfy the filter in one
+    /// pass and gives each one that this thread claimed to
+    /// the action, in queue order.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @param  action  java.util.function.Consumer<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter, final Consumer<? super T> action) {
+        Objects.requireNonNull(filter, () -> "Predicate<? super T> 'filter' is null");
+        Objects.requireNonNull(action, () -> "Consumer<? super T> 'action' is null");
+
+        final Iterator<Node<T>> iterator = this.nodes.iterator();
+
+        boolean removed = false;
+
+        while (iterator.hasNext()) {
+            final Node<T> node = iterator.next();
+
+            if (!node.isClaimed() && filter.test(node.element) && node.claim()) {
+                iterator.remove();
+                action.accept(node.element);
+
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /// Returns a weakly consistent iterator over
+    /// the elements that supports removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        return this.iterator(element -> {});
+    }
+
+    /// Returns a weakly consistent iterator over the elements
+    /// whose removal gives each element that it claimed to
+    /// the action.
+    ///
+    /// @param  action  java.util.function.Consumer<? super T>
+    /// @return         java.util.Iterator<T>
+    Iterator<T> iterator(final Consumer<? super T> action) {
+        return new ClaimingIterator(Objects.requireNonNull(action, () -> "Consumer<? super T> 'action' is null"));
+    }
+
+    /// An iterator over the unclaimed nodes. Removal claims
+    /// the node of the last element returned and, unless
+    /// hasNext has looked further ahead since, unlinks it
+    /// through the iterator of the nodes.
+    private final class ClaimingIterator implements Iterator<T> {
+        /// The iterator of the nodes.
+        private final Iterator<Node<T>> iterator = ClaimingQueue.this.nodes.iterator();
+
+        /// The action given each removed element.
+        private final Consumer<? super T> action;
+
+        /// The last node returned by the iterator of the nodes.
+        private Node<T> current;
+
+        /// The next node to return, or null if not yet found.
+        private Node<T> next;
+
+        /// The node of the last element returned, or null.
+        private Node<T> last;
+
+        /// A constructor that takes the action.
+        ///
+        /// @param  action  java.util.function.Consumer<? super T>
+        private ClaimingIterator(final Consumer<? super T> action) {
+            super();
+
+            this.action = action;
+        }
+
+        /// Return true if an element remains.
+        ///
+        /// @return boolean
+        @Override
+        public boolean hasNext() {
+            while (this.next == null && this.iterator.hasNext()) {
+                this.current = this.iterator.next();
+
+                if (!this.current.isClaimed()) {
+                    this.next = this.current;
+                }
+            }
+
+            return this.next != null;
+        }
+
+        /// Return the next element.
+        ///
+        /// @return T
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            this.last = this.next;
+            this.next = null;
+
+            return this.last.element;
+        }
+
+        /// Remove the last element returned if this
+        /// thread claims it before any other thread does.
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException("No element to remove");
+            }
+
+            final Node<T> node = this.last;
+
+            this.last = null;
+
+            if (node.claim()) {
+                if (this.current == node) {
+                    this.iterator.remove();
+                } else {
+                    ClaimingQueue.this.nodes.remove(node);
+                }
+
+                this.action.accept(node.element);
+            }
+        }
+    }
+
+    /// An element and whether a thread has claimed it.
+    ///
+    /// @param  <T> The type of element
+    private static final class Node<T> {
+        /// The handle of the claimed flag.
+        private static final VarHandle CLAIMED;
+
+        static {
+            try {
+                CLAIMED = MethodHandles.lookup().findVarHandle(Node.class, "claimed", boolean.class);
+            } catch (final ReflectiveOperationException roe) {
+                throw new ExceptionInInitializerError(roe);
+            }
+        }
+
+        /// The element.
+        private final T element;
+
+        /// True once a thread has claimed the element.
+        private volatile boolean claimed;
+
+        /// A constructor that takes the element.
+        ///
+        /// @param  element T
+        private Node(final T element) {
+            super();
+
+            this.element = element;
+        }
+
+        /// Return true if a thread has claimed the element.
+        ///
+        /// @return boolean
+        private boolean isClaimed() {
+            return this.claimed;
+        }
+
+        /// Claim the element and return true if
+        /// no other thread had claimed it first.
+        ///
+        /// @return boolean
+        private boolean claim() {
+            return !this.claimed && CLAIMED.compareAndSet(this, false, true);
+        }
+    }
+}
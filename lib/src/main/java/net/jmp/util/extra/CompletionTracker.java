@@ -0,0 +1,99 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)CompletionTracker.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// A constant-memory tracker of in-flight tasks. Each
+/// submitted task is counted when it begins and uncounted
+/// when it ends, and waiters block until the count
+/// returns to zero. Unlike a list of futures nothing is
+/// retained per task, so memory does not grow with the
+/// number of tasks that have been run.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+final class CompletionTracker {
+    /// The number of tasks that have begun but not yet ended.
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /// The lock guarding the idle condition.
+    private final Lock lock = new ReentrantLock();
+
+    /// Signalled when the in-flight count returns to zero.
+    private final Condition idle = this.lock.newCondition();
+
+    /// The default constructor.
+    CompletionTracker() {
+        super();
+    }
+
+    /// Count a task that is about to be submitted.
+    void begin() {
+        this.inFlight.incrementAndGet();
+    }
+
+    /// Uncount a task that has finished, successfully
+    /// or otherwise, or that could not be submitted.
+    void end() {
+        if (this.inFlight.decrementAndGet() == 0) {
+            this.lock.lock();
+
+            try {
+                this.idle.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /// Return the number of in-flight tasks.
+    ///
+    /// @return long
+    long inFlight() {
+        return this.inFlight.get();
+    }
+
+    /// Wait until there are no in-flight tasks.
+    ///
+    /// @throws java.lang.InterruptedException  When interrupted while waiting
+    void await() throws InterruptedException {
+        this.lock.lock();
+
+        try {
+            while (this.inFlight.get() > 0) {
+                this.idle.await();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ConfirmedRemoval.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Queue;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/// A queue whose filtered removal reports each element that it
+/// actually removed. The filter of Collection.removeIf can accept
+/// an element that another thread then polls first, so it cannot
+/// tell which elements the removal took. Here the action is only
+/// given the elements that this removal won.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+interface ConfirmedRemoval<T> extends Queue<T> {
+    /// Remove the elements that satisfy the filter in one pass
+    /// and give each one that this call removed to the action,
+    /// in queue order. Return true if any element was removed.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @param  action  java.util.function.Consumer<? super T>
+    /// @return         boolean
+    boolean removeIf(Predicate<? super T> filter, Consumer<? super T> action);
+}
@@ -0,0 +1,214 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)CountedQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/// A queue that keeps a count of its elements beside a backing
+/// claiming queue, so that its size is read in constant time
+/// rather than by walking the backing queue. The count is a
+/// striped adder, so producers and consumers on different threads
+/// seldom contend when they update it, and reading it takes no
+/// lock.
+///
+/// The count is updated after the backing queue, so while
+/// elements are being offered and polled it can briefly lag
+/// behind. It is exact once the queue is quiescent. The backing
+/// queue reports each element that a removal claimed, so an
+/// element is only uncounted by the thread that took it, even
+/// when another thread polls it at the same time, and removeIf
+/// stays a single pass.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class CountedQueue<T> extends AbstractQueue<T> implements ConfirmedRemoval<T> {
+    /// The backing queue.
+    private final ClaimingQueue<T> queue;
+
+    /// The count of elements.
+    private final LongAdder count = new LongAdder();
+
+    /// A constructor that takes the backing queue,
+    /// which must be empty and used only through
+    /// this queue from then on.
+    ///
+    /// @param  queue   net.jmp.util.extra.ClaimingQueue<T>
+    CountedQueue(final ClaimingQueue<T> queue) {
+        super();
+
+        this.queue = Objects.requireNonNull(queue, () -> "ClaimingQueue<T> 'queue' is null");
+
+        if (!queue.isEmpty()) {
+            throw new IllegalArgumentException("Queue 'queue' must be empty");
+        }
+    }
+
+    /// Return the count of elements, which is
+    /// never less than zero. It is read in
+    /// constant time and without a lock.
+    ///
+    /// @return long
+    long count() {
+        return Math.max(0L, this.count.sum());
+    }
+
+    /// Inserts the element into the backing queue
+    /// and counts it if it was inserted.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        final boolean result = this.queue.offer(t);
+
+        if (result) {
+            this.count.increment();
+        }
+
+        return result;
+    }
+
+    /// Retrieves and removes the head of the backing
+    /// queue, or returns null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        final T element = this.queue.poll();
+
+        if (element != null) {
+            this.count.decrement();
+        }
+
+        return element;
+    }
+
+    /// Retrieves the head of the backing queue,
+    /// or returns null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        return this.queue.peek();
+    }
+
+    /// Returns the count of elements.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        return (int) Math.min(this.count(), Integer.MAX_VALUE);
+    }
+
+    /// Returns true if the backing queue is empty.
+    ///
+    /// @return boolean
+    @Override
+    public boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    /// Returns true if the backing queue contains the element.
+    ///
+    /// @param  o   java.lang.Object
+    /// @return     boolean
+    @Override
+    public boolean contains(final Object o) {
+        return this.queue.contains(o);
+    }
+
+    /// Removes a single instance of the element
+    /// from the backing queue if it is present.
+    ///
+    /// @param  o   java.lang.Object
+    /// @return     boolean
+    @Override
+    public boolean remove(final Object o) {
+        final boolean result = this.queue.remove(o);
+
+        if (result) {
+            this.count.decrement();
+        }
+
+        return result;
+    }
+
+    /// Removes the elements of the backing queue
+    /// that satisfy the filter, uncounting each
+    /// one that this thread claimed.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        return this.removeIf(filter, element -> {});
+    }
+
+    /// Removes the elements of the backing queue that
+    /// satisfy the filter in one pass, uncounting each
+    /// one that this thread claimed and giving it to
+    /// the action.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @param  action  java.util.function.Consumer<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter, final Consumer<? super T> action) {
+        Objects.requireNonNull(action, () -> "Consumer<? super T> 'action' is null");
+
+        return this.queue.removeIf(filter, element -> {
+            this.count.decrement();
+            action.accept(element);
+        });
+    }
+
+    /// Removes every element by polling the backing
+    /// queue, so that each removal is uncounted.
+    @Override
+    public void clear() {
+        while (this.poll() != null) {
+            // Poll until empty
+        }
+    }
+
+    /// Returns an iterator over the backing queue
+    /// that uncounts each element that it claims.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        return this.queue.iterator(element -> this.count.decrement());
+    }
+}
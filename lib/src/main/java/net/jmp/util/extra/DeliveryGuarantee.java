@@ -0,0 +1,46 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)DeliveryGuarantee.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/// When a journaled applied queue moves its durable checkpoint
+/// past an element, which decides whether an element can be
+/// lost or delivered twice if the process dies while its
+/// consumer is running.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public enum DeliveryGuarantee {
+    /// Move the checkpoint when the element is polled, so an
+    /// element whose consumer was running is not delivered
+    /// again after a restart.
+    AT_MOST_ONCE,
+
+    /// Move the checkpoint once the element's consumer has
+    /// returned normally, so an element whose consumer was
+    /// running, or threw, is delivered again after a restart.
+    AT_LEAST_ONCE
+}
@@ -0,0 +1,68 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ElementCodec.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.ByteBuffer;
+
+/// A codec that stores elements outside the heap's object graph,
+/// such as in a memory-mapped journal or in native memory.
+/// Elements are encoded straight into the target buffer, so
+/// the storage need not copy them through an intermediate
+/// array.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+public interface ElementCodec<T> {
+    /// Return the number of bytes that the element encodes to.
+    ///
+    /// @param  element T
+    /// @return         int
+    int size(T element);
+
+    /// Encode the element into the buffer from its position. The
+    /// buffer has exactly size(element) bytes remaining.
+    ///
+    /// @param  element T
+    /// @param  buffer  java.nio.ByteBuffer
+    void encode(T element, ByteBuffer buffer);
+
+    /// Decode an element from the remaining bytes of the buffer.
+    /// The buffer is only valid during the call, so the element
+    /// must not retain it.
+    ///
+    /// @param  buffer  java.nio.ByteBuffer
+    /// @return         T
+    T decode(ByteBuffer buffer);
+
+    /// Return a codec that encodes strings as UTF-8.
+    ///
+    /// @return net.jmp.util.extra.ElementCodec<java.lang.String>
+    static ElementCodec<String> utf8() {
+        return Utf8Codec.INSTANCE;
+    }
+}
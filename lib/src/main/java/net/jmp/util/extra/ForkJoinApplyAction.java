@@ -0,0 +1,96 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ForkJoinApplyAction.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Serial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import java.util.function.Consumer;
+
+/// A fork/join action that applies a consumer to the elements of
+/// a spliterator. It forks off split prefixes until the remainder
+/// is no larger than the threshold, applies the consumer to the
+/// remainder, and then joins the forked actions.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class ForkJoinApplyAction<T> extends RecursiveAction {
+    /// The serial version identifier.
+    @Serial
+    private static final long serialVersionUID = 2916078362435021487L;
+
+    /// The spliterator over the elements.
+    private final transient Spliterator<T> spliterator;
+
+    /// The consumer applied to each element.
+    private final transient Consumer<? super T> consumer;
+
+    /// The size at or below which elements are applied without splitting.
+    private final long threshold;
+
+    /// A constructor that takes the spliterator,
+    /// the consumer and the threshold.
+    ///
+    /// @param  spliterator java.util.Spliterator<T>
+    /// @param  consumer    java.util.function.Consumer<? super T>
+    /// @param  threshold   long
+    ForkJoinApplyAction(final Spliterator<T> spliterator,
+                        final Consumer<? super T> consumer,
+                        final long threshold) {
+        super();
+
+        this.spliterator = spliterator;
+        this.consumer = consumer;
+        this.threshold = threshold;
+    }
+
+    /// Split, apply and join.
+    @Override
+    protected void compute() {
+        final List<ForkJoinApplyAction<T>> forks = new ArrayList<>();
+
+        Spliterator<T> prefix;
+
+        while (this.spliterator.estimateSize() > this.threshold && (prefix = this.spliterator.trySplit()) != null) {
+            final ForkJoinApplyAction<T> fork = new ForkJoinApplyAction<>(prefix, this.consumer, this.threshold);
+
+            fork.fork();
+            forks.add(fork);
+        }
+
+        this.spliterator.forEachRemaining(this.consumer);
+
+        forks.forEach(ForkJoinTask::join);
+    }
+}
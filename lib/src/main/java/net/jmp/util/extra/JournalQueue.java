@@ -0,0 +1,837 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)JournalQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.stream.Stream;
+
+/// An unbounded queue whose elements are appended to a segmented,
+/// memory-mapped journal in a directory. Each record is encoded by
+/// the codec straight into the mapped segment and is decoded again
+/// when polled. The position from which to resume is kept in a
+/// memory-mapped checkpoint, together with the segment size so that
+/// the journal cannot be reopened with another, and a segment file
+/// is deleted once the checkpoint has moved past it. Reopening the
+/// directory resumes from the checkpoint. A lock on a file in the
+/// directory keeps a second journal from opening it at the same
+/// time.
+///
+/// Under the at most once delivery guarantee the checkpoint moves
+/// on every poll. Under the at least once guarantee it only moves
+/// past a record once the record is acknowledged, so a record that
+/// was polled but not acknowledged is delivered again on reopening.
+/// Plain polls are acknowledged at once; pollUnacknowledged leaves
+/// the acknowledgement to the caller. At most a fixed number of
+/// records may await acknowledgement at a time, so a caller that
+/// fails to acknowledge is stopped instead of holding back the
+/// checkpoint without limit; pollUnacknowledged waits for room.
+///
+/// A record is a header holding its length plus one, so that zero
+/// marks unwritten space, followed by the encoded element. A header
+/// of minus one marks the unused end of a segment. The header is
+/// written after the element, so a record torn by a crash reads as
+/// unwritten space.
+///
+/// Iteration is over a snapshot and does not support removal.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class JournalQueue<T> extends AbstractQueue<T> implements Closeable {
+    /// The default segment size.
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /// The default number of records that may await acknowledgement.
+    static final int DEFAULT_MAX_UNACKNOWLEDGED = 65_536;
+
+    /// The smallest segment size.
+    static final int MINIMUM_SEGMENT_SIZE = 64;
+
+    /// The size of a record header.
+    private static final int HEADER_SIZE = Integer.BYTES;
+
+    /// The header of unwritten space.
+    private static final int UNWRITTEN = 0;
+
+    /// The header that marks the unused end of a segment.
+    private static final int END_OF_SEGMENT = -1;
+
+    /// The magic number at the start of the checkpoint.
+    private static final int MAGIC = 0x4A524E4C;
+
+    /// The offset of the segment size in the checkpoint.
+    private static final int SEGMENT_SIZE_OFFSET = Integer.BYTES;
+
+    /// The offset of the position in the checkpoint.
+    private static final int POSITION_OFFSET = 2 * Integer.BYTES;
+
+    /// The size of the checkpoint.
+    private static final int CHECKPOINT_SIZE = POSITION_OFFSET + Long.BYTES;
+
+    /// The name of the checkpoint file.
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    /// The name of the lock file.
+    private static final String LOCK_FILE = "lock";
+
+    /// The suffix of a segment file.
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /// The directory.
+    private final Path directory;
+
+    /// The codec.
+    private final ElementCodec<T> codec;
+
+    /// The segment size.
+    private final int segmentSize;
+
+    /// The fsync policy.
+    private final FsyncPolicy fsyncPolicy;
+
+    /// The delivery guarantee.
+    private final DeliveryGuarantee deliveryGuarantee;
+
+    /// The number of records that may await acknowledgement.
+    private final int maxUnacknowledged;
+
+    /// The lock guarding the positions and buffers.
+    private final Lock lock = new ReentrantLock();
+
+    /// The condition signalled when a record is
+    /// acknowledged or the journal is closed.
+    private final Condition acknowledgement = this.lock.newCondition();
+
+    /// The lock on the directory.
+    private final FileLock directoryLock;
+
+    /// The checkpoint, holding the segment size and
+    /// the position from which to resume.
+    private final MappedByteBuffer checkpoint;
+
+    /// The start positions of the polled records
+    /// not yet acknowledged, in the order polled.
+    private final ArrayDeque<Long> unacknowledged = new ArrayDeque<>();
+
+    /// The sequences of the records acknowledged
+    /// before an earlier record was.
+    private final Set<Long> acknowledged = new HashSet<>();
+
+    /// The sequence of the first unacknowledged record.
+    private long firstUnacknowledged;
+
+    /// The index of the first segment not yet deleted.
+    private long retainedSegment;
+
+    /// The segment being read.
+    private MappedByteBuffer readBuffer;
+
+    /// The index of the segment being read.
+    private long readSegment;
+
+    /// The offset of the next record to read.
+    private int readOffset;
+
+    /// The segment being written.
+    private MappedByteBuffer writeBuffer;
+
+    /// The index of the segment being written.
+    private long writeSegment;
+
+    /// The offset of the next record to write.
+    private int writeOffset;
+
+    /// The number of records.
+    private int count;
+
+    /// True when closed.
+    private boolean closed;
+
+    /// A constructor that takes the directory, the
+    /// codec, the segment size and the fsync policy.
+    /// The journal delivers at most once.
+    ///
+    /// @param  directory   java.nio.file.Path
+    /// @param  codec       net.jmp.util.extra.ElementCodec<T>
+    /// @param  segmentSize int
+    /// @param  fsyncPolicy net.jmp.util.extra.FsyncPolicy
+    /// @throws             java.io.IOException When the journal cannot be opened
+    JournalQueue(final Path directory,
+                 final ElementCodec<T> codec,
+                 final int segmentSize,
+                 final FsyncPolicy fsyncPolicy) throws IOException {
+        this(directory, codec, segmentSize, fsyncPolicy, DeliveryGuarantee.AT_MOST_ONCE);
+    }
+
+    /// A constructor that takes the directory, the codec,
+    /// the segment size, the fsync policy and the delivery
+    /// guarantee. It locks the directory and opens the
+    /// journal in it, creating it if need be, and resumes
+    /// from its checkpoint. A journal that was created with
+    /// another segment size is rejected with an
+    /// IllegalArgumentException, and a directory that is
+    /// already open with an IllegalStateException.
+    ///
+    /// @param  directory           java.nio.file.Path
+    /// @param  codec               net.jmp.util.extra.ElementCodec<T>
+    /// @param  segmentSize         int
+    /// @param  fsyncPolicy         net.jmp.util.extra.FsyncPolicy
+    /// @param  deliveryGuarantee   net.jmp.util.extra.DeliveryGuarantee
+    /// @throws                     java.io.IOException When the journal cannot be opened
+    JournalQueue(final Path directory,
+                 final ElementCodec<T> codec,
+                 final int segmentSize,
+                 final FsyncPolicy fsyncPolicy,
+                 final DeliveryGuarantee deliveryGuarantee) throws IOException {
+        this(directory, codec, segmentSize, fsyncPolicy, deliveryGuarantee, DEFAULT_MAX_UNACKNOWLEDGED);
+    }
+
+    /// A constructor that takes the directory, the codec, the
+    /// segment size, the fsync policy, the delivery guarantee
+    /// and the number of records that may await acknowledgement
+    /// at a time under the at least once guarantee.
+    ///
+    /// @param  directory           java.nio.file.Path
+    /// @param  codec               net.jmp.util.extra.ElementCodec<T>
+    /// @param  segmentSize         int
+    /// @param  fsyncPolicy         net.jmp.util.extra.FsyncPolicy
+    /// @param  deliveryGuarantee   net.jmp.util.extra.DeliveryGuarantee
+    /// @param  maxUnacknowledged   int
+    /// @throws                     java.io.IOException When the journal cannot be opened
+    JournalQueue(final Path directory,
+                 final ElementCodec<T> codec,
+                 final int segmentSize,
+                 final FsyncPolicy fsyncPolicy,
+                 final DeliveryGuarantee deliveryGuarantee,
+                 final int maxUnacknowledged) throws IOException {
+        super();
+
+        if (maxUnacknowledged <= 0) {
+            throw new IllegalArgumentException("Maximum unacknowledged records must be greater than 0");
+        }
+
+        if (segmentSize < MINIMUM_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + MINIMUM_SEGMENT_SIZE);
+        }
+
+        this.directory = Objects.requireNonNull(directory, () -> "Path 'directory' is null");
+        this.codec = Objects.requireNonNull(codec, () -> "ElementCodec<T> 'codec' is null");
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = Objects.requireNonNull(fsyncPolicy, () -> "FsyncPolicy 'fsyncPolicy' is null");
+        this.deliveryGuarantee = Objects.requireNonNull(deliveryGuarantee,
+                () -> "DeliveryGuarantee 'deliveryGuarantee' is null");
+        this.maxUnacknowledged = maxUnacknowledged;
+
+        Files.createDirectories(directory);
+
+        this.directoryLock = lock(directory);
+
+        try {
+            this.checkpoint = map(directory.resolve(CHECKPOINT_FILE), CHECKPOINT_SIZE);
+            this.checkGeometry();
+
+            final long position = this.checkpoint.getLong(POSITION_OFFSET);
+
+            this.readSegment = position / segmentSize;
+            this.readOffset = (int) (position % segmentSize);
+            this.readBuffer = this.mapSegment(this.readSegment);
+            this.retainedSegment = this.readSegment;
+
+            this.deleteSegmentsBefore(this.readSegment);
+            this.recover();
+        } catch (final IOException | RuntimeException e) {
+            this.directoryLock.channel().close();
+
+            throw e;
+        }
+    }
+
+    /// Write the segment size to a new checkpoint, or
+    /// check that an existing one has the same size.
+    private void checkGeometry() {
+        final int magic = this.checkpoint.getInt(0);
+
+        if (magic == 0) {
+            this.checkpoint.putInt(SEGMENT_SIZE_OFFSET, this.segmentSize);
+            this.checkpoint.putInt(0, MAGIC);
+        } else if (magic != MAGIC) {
+            throw new IllegalArgumentException("Directory " + this.directory + " does not hold a journal checkpoint");
+        } else {
+            final int size = this.checkpoint.getInt(SEGMENT_SIZE_OFFSET);
+
+            if (size != this.segmentSize) {
+                throw new IllegalArgumentException("Journal in " + this.directory + " was created with segment size " + size);
+            }
+        }
+    }
+
+    /// Find the end of the journal by scanning
+    /// the records from the checkpoint.
+    ///
+    /// @throws java.io.IOException When a segment cannot be mapped
+    private void recover() throws IOException {
+        long segment = this.readSegment;
+        MappedByteBuffer buffer = this.readBuffer;
+        int offset = this.readOffset;
+        int records = 0;
+
+        while (true) {
+            if (this.atEndOfSegment(buffer, offset)) {
+                segment++;
+                buffer = this.mapSegment(segment);
+                offset = 0;
+            } else {
+                final int header = buffer.getInt(offset);
+
+                if (header == UNWRITTEN) {
+                    break;
+                }
+
+                offset += HEADER_SIZE + header - 1;
+                records++;
+            }
+        }
+
+        this.writeSegment = segment;
+        this.writeBuffer = buffer;
+        this.writeOffset = offset;
+        this.count = records;
+    }
+
+    /// Append the element to the journal.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        Objects.requireNonNull(t, () -> "T 't' is null");
+
+        final int size = this.codec.size(t);
+
+        if (size < 0 || size > this.segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Encoded size " + size + " does not fit a segment");
+        }
+
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            if (this.writeOffset + HEADER_SIZE + size > this.segmentSize) {
+                this.rollWriteSegment();
+            }
+
+            final ByteBuffer record = this.writeBuffer.slice(this.writeOffset + HEADER_SIZE, size);
+
+            this.codec.encode(t, record);
+            this.writeBuffer.putInt(this.writeOffset, size + 1);
+
+            if (this.fsyncPolicy == FsyncPolicy.ALWAYS) {
+                this.writeBuffer.force(this.writeOffset, HEADER_SIZE + size);
+            }
+
+            this.writeOffset += HEADER_SIZE + size;
+            this.count++;
+        } finally {
+            this.lock.unlock();
+        }
+
+        return true;
+    }
+
+    /// Retrieves and removes the head of the journal,
+    /// or returns null if it is empty. It needs no
+    /// acknowledgement, so the checkpoint can move
+    /// past it at once.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        final Polled<T> polled = this.pollRecord(false);
+
+        return polled != null ? polled.element() : null;
+    }
+
+    /// Retrieves and removes the head of the journal, or
+    /// returns null if it is empty. Under the at least once
+    /// guarantee the checkpoint does not move past it until
+    /// its sequence is acknowledged, and while the maximum
+    /// number of records await acknowledgement it waits for
+    /// one of them to be acknowledged first. Interrupting the
+    /// wait throws an IllegalStateException.
+    ///
+    /// @return net.jmp.util.extra.JournalQueue.Polled<T>
+    Polled<T> pollUnacknowledged() {
+        return this.pollRecord(this.deliveryGuarantee == DeliveryGuarantee.AT_LEAST_ONCE);
+    }
+
+    /// Acknowledge the record polled with the sequence, so that
+    /// the checkpoint can move past it once every record polled
+    /// before it has been acknowledged too. An acknowledgement
+    /// after the journal is closed is ignored, and the record is
+    /// delivered again when the journal is reopened.
+    ///
+    /// @param  sequence    long
+    void acknowledge(final long sequence) {
+        this.lock.lock();
+
+        try {
+            if (this.closed
+                    || sequence < this.firstUnacknowledged
+                    || sequence >= this.firstUnacknowledged + this.unacknowledged.size()) {
+                return;
+            }
+
+            this.acknowledged.add(sequence);
+
+            if (sequence == this.firstUnacknowledged) {
+                while (this.acknowledged.remove(this.firstUnacknowledged)) {
+                    this.unacknowledged.removeFirst();
+                    this.firstUnacknowledged++;
+                }
+
+                this.writeCheckpoint();
+                this.acknowledgement.signalAll();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Return the number of records polled
+    /// but not yet acknowledged.
+    ///
+    /// @return int
+    int unacknowledgedCount() {
+        this.lock.lock();
+
+        try {
+            return this.unacknowledged.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Return true if polled records must be acknowledged
+    /// before the checkpoint moves past them.
+    ///
+    /// @return boolean
+    boolean isAtLeastOnce() {
+        return this.deliveryGuarantee == DeliveryGuarantee.AT_LEAST_ONCE;
+    }
+
+    /// Retrieve and remove the head of the journal, or return
+    /// null if it is empty. A tracked record holds back the
+    /// checkpoint until it is acknowledged, and is not polled
+    /// until there is room for it among the records awaiting
+    /// acknowledgement.
+    ///
+    /// @param  tracked boolean
+    /// @return         net.jmp.util.extra.JournalQueue.Polled<T>
+    private Polled<T> pollRecord(final boolean tracked) {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            while (tracked && this.count > 0 && this.unacknowledged.size() >= this.maxUnacknowledged) {
+                try {
+                    this.acknowledgement.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+
+                    throw new IllegalStateException("Interrupted while waiting for an acknowledgement", ie);
+                }
+
+                this.ensureOpen();
+            }
+
+            if (this.count == 0) {
+                return null;
+            }
+
+            this.skipToRecord();
+
+            final long start = this.position();
+            final int size = this.readBuffer.getInt(this.readOffset) - 1;
+            final T element = this.codec.decode(this.readBuffer.slice(this.readOffset + HEADER_SIZE, size)
+                    .asReadOnlyBuffer());
+
+            long sequence = -1;
+
+            if (tracked) {
+                sequence = this.firstUnacknowledged + this.unacknowledged.size();
+
+                this.unacknowledged.addLast(start);
+            }
+
+            this.readOffset += HEADER_SIZE + size;
+            this.count--;
+            this.writeCheckpoint();
+
+            return new Polled<>(element, sequence);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Retrieves the head of the journal,
+    /// or returns null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            if (this.count == 0) {
+                return null;
+            }
+
+            this.skipToRecord();
+
+            final int size = this.readBuffer.getInt(this.readOffset) - 1;
+
+            return this.codec.decode(this.readBuffer.slice(this.readOffset + HEADER_SIZE, size).asReadOnlyBuffer());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Returns the number of elements in the journal.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        this.lock.lock();
+
+        try {
+            return this.count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Removes every element by moving the read position to
+    /// the end of the journal, without decoding the elements.
+    /// Records polled but not yet acknowledged still hold
+    /// back the checkpoint.
+    @Override
+    public void clear() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            this.readSegment = this.writeSegment;
+            this.readBuffer = this.writeBuffer;
+            this.readOffset = this.writeOffset;
+            this.count = 0;
+            this.writeCheckpoint();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Returns an iterator over a snapshot of the elements
+    /// in the journal. The iterator does not support removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        final List<T> snapshot = new ArrayList<>();
+
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            long segment = this.readSegment;
+            MappedByteBuffer buffer = this.readBuffer;
+            int offset = this.readOffset;
+
+            for (int i = 0; i < this.count; i++) {
+                while (this.atEndOfSegment(buffer, offset)) {
+                    segment++;
+                    buffer = segment == this.writeSegment ? this.writeBuffer : this.mapSegment(segment);
+                    offset = 0;
+                }
+
+                final int size = buffer.getInt(offset) - 1;
+
+                snapshot.add(this.codec.decode(buffer.slice(offset + HEADER_SIZE, size).asReadOnlyBuffer()));
+
+                offset += HEADER_SIZE + size;
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            this.lock.unlock();
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /// Close the journal, forcing it to the storage device
+    /// unless the fsync policy is never, and unlock the
+    /// directory. The mapped segments are released when
+    /// collected.
+    ///
+    /// @throws java.io.IOException When the directory cannot be unlocked
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+
+        try {
+            if (!this.closed) {
+                this.closed = true;
+                this.acknowledgement.signalAll();
+
+                try {
+                    if (this.fsyncPolicy != FsyncPolicy.NEVER) {
+                        this.writeBuffer.force();
+                        this.checkpoint.force();
+                    }
+                } finally {
+                    this.directoryLock.channel().close();
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Move the read position to the next record,
+    /// past the end of the current segment if need be.
+    private void skipToRecord() {
+        while (this.atEndOfSegment(this.readBuffer, this.readOffset)) {
+            this.readSegment++;
+            this.readOffset = 0;
+
+            try {
+                this.readBuffer = this.readSegment == this.writeSegment
+                        ? this.writeBuffer
+                        : this.mapSegment(this.readSegment);
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+
+            this.writeCheckpoint();
+        }
+    }
+
+    /// Mark the end of the segment being written
+    /// and start writing the next one.
+    private void rollWriteSegment() {
+        if (this.writeOffset + HEADER_SIZE <= this.segmentSize) {
+            this.writeBuffer.putInt(this.writeOffset, END_OF_SEGMENT);
+        }
+
+        if (this.fsyncPolicy != FsyncPolicy.NEVER) {
+            this.writeBuffer.force();
+        }
+
+        try {
+            this.writeBuffer = this.mapSegment(this.writeSegment + 1);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        this.writeSegment++;
+        this.writeOffset = 0;
+    }
+
+    /// Return true if there are no more records
+    /// in the segment at the offset.
+    ///
+    /// @param  buffer  java.nio.MappedByteBuffer
+    /// @param  offset  int
+    /// @return         boolean
+    private boolean atEndOfSegment(final MappedByteBuffer buffer, final int offset) {
+        return offset + HEADER_SIZE > this.segmentSize || buffer.getInt(offset) == END_OF_SEGMENT;
+    }
+
+    /// Record in the checkpoint the start of the first record
+    /// not yet acknowledged, or else the read position, and
+    /// delete each segment that it has moved past.
+    private void writeCheckpoint() {
+        final Long first = this.unacknowledged.peekFirst();
+        final long position = first != null ? first : this.position();
+
+        this.checkpoint.putLong(POSITION_OFFSET, position);
+
+        if (this.fsyncPolicy == FsyncPolicy.ALWAYS) {
+            this.checkpoint.force();
+        }
+
+        final long segment = position / this.segmentSize;
+
+        try {
+            while (this.retainedSegment < segment) {
+                Files.deleteIfExists(this.segmentPath(this.retainedSegment));
+
+                this.retainedSegment++;
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /// Return the read position.
+    ///
+    /// @return long
+    private long position() {
+        return this.readSegment * this.segmentSize + this.readOffset;
+    }
+
+    /// Throw an exception if the journal is closed.
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    /// Delete the segment files before the given segment.
+    ///
+    /// @param  segment long
+    /// @throws         java.io.IOException When a file cannot be deleted
+    private void deleteSegmentsBefore(final long segment) throws IOException {
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            for (final Path file : files.toList()) {
+                final String name = file.getFileName().toString();
+
+                if (name.endsWith(SEGMENT_SUFFIX)
+                        && Long.parseLong(name, 0, name.length() - SEGMENT_SUFFIX.length(), 10) < segment) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /// Return the path of the segment file.
+    ///
+    /// @param  segment long
+    /// @return         java.nio.file.Path
+    private Path segmentPath(final long segment) {
+        return this.directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    /// Map the segment file, creating it if need be.
+    ///
+    /// @param  segment long
+    /// @return         java.nio.MappedByteBuffer
+    /// @throws         java.io.IOException When the file cannot be mapped
+    private MappedByteBuffer mapSegment(final long segment) throws IOException {
+        return map(this.segmentPath(segment), this.segmentSize);
+    }
+
+    /// Lock the directory, so that no other journal
+    /// opens it, in this process or another.
+    ///
+    /// @param  directory   java.nio.file.Path
+    /// @return             java.nio.channels.FileLock
+    /// @throws             java.io.IOException When the lock file cannot be opened
+    private static FileLock lock(final Path directory) throws IOException {
+        final FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+
+        FileLock fileLock = null;
+
+        try {
+            fileLock = channel.tryLock();
+        } catch (final OverlappingFileLockException _) {
+            // Held by another journal in this process
+        } finally {
+            if (fileLock == null) {
+                channel.close();
+            }
+        }
+
+        if (fileLock == null) {
+            throw new IllegalStateException("Journal in " + directory + " is already open");
+        }
+
+        return fileLock;
+    }
+
+    /// Map the file for reading and writing,
+    /// creating and extending it if need be.
+    ///
+    /// @param  file    java.nio.file.Path
+    /// @param  size    int
+    /// @return         java.nio.MappedByteBuffer
+    /// @throws         java.io.IOException When the file cannot be mapped
+    private static MappedByteBuffer map(final Path file, final int size) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /// An element polled from the journal and the sequence
+    /// with which to acknowledge it, or minus one if it needs
+    /// no acknowledgement.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  element     T
+    /// @param  sequence    long
+    record Polled<T>(T element, long sequence) {
+    }
+}
@@ -0,0 +1,111 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)Lease.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/// A lease on an element retrieved from an applied lease
+/// queue. The element stays out of the queue while the lease
+/// is held. Acknowledging the lease settles the element for
+/// good. Releasing it, or letting its visibility timeout
+/// expire, returns the element to the queue to be retrieved
+/// again. Only the first of these takes effect.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+public final class Lease<T> {
+    /// The element.
+    private final T element;
+
+    /// The queue that granted the lease.
+    private final AppliedLeaseQueue<T> queue;
+
+    /// True once acknowledged, released or expired.
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    /// A constructor that takes the element
+    /// and the queue that granted the lease.
+    ///
+    /// @param  element T
+    /// @param  queue   net.jmp.util.extra.AppliedLeaseQueue<T>
+    Lease(final T element, final AppliedLeaseQueue<T> queue) {
+        super();
+
+        this.element = Objects.requireNonNull(element, () -> "T 'element' is null");
+        this.queue = Objects.requireNonNull(queue, () -> "AppliedLeaseQueue<T> 'queue' is null");
+    }
+
+    /// Return the leased element.
+    ///
+    /// @return T
+    public T element() {
+        return this.element;
+    }
+
+    /// Acknowledge that the element has been processed, so
+    /// that it never reappears in the queue. Returns false if
+    /// the lease had already been acknowledged, released or
+    /// expired, in which case the element may be retrieved
+    /// again, or already has been.
+    ///
+    /// @return boolean
+    public boolean acknowledge() {
+        if (this.settled.compareAndSet(false, true)) {
+            this.queue.settle();
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /// Return the element to the queue before the visibility
+    /// timeout expires. Returns false if the lease had already
+    /// been acknowledged, released or expired.
+    ///
+    /// @return boolean
+    public boolean release() {
+        if (this.settled.compareAndSet(false, true)) {
+            this.queue.requeue(this.element);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /// Return true while the lease has been
+    /// neither settled nor returned to the queue.
+    ///
+    /// @return boolean
+    public boolean isHeld() {
+        return !this.settled.get();
+    }
+}
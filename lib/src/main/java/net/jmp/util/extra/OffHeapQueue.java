@@ -0,0 +1,380 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)OffHeapQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Closeable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// An unbounded queue that keeps its elements outside the heap.
+/// Each offered element is encoded by the codec into a chunk of
+/// native memory and is only decoded when it is polled, peeked
+/// or iterated, so a pending element costs its encoded size plus
+/// a four byte header rather than a node and an object graph.
+/// Chunks are allocated as the queue grows and freed as soon as
+/// they have been polled past, except for one that is kept for
+/// reuse. The queue must be closed to free its memory.
+///
+/// Iteration is over a snapshot and does not support removal.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class OffHeapQueue<T> extends AbstractQueue<T> implements Closeable {
+    /// The default chunk size.
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /// The smallest chunk size.
+    static final int MINIMUM_CHUNK_SIZE = 64;
+
+    /// The size of a record header.
+    private static final int HEADER_SIZE = Integer.BYTES;
+
+    /// The codec.
+    private final ElementCodec<T> codec;
+
+    /// The chunk size.
+    private final int chunkSize;
+
+    /// The lock guarding the chunks.
+    private final Lock lock = new ReentrantLock();
+
+    /// The chunks, from the one being read to the one being written.
+    private final Deque<Chunk> chunks = new ArrayDeque<>();
+
+    /// An empty chunk kept for reuse.
+    private Chunk spare;
+
+    /// The number of elements.
+    private int count;
+
+    /// True when closed.
+    private boolean closed;
+
+    /// A constructor that takes the codec and the chunk size.
+    ///
+    /// @param  codec       net.jmp.util.extra.ElementCodec<T>
+    /// @param  chunkSize   int
+    OffHeapQueue(final ElementCodec<T> codec, final int chunkSize) {
+        super();
+
+        if (chunkSize < MINIMUM_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be at least " + MINIMUM_CHUNK_SIZE);
+        }
+
+        this.codec = Objects.requireNonNull(codec, () -> "ElementCodec<T> 'codec' is null");
+        this.chunkSize = chunkSize;
+    }
+
+    /// Encode the element into the last chunk, or into a new
+    /// one if it does not fit. An element larger than the chunk
+    /// size is given a chunk of its own.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        Objects.requireNonNull(t, () -> "T 't' is null");
+
+        final int size = this.codec.size(t);
+
+        if (size < 0 || size > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Encoded size " + size + " is out of range");
+        }
+
+        final int recordSize = HEADER_SIZE + size;
+
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            Chunk chunk = this.chunks.peekLast();
+
+            if (chunk == null || chunk.remaining() < recordSize) {
+                chunk = this.newChunk(recordSize);
+
+                this.chunks.addLast(chunk);
+            }
+
+            final int offset = chunk.writeOffset;
+
+            chunk.segment.set(ValueLayout.JAVA_INT_UNALIGNED, offset, size);
+
+            this.codec.encode(t, chunk.segment.asSlice(offset + HEADER_SIZE, size).asByteBuffer());
+
+            chunk.writeOffset += recordSize;
+            this.count++;
+        } finally {
+            this.lock.unlock();
+        }
+
+        return true;
+    }
+
+    /// Retrieves, removes and decodes the head of
+    /// the queue, or returns null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            if (this.count == 0) {
+                return null;
+            }
+
+            final Chunk chunk = this.chunks.getFirst();
+            final int offset = chunk.readOffset;
+            final int size = chunk.segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+            final T element = this.decode(chunk, offset, size);
+
+            chunk.readOffset += HEADER_SIZE + size;
+            this.count--;
+
+            if (chunk.readOffset == chunk.writeOffset) {
+                this.retire(this.chunks.removeFirst());
+            }
+
+            return element;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Retrieves and decodes the head of the
+    /// queue, or returns null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            if (this.count == 0) {
+                return null;
+            }
+
+            final Chunk chunk = this.chunks.getFirst();
+            final int offset = chunk.readOffset;
+
+            return this.decode(chunk, offset, chunk.segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Returns the number of elements in the queue.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        this.lock.lock();
+
+        try {
+            return this.count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Removes every element without decoding them.
+    @Override
+    public void clear() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            while (!this.chunks.isEmpty()) {
+                this.retire(this.chunks.removeFirst());
+            }
+
+            this.count = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Returns an iterator over a snapshot of the decoded
+    /// elements. The iterator does not support removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        final List<T> snapshot = new ArrayList<>();
+
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            for (final Chunk chunk : this.chunks) {
+                int offset = chunk.readOffset;
+
+                while (offset < chunk.writeOffset) {
+                    final int size = chunk.segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+
+                    snapshot.add(this.decode(chunk, offset, size));
+
+                    offset += HEADER_SIZE + size;
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /// Close the queue and free its memory.
+    /// Any elements still queued are lost.
+    @Override
+    public void close() {
+        this.lock.lock();
+
+        try {
+            if (!this.closed) {
+                this.closed = true;
+
+                for (final Chunk chunk : this.chunks) {
+                    chunk.arena.close();
+                }
+
+                this.chunks.clear();
+
+                if (this.spare != null) {
+                    this.spare.arena.close();
+                    this.spare = null;
+                }
+
+                this.count = 0;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Decode the record in the chunk at the offset.
+    ///
+    /// @param  chunk   net.jmp.util.extra.OffHeapQueue.Chunk
+    /// @param  offset  int
+    /// @param  size    int
+    /// @return         T
+    private T decode(final Chunk chunk, final int offset, final int size) {
+        return this.codec.decode(chunk.segment.asSlice(offset + HEADER_SIZE, size).asByteBuffer().asReadOnlyBuffer());
+    }
+
+    /// Return an empty chunk that can hold the record,
+    /// reusing the spare chunk if it is large enough.
+    ///
+    /// @param  recordSize  int
+    /// @return             net.jmp.util.extra.OffHeapQueue.Chunk
+    private Chunk newChunk(final int recordSize) {
+        if (this.spare != null && this.spare.segment.byteSize() >= recordSize) {
+            final Chunk chunk = this.spare;
+
+            this.spare = null;
+
+            return chunk;
+        }
+
+        return new Chunk(Math.max(this.chunkSize, recordSize));
+    }
+
+    /// Keep a chunk that has been read to its end as the
+    /// spare if it is of the standard size, or free it.
+    ///
+    /// @param  chunk   net.jmp.util.extra.OffHeapQueue.Chunk
+    private void retire(final Chunk chunk) {
+        if (this.spare == null && chunk.segment.byteSize() == this.chunkSize) {
+            chunk.readOffset = 0;
+            chunk.writeOffset = 0;
+
+            this.spare = chunk;
+        } else {
+            chunk.arena.close();
+        }
+    }
+
+    /// Throw an exception if the queue is closed.
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Off-heap queue is closed");
+        }
+    }
+
+    /// A chunk of native memory with its own arena, so
+    /// that it can be freed as soon as it is consumed.
+    private static final class Chunk {
+        /// The arena.
+        private final Arena arena;
+
+        /// The memory.
+        private final MemorySegment segment;
+
+        /// The offset of the next record to read.
+        private int readOffset;
+
+        /// The offset of the next record to write.
+        private int writeOffset;
+
+        /// A constructor that takes the size in bytes.
+        ///
+        /// @param  size    int
+        private Chunk(final int size) {
+            this.arena = Arena.ofShared();
+            this.segment = this.arena.allocate(size, Long.BYTES);
+        }
+
+        /// Return the number of bytes left to write.
+        ///
+        /// @return int
+        private int remaining() {
+            return (int) (this.segment.byteSize() - this.writeOffset);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)PaddedSequence.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/// A sequence counter padded on both sides to a cache line
+/// so that counters written by different threads, such as
+/// a ring buffer's producer and consumer indices, do not
+/// share a cache line.
+///
+/// The JVM may reorder the fields declared by one class, but
+/// it lays out a superclass's fields before its subclass's.
+/// The padding before the value is therefore declared by a
+/// superclass of the value's class, and the padding after it
+/// by this subclass.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+@SuppressWarnings("unused")
+final class PaddedSequence extends PaddedSequenceValue {
+    /// The handle of the value.
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedSequenceValue.class, "value", long.class);
+        } catch (final ReflectiveOperationException roe) {
+            throw new ExceptionInInitializerError(roe);
+        }
+    }
+
+    /// The padding after the value.
+    private long p11, p12, p13, p14, p15, p16, p17;
+
+    /// The default constructor.
+    PaddedSequence() {
+        super();
+    }
+
+    /// Return the value with acquire semantics.
+    ///
+    /// @return long
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /// Return the value without ordering, for
+    /// use by the only thread that writes it.
+    ///
+    /// @return long
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    /// Set the value with release semantics.
+    ///
+    /// @param  newValue    long
+    void set(final long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    /// Atomically set the value if it is the expected value.
+    ///
+    /// @param  expectedValue   long
+    /// @param  newValue        long
+    /// @return                 boolean
+    boolean compareAndSet(final long expectedValue, final long newValue) {
+        return VALUE.compareAndSet(this, expectedValue, newValue);
+    }
+}
+
+/// The padding before the value of a padded sequence.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+@SuppressWarnings("unused")
+abstract class PaddedSequencePadding {
+    /// The padding before the value.
+    private long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/// The value of a padded sequence, laid out
+/// after the padding of its superclass.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+abstract class PaddedSequenceValue extends PaddedSequencePadding {
+    /// The value.
+    volatile long value;
+}
@@ -0,0 +1,341 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)QueuePublisher.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.function.Predicate;
+
+/// A publisher that pushes the elements of a queue to its
+/// subscribers. Each element is polled by, and delivered to,
+/// exactly one subscriber, so the subscribers share the work.
+/// Each subscription drains the queue in its own task while
+/// it has demand, and is woken by an offer or a request, so
+/// nothing polls the queue while it is empty or while no
+/// subscriber has demand. Drain tasks of different subscriptions
+/// may run at once, so over a queue for a single consumer, such
+/// as an SPSC or MPSC ring buffer, their polls are serialized by
+/// a lock shared by every subscription.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class QueuePublisher<T> implements Flow.Publisher<T> {
+    /// The queue.
+    private final Queue<T> queue;
+
+    /// The runner of drain tasks, which
+    /// returns false if a task was dropped.
+    private final Predicate<Runnable> taskRunner;
+
+    /// The lock that serializes polls when the queue
+    /// allows a single consumer, or null otherwise.
+    private final Lock pollLock;
+
+    /// The subscriptions.
+    private final List<QueueSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /// The index of the subscription to wake first.
+    private final AtomicInteger nextWake = new AtomicInteger();
+
+    /// True when closed.
+    private volatile boolean closed;
+
+    /// A constructor that takes the queue, the runner of
+    /// drain tasks and whether the queue allows only a
+    /// single consumer, whose polls must be serialized.
+    ///
+    /// @param  queue           java.util.Queue<T>
+    /// @param  taskRunner      java.util.function.Predicate<java.lang.Runnable>
+    /// @param  singleConsumer  boolean
+    QueuePublisher(final Queue<T> queue, final Predicate<Runnable> taskRunner, final boolean singleConsumer) {
+        super();
+
+        this.queue = Objects.requireNonNull(queue, () -> "Queue<T> 'queue' is null");
+        this.taskRunner = Objects.requireNonNull(taskRunner, () -> "Predicate<Runnable> 'taskRunner' is null");
+        this.pollLock = singleConsumer ? new ReentrantLock() : null;
+    }
+
+    /// Add the subscriber. A subscriber that is already
+    /// subscribed is sent an IllegalStateException, and
+    /// a subscriber to a closed publisher is completed.
+    ///
+    /// @param  subscriber  java.util.concurrent.Flow.Subscriber<? super T>
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, () -> "Flow.Subscriber<? super T> 'subscriber' is null");
+
+        for (final QueueSubscription subscription : this.subscriptions) {
+            if (subscription.subscriber == subscriber) {
+                subscriber.onError(new IllegalStateException("Duplicate subscribe"));
+
+                return;
+            }
+        }
+
+        final QueueSubscription subscription = new QueueSubscription(subscriber);
+
+        this.subscriptions.add(subscription);
+
+        subscriber.onSubscribe(subscription);
+
+        if (this.closed) {
+            subscription.complete();
+        }
+    }
+
+    /// Return the number of current subscribers.
+    ///
+    /// @return int
+    int getNumberOfSubscribers() {
+        return this.subscriptions.size();
+    }
+
+    /// Wake up to the number of subscriptions that have
+    /// demand, in turn, to drain the queue. Subscriptions
+    /// that are idle are preferred to those already draining.
+    ///
+    /// @param  count   int
+    void signal(final int count) {
+        final int size = this.subscriptions.size();
+
+        if (size == 0 || this.queue.isEmpty()) {
+            return;
+        }
+
+        final int start = Math.floorMod(this.nextWake.getAndIncrement(), size);
+
+        QueueSubscription draining = null;
+        int woken = 0;
+
+        for (int i = 0; i < size && woken < count; i++) {
+            final QueueSubscription subscription;
+
+            try {
+                subscription = this.subscriptions.get((start + i) % size);
+            } catch (final IndexOutOfBoundsException ioobe) {
+                break;  // A subscription was cancelled meanwhile
+            }
+
+            if (subscription.demand.get() > 0) {
+                if (subscription.wip.get() == 0) {
+                    subscription.schedule();
+                    woken++;
+                } else if (draining == null) {
+                    draining = subscription;
+                }
+            }
+        }
+
+        if (woken == 0 && draining != null) {
+            draining.schedule();
+        }
+    }
+
+    /// Retrieve and remove the head of the queue, under
+    /// the poll lock if the queue allows a single consumer.
+    ///
+    /// @return T
+    private T poll() {
+        if (this.pollLock == null) {
+            return this.queue.poll();
+        }
+
+        this.pollLock.lock();
+
+        try {
+            return this.queue.poll();
+        } finally {
+            this.pollLock.unlock();
+        }
+    }
+
+    /// Close the publisher, completing every subscriber
+    /// once any delivery in progress has finished.
+    void close() {
+        this.closed = true;
+
+        for (final QueueSubscription subscription : this.subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    /// A subscription that drains the queue to its
+    /// subscriber while the subscriber has demand.
+    private final class QueueSubscription implements Flow.Subscription {
+        /// The subscriber.
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /// The outstanding demand.
+        private final AtomicLong demand = new AtomicLong();
+
+        /// The number of signals since the drain task last
+        /// ran; the task is scheduled on the first one.
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /// The error from an invalid request, if any.
+        private volatile Throwable error;
+
+        /// True when completion has been requested.
+        private volatile boolean completed;
+
+        /// True when cancelled or terminated.
+        private volatile boolean cancelled;
+
+        /// A constructor that takes the subscriber.
+        ///
+        /// @param  subscriber  java.util.concurrent.Flow.Subscriber<? super T>
+        private QueueSubscription(final Flow.Subscriber<? super T> subscriber) {
+            super();
+
+            this.subscriber = subscriber;
+        }
+
+        /// Add to the demand. A non-positive request
+        /// is signalled as an IllegalArgumentException.
+        ///
+        /// @param  n   long
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                this.error = new IllegalArgumentException("Request must be positive: " + n);
+            } else {
+                this.demand.accumulateAndGet(n, (current, added) -> {
+                    final long sum = current + added;
+
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+
+            this.schedule();
+        }
+
+        /// Cancel the subscription.
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+
+            QueuePublisher.this.subscriptions.remove(this);
+        }
+
+        /// Request completion of the subscriber.
+        private void complete() {
+            this.completed = true;
+            this.schedule();
+        }
+
+        /// Schedule the drain task unless it is already scheduled
+        /// or running. A dropped task is forgotten, to be scheduled
+        /// again by the next offer or request.
+        private void schedule() {
+            if (this.wip.getAndIncrement() == 0) {
+                boolean accepted;
+
+                try {
+                    accepted = QueuePublisher.this.taskRunner.test(this::drain);
+                } catch (final RejectedExecutionException ree) {
+                    accepted = false;
+                }
+
+                if (!accepted) {
+                    this.wip.set(0);
+                }
+            }
+        }
+
+        /// Deliver elements while there is demand, then
+        /// complete or fail the subscriber if requested,
+        /// and hand any elements left over to another
+        /// subscription if this one has run out of demand.
+        private void drain() {
+            int missed = 1;
+
+            while (!this.cancelled) {
+                if (this.error != null) {
+                    this.cancel();
+                    this.subscriber.onError(this.error);
+
+                    return;
+                }
+
+                final long requested = this.demand.get();
+                long emitted = 0;
+
+                while (emitted != requested && !this.cancelled) {
+                    final T element = QueuePublisher.this.poll();
+
+                    if (element == null) {
+                        break;
+                    }
+
+                    try {
+                        this.subscriber.onNext(element);
+                    } catch (final RuntimeException re) {
+                        this.cancel();
+
+                        throw re;
+                    }
+
+                    emitted++;
+                }
+
+                if (emitted > 0 && requested != Long.MAX_VALUE) {
+                    this.demand.addAndGet(-emitted);
+                }
+
+                if (this.completed && !this.cancelled) {
+                    this.cancel();
+                    this.subscriber.onComplete();
+
+                    return;
+                }
+
+                if (emitted == requested && requested != 0) {
+                    QueuePublisher.this.signal(1);
+                }
+
+                missed = this.wip.addAndGet(-missed);
+
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
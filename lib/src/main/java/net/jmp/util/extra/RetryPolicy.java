@@ -0,0 +1,116 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)RetryPolicy.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.Objects;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/// A policy for retrying an applied consumer that throws. An
+/// element is applied at most the maximum number of attempts.
+/// The backoff before each retry starts at the initial backoff,
+/// is multiplied by the multiplier after every failed attempt
+/// and is capped at the maximum backoff. Jitter then shortens
+/// each backoff by a random fraction of up to the jitter, so
+/// that elements that failed together do not retry together.
+///
+/// @param  maxAttempts     int
+/// @param  initialBackoff  java.time.Duration
+/// @param  maxBackoff      java.time.Duration
+/// @param  multiplier      double
+/// @param  jitter          double
+/// @version                1.5.0
+/// @since                  1.5.0
+public record RetryPolicy(int maxAttempts,
+                          Duration initialBackoff,
+                          Duration maxBackoff,
+                          double multiplier,
+                          double jitter) {
+    /// The default multiplier.
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+
+    /// The default jitter.
+    public static final double DEFAULT_JITTER = 0.5;
+
+    /// The default maximum backoff.
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    /// The compact constructor, which checks the arguments.
+    public RetryPolicy {
+        Objects.requireNonNull(initialBackoff, () -> "Duration 'initialBackoff' is null");
+        Objects.requireNonNull(maxBackoff, () -> "Duration 'maxBackoff' is null");
+
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Maximum attempts must be greater than 0");
+        }
+
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Backoffs must not be negative and the maximum must not be less than the initial");
+        }
+
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("Multiplier must not be less than 1");
+        }
+
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+    }
+
+    /// Create a policy of the maximum attempts and initial
+    /// backoff that doubles the backoff after every failed
+    /// attempt, up to DEFAULT_MAX_BACKOFF or the initial
+    /// backoff if greater, with the default jitter.
+    ///
+    /// @param  maxAttempts     int
+    /// @param  initialBackoff  java.time.Duration
+    /// @return                 net.jmp.util.extra.RetryPolicy
+    public static RetryPolicy of(final int maxAttempts, final Duration initialBackoff) {
+        Objects.requireNonNull(initialBackoff, () -> "Duration 'initialBackoff' is null");
+
+        final Duration maxBackoff = initialBackoff.compareTo(DEFAULT_MAX_BACKOFF) > 0
+                ? initialBackoff
+                : DEFAULT_MAX_BACKOFF;
+
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, DEFAULT_MULTIPLIER, DEFAULT_JITTER);
+    }
+
+    /// Return the backoff in nanoseconds before the retry
+    /// that follows the number of failed attempts.
+    ///
+    /// @param  failedAttempts  int
+    /// @return                 long
+    long backoffNanos(final int failedAttempts) {
+        final double initial = this.initialBackoff.toNanos();
+        final double maximum = this.maxBackoff.toNanos();
+        final double backoff = Math.min(maximum, initial * Math.pow(this.multiplier, failedAttempts - 1));
+
+        return (long) (backoff * (1.0 - this.jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
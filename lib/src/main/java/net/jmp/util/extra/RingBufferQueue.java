@@ -0,0 +1,433 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)RingBufferQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/// A bounded queue over a pre-allocated array ring buffer. The
+/// producer and consumer indices are padded sequences and the
+/// slots are accessed with acquire and release semantics, so
+/// that offering and polling allocate nothing and take no lock.
+/// The capacity is rounded up to a power of two.
+///
+/// Iteration is over a weakly consistent snapshot and does not
+/// support removal. Therefore remove(Object), removeAll,
+/// retainAll and removeIf throw an UnsupportedOperationException.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+abstract class RingBufferQueue<T> extends AbstractQueue<T> {
+    /// The largest capacity.
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /// The handle of the buffer's slots.
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /// The buffer.
+    final Object[] buffer;
+
+    /// The mask that maps an index to a slot.
+    final int mask;
+
+    /// The index of the next slot to write.
+    final PaddedSequence producerIndex = new PaddedSequence();
+
+    /// The index of the next slot to read.
+    final PaddedSequence consumerIndex = new PaddedSequence();
+
+    /// A constructor that takes the capacity.
+    ///
+    /// @param  capacity    int
+    RingBufferQueue(final int capacity) {
+        super();
+
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAXIMUM_CAPACITY);
+        }
+
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    /// Create a ring-buffer queue with at least the
+    /// capacity for the producer and consumer mode.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  capacity    int
+    /// @param  mode        net.jmp.util.extra.RingBufferMode
+    /// @return             net.jmp.util.extra.RingBufferQueue<T>
+    static <T> RingBufferQueue<T> create(final int capacity, final RingBufferMode mode) {
+        Objects.requireNonNull(mode, () -> "RingBufferMode 'mode' is null");
+
+        return switch (mode) {
+            case SPSC -> new Spsc<>(capacity);
+            case MPSC -> new Mpsc<>(capacity);
+            case MPMC -> new Mpmc<>(capacity);
+        };
+    }
+
+    /// Return the element in the slot of the index with acquire semantics.
+    ///
+    /// @param  index   long
+    /// @return         T
+    @SuppressWarnings("unchecked")
+    final T slot(final long index) {
+        return (T) SLOT.getAcquire(this.buffer, (int) index & this.mask);
+    }
+
+    /// Set the element in the slot of the index with release semantics.
+    ///
+    /// @param  index   long
+    /// @param  element T or null
+    final void slot(final long index, final T element) {
+        SLOT.setRelease(this.buffer, (int) index & this.mask, element);
+    }
+
+    /// Return the capacity, which is a power of two.
+    ///
+    /// @return int
+    final int capacity() {
+        return this.buffer.length;
+    }
+
+    /// Return true if only one thread at a time
+    /// may retrieve elements from this queue.
+    ///
+    /// @return boolean
+    boolean isSingleConsumer() {
+        return false;
+    }
+
+    /// Returns the head of this queue without
+    /// removing it, or null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        while (true) {
+            final long head = this.consumerIndex.get();
+            final T element = this.slot(head);
+
+            if (element != null && this.consumerIndex.get() == head) {
+                return element;
+            }
+
+            if (head >= this.producerIndex.get()) {
+                return null;
+            }
+
+            Thread.onSpinWait();    // A producer has claimed the slot but not yet written it
+        }
+    }
+
+    /// Returns the number of elements in this queue.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        long after = this.consumerIndex.get();
+
+        while (true) {
+            final long before = after;
+            final long tail = this.producerIndex.get();
+
+            after = this.consumerIndex.get();
+
+            if (before == after) {
+                return (int) Math.max(0, Math.min(tail - after, this.capacity()));
+            }
+        }
+    }
+
+    /// Returns true if this queue contains no elements.
+    ///
+    /// @return boolean
+    @Override
+    public boolean isEmpty() {
+        return this.consumerIndex.get() >= this.producerIndex.get();
+    }
+
+    /// Returns an iterator over a weakly consistent
+    /// snapshot of the elements in this queue. The
+    /// iterator does not support removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        final long head = this.consumerIndex.get();
+        final long tail = this.producerIndex.get();
+        final List<T> snapshot = new ArrayList<>();
+
+        for (long index = head; index < tail && index - head < this.capacity(); index++) {
+            final T element = this.slot(index);
+
+            if (element != null) {
+                snapshot.add(element);
+            }
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /// A ring buffer for a single producer and a single consumer.
+    /// A slot is free when it is null, so neither side reads the
+    /// other's index on the fast path.
+    ///
+    /// @param  <T> The type of element
+    private static final class Spsc<T> extends RingBufferQueue<T> {
+        /// A constructor that takes the capacity.
+        ///
+        /// @param  capacity    int
+        private Spsc(final int capacity) {
+            super(capacity);
+        }
+
+        /// Return true, since there is a single consumer.
+        ///
+        /// @return boolean
+        @Override
+        boolean isSingleConsumer() {
+            return true;
+        }
+
+        /// Inserts the element if there is space.
+        ///
+        /// @param  t   T
+        /// @return     boolean
+        @Override
+        public boolean offer(final T t) {
+            Objects.requireNonNull(t, () -> "T 't' is null");
+
+            final long tail = this.producerIndex.getPlain();
+
+            if (this.slot(tail) != null) {
+                return false;
+            }
+
+            this.slot(tail, t);
+            this.producerIndex.set(tail + 1);
+
+            return true;
+        }
+
+        /// Retrieves and removes the head, or returns null if empty.
+        ///
+        /// @return T
+        @Override
+        public T poll() {
+            final long head = this.consumerIndex.getPlain();
+            final T element = this.slot(head);
+
+            if (element == null) {
+                return null;
+            }
+
+            this.slot(head, null);
+            this.consumerIndex.set(head + 1);
+
+            return element;
+        }
+    }
+
+    /// A ring buffer for multiple producers and a single
+    /// consumer. Producers claim a slot by advancing the
+    /// producer index and then publish the element into it.
+    ///
+    /// @param  <T> The type of element
+    private static final class Mpsc<T> extends RingBufferQueue<T> {
+        /// A constructor that takes the capacity.
+        ///
+        /// @param  capacity    int
+        private Mpsc(final int capacity) {
+            super(capacity);
+        }
+
+        /// Return true, since there is a single consumer.
+        ///
+        /// @return boolean
+        @Override
+        boolean isSingleConsumer() {
+            return true;
+        }
+
+        /// Inserts the element if there is space.
+        ///
+        /// @param  t   T
+        /// @return     boolean
+        @Override
+        public boolean offer(final T t) {
+            Objects.requireNonNull(t, () -> "T 't' is null");
+
+            long tail;
+
+            do {
+                tail = this.producerIndex.get();
+
+                if (tail - this.consumerIndex.get() >= this.capacity()) {
+                    return false;
+                }
+            } while (!this.producerIndex.compareAndSet(tail, tail + 1));
+
+            this.slot(tail, t);
+
+            return true;
+        }
+
+        /// Retrieves and removes the head, or returns null if empty.
+        ///
+        /// @return T
+        @Override
+        public T poll() {
+            final long head = this.consumerIndex.getPlain();
+
+            T element = this.slot(head);
+
+            if (element == null) {
+                if (head >= this.producerIndex.get()) {
+                    return null;
+                }
+
+                do {
+                    Thread.onSpinWait();    // A producer has claimed the slot but not yet written it
+
+                    element = this.slot(head);
+                } while (element == null);
+            }
+
+            this.slot(head, null);
+            this.consumerIndex.set(head + 1);
+
+            return element;
+        }
+    }
+
+    /// A ring buffer for multiple producers and multiple
+    /// consumers. Each slot carries a sequence that says
+    /// whether it is free or full for a given lap, so that
+    /// producers and consumers each claim slots by advancing
+    /// their own index.
+    ///
+    /// @param  <T> The type of element
+    private static final class Mpmc<T> extends RingBufferQueue<T> {
+        /// The handle of the slot sequences.
+        private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+        /// The slot sequences.
+        private final long[] sequences;
+
+        /// A constructor that takes the capacity.
+        ///
+        /// @param  capacity    int
+        private Mpmc(final int capacity) {
+            super(capacity);
+
+            this.sequences = new long[this.capacity()];
+
+            for (int i = 0; i < this.sequences.length; i++) {
+                this.sequences[i] = i;
+            }
+
+            VarHandle.releaseFence();
+        }
+
+        /// Return the sequence of the slot of the index.
+        ///
+        /// @param  index   long
+        /// @return         long
+        private long sequence(final long index) {
+            return (long) SEQUENCE.getAcquire(this.sequences, (int) index & this.mask);
+        }
+
+        /// Set the sequence of the slot of the index.
+        ///
+        /// @param  index       long
+        /// @param  sequence    long
+        private void sequence(final long index, final long sequence) {
+            SEQUENCE.setRelease(this.sequences, (int) index & this.mask, sequence);
+        }
+
+        /// Inserts the element if there is space.
+        ///
+        /// @param  t   T
+        /// @return     boolean
+        @Override
+        public boolean offer(final T t) {
+            Objects.requireNonNull(t, () -> "T 't' is null");
+
+            while (true) {
+                final long tail = this.producerIndex.get();
+                final long difference = this.sequence(tail) - tail;
+
+                if (difference == 0) {
+                    if (this.producerIndex.compareAndSet(tail, tail + 1)) {
+                        this.slot(tail, t);
+                        this.sequence(tail, tail + 1);
+
+                        return true;
+                    }
+                } else if (difference < 0) {
+                    return false;
+                }
+            }
+        }
+
+        /// Retrieves and removes the head, or returns null if empty.
+        ///
+        /// @return T
+        @Override
+        public T poll() {
+            while (true) {
+                final long head = this.consumerIndex.get();
+                final long difference = this.sequence(head) - (head + 1);
+
+                if (difference == 0) {
+                    if (this.consumerIndex.compareAndSet(head, head + 1)) {
+                        final T element = this.slot(head);
+
+                        this.slot(head, null);
+                        this.sequence(head, head + this.capacity());
+
+                        return element;
+                    }
+                } else if (difference < 0) {
+                    return null;
+                }
+            }
+        }
+    }
+}
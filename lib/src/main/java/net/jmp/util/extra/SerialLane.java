@@ -0,0 +1,112 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)SerialLane.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Queue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/// An executor that runs its tasks one at a time, in the order
+/// they were submitted, on an underlying executor. Callers never
+/// block; at most one drain task per lane occupies the underlying
+/// executor, so separate lanes still run in parallel.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+final class SerialLane implements Executor {
+    /// The maximum number of tasks run by one drain before the
+    /// lane yields its thread so other lanes get a turn.
+    private static final int MAX_TASKS_PER_DRAIN = 64;
+
+    /// The underlying executor.
+    private final Executor executor;
+
+    /// The pending tasks in submission order.
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /// True while a drain task is submitted or running.
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /// A constructor that takes the underlying executor.
+    ///
+    /// @param  executor    java.util.concurrent.Executor
+    SerialLane(final Executor executor) {
+        super();
+
+        this.executor = executor;
+    }
+
+    /// Queue the task to run after all previously
+    /// submitted tasks in this lane have finished.
+    ///
+    /// @param  task    java.lang.Runnable
+    @Override
+    public void execute(final Runnable task) {
+        this.tasks.offer(task);
+
+        try {
+            this.schedule();
+        } catch (final RejectedExecutionException ree) {
+            this.tasks.remove(task);
+
+            throw ree;
+        }
+    }
+
+    /// Submit a drain task if there are pending
+    /// tasks and no drain is already scheduled.
+    private void schedule() {
+        if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::drain);
+            } catch (final RejectedExecutionException ree) {
+                this.scheduled.set(false);
+
+                throw ree;
+            }
+        }
+    }
+
+    /// Run pending tasks in order, then reschedule if
+    /// more arrived or the per-drain limit was reached.
+    private void drain() {
+        try {
+            Runnable task;
+
+            for (int i = 0; i < MAX_TASKS_PER_DRAIN && (task = this.tasks.poll()) != null; i++) {
+                task.run();
+            }
+        } finally {
+            this.scheduled.set(false);
+            this.schedule();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ShardDrainMode.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/// The order in which consumers of a sharded applied queue
+/// visit its shards. Either way each shard is first in,
+/// first out, but there is no order across shards.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public enum ShardDrainMode {
+    /// Each retrieval starts at the shard after the one the
+    /// previous retrieval started at, so that every shard is
+    /// drained at the same rate whatever the consumer threads.
+    ROUND_ROBIN,
+
+    /// Each retrieval starts at the consumer thread's own shard
+    /// and steals from the others only when it is empty, so that
+    /// consumer threads rarely contend with one another.
+    WORK_STEALING
+}
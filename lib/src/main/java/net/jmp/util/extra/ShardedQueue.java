@@ -0,0 +1,296 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)ShardedQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/// An unbounded queue striped over a number of claiming
+/// queues, its shards. A producer offers to the shard selected by
+/// its thread, so producers on different threads seldom contend
+/// on the same tail. A consumer visits the shards in the order of
+/// the drain mode. Each shard is first in, first out, but there
+/// is no order across shards.
+///
+/// Iteration visits the shards in turn and is weakly consistent.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class ShardedQueue<T> extends AbstractQueue<T> implements ConfirmedRemoval<T> {
+    /// The shards.
+    private final ClaimingQueue<T>[] shards;
+
+    /// The drain mode.
+    private final ShardDrainMode mode;
+
+    /// The shard that the next round-robin retrieval starts at.
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /// A constructor that takes the number of shards and the drain mode.
+    ///
+    /// @param  numShards   int
+    /// @param  mode        net.jmp.util.extra.ShardDrainMode
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ShardedQueue(final int numShards, final ShardDrainMode mode) {
+        super();
+
+        if (numShards <= 0) {
+            throw new IllegalArgumentException("Number of shards must be greater than 0");
+        }
+
+        this.mode = Objects.requireNonNull(mode, () -> "ShardDrainMode 'mode' is null");
+        this.shards = new ClaimingQueue[numShards];
+
+        for (int i = 0; i < numShards; i++) {
+            this.shards[i] = new ClaimingQueue<>();
+        }
+    }
+
+    /// Return the number of shards.
+    ///
+    /// @return int
+    int numberOfShards() {
+        return this.shards.length;
+    }
+
+    /// Inserts the element into the current thread's shard.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        return this.shards[this.home()].offer(t);
+    }
+
+    /// Retrieves and removes the head of the first
+    /// non-empty shard in the order of the drain mode,
+    /// or returns null if every shard is empty.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        final int start = this.mode == ShardDrainMode.ROUND_ROBIN
+                ? Math.floorMod(this.cursor.getAndIncrement(), this.shards.length)
+                : this.home();
+
+        for (int i = 0; i < this.shards.length; i++) {
+            final T element = this.shards[(start + i) % this.shards.length].poll();
+
+            if (element != null) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+
+    /// Retrieves the head of the first non-empty shard
+    /// in the order of the drain mode, or returns null
+    /// if every shard is empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        final int start = this.mode == ShardDrainMode.ROUND_ROBIN
+                ? Math.floorMod(this.cursor.get(), this.shards.length)
+                : this.home();
+
+        for (int i = 0; i < this.shards.length; i++) {
+            final T element = this.shards[(start + i) % this.shards.length].peek();
+
+            if (element != null) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+
+    /// Returns the number of elements in every shard.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        long size = 0;
+
+        for (final ClaimingQueue<T> shard : this.shards) {
+            size += shard.size();
+        }
+
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /// Returns true if every shard is empty.
+    ///
+    /// @return boolean
+    @Override
+    public boolean isEmpty() {
+        for (final ClaimingQueue<T> shard : this.shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /// Removes a single instance of the element from the
+    /// first shard that contains it. Each shard's removal
+    /// fails if another thread claimed the element first.
+    ///
+    /// @param  o   java.lang.Object
+    /// @return     boolean
+    @Override
+    public boolean remove(final Object o) {
+        for (final ClaimingQueue<T> shard : this.shards) {
+            if (shard.remove(o)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /// Removes the elements of every shard that satisfy the filter.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter, () -> "Predicate<? super T> 'filter' is null");
+
+        boolean removed = false;
+
+        for (final ClaimingQueue<T> shard : this.shards) {
+            removed |= shard.removeIf(filter);
+        }
+
+        return removed;
+    }
+
+    /// Removes the elements of every shard that satisfy the
+    /// filter and gives each one that this thread claimed
+    /// to the action, shard by shard.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @param  action  java.util.function.Consumer<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter, final Consumer<? super T> action) {
+        Objects.requireNonNull(filter, () -> "Predicate<? super T> 'filter' is null");
+        Objects.requireNonNull(action, () -> "Consumer<? super T> 'action' is null");
+
+        boolean removed = false;
+
+        for (final ClaimingQueue<T> shard : this.shards) {
+            removed |= shard.removeIf(filter, action);
+        }
+
+        return removed;
+    }
+
+    /// Removes every element from every shard.
+    @Override
+    public void clear() {
+        for (final ClaimingQueue<T> shard : this.shards) {
+            shard.clear();
+        }
+    }
+
+    /// Returns an iterator over the shards in turn.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        return new ShardIterator();
+    }
+
+    /// Return the index of the current thread's shard.
+    ///
+    /// @return int
+    private int home() {
+        return (int) (Thread.currentThread().threadId() % this.shards.length);
+    }
+
+    /// An iterator over each shard in turn. Removal
+    /// is delegated to the current shard's iterator.
+    private final class ShardIterator implements Iterator<T> {
+        /// The index of the current shard.
+        private int shard;
+
+        /// The iterator of the current shard.
+        private Iterator<T> current = ShardedQueue.this.shards[0].iterator();
+
+        /// The iterator that returned the last element.
+        private Iterator<T> last;
+
+        /// Return true if an element remains.
+        ///
+        /// @return boolean
+        @Override
+        public boolean hasNext() {
+            while (!this.current.hasNext() && this.shard < ShardedQueue.this.shards.length - 1) {
+                this.current = ShardedQueue.this.shards[++this.shard].iterator();
+            }
+
+            return this.current.hasNext();
+        }
+
+        /// Return the next element.
+        ///
+        /// @return T
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            this.last = this.current;
+
+            return this.current.next();
+        }
+
+        /// Remove the last element returned.
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException();
+            }
+
+            this.last.remove();
+            this.last = null;
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)SharedMemoryQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+import java.lang.invoke.VarHandle;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/// A bounded queue over a ring of fixed-size slots in a memory-
+/// mapped file, so that processes that map the same file, for
+/// example under /dev/shm, exchange elements through shared
+/// memory. Elements are encoded by the codec into the slots.
+///
+/// The file holds a header, the producer and consumer indices
+/// and the slots, each on its own cache line. Each slot starts
+/// with a sequence, as in the multi-producer, multi-consumer
+/// ring buffer. A producer claims a slot by advancing the
+/// producer index, so that it is the slot's only writer, encodes
+/// the element and then publishes the slot by releasing its
+/// sequence. A consumer claims a published slot by advancing the
+/// consumer index, decodes the element and then frees the slot
+/// for the producer one lap later. No lock is taken, and the
+/// protocol works across processes because every index and
+/// sequence is read and written atomically in the mapped memory.
+///
+/// The first process to open the file initializes it, holding
+/// a file lock so that others wait. Every process must open it
+/// with the same capacity and maximum element size. A process
+/// that dies between claiming and releasing a slot leaves it
+/// claimed, and no later slot can then be polled. A slot whose
+/// element fails to encode is released empty and skipped. The file is
+/// not deleted on close, since other processes may share it.
+///
+/// Iteration is over a weakly consistent snapshot and does not
+/// support removal, so remove(Object), removeAll, retainAll and
+/// removeIf throw an UnsupportedOperationException.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class SharedMemoryQueue<T> extends AbstractQueue<T> implements Closeable {
+    /// The largest capacity.
+    static final int MAXIMUM_CAPACITY = 1 << 24;
+
+    /// The magic number that marks an initialized file.
+    private static final int MAGIC = 0x4A4D5051;
+
+    /// The size of a cache line.
+    private static final int CACHE_LINE = 64;
+
+    /// The offset of the magic number.
+    private static final long MAGIC_OFFSET = 0;
+
+    /// The offset of the capacity.
+    private static final long CAPACITY_OFFSET = 4;
+
+    /// The offset of the maximum element size.
+    private static final long MAX_ELEMENT_SIZE_OFFSET = 8;
+
+    /// The offset of the producer index.
+    private static final long PRODUCER_OFFSET = CACHE_LINE;
+
+    /// The offset of the consumer index.
+    private static final long CONSUMER_OFFSET = 2L * CACHE_LINE;
+
+    /// The offset of the first slot.
+    private static final long SLOTS_OFFSET = 3L * CACHE_LINE;
+
+    /// The offset of an element's length within its slot.
+    private static final long LENGTH_OFFSET = Long.BYTES;
+
+    /// The offset of an element's encoding within its slot.
+    private static final long PAYLOAD_OFFSET = 2L * Long.BYTES;
+
+    /// The length that marks a slot whose element failed to encode.
+    private static final int TOMBSTONE = -1;
+
+    /// The handle of the indices and sequences in the mapped memory.
+    private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+
+    /// The lock that keeps this process from holding
+    /// overlapping locks on a file from two threads.
+    private static final Object FILE_LOCK = new Object();
+
+    /// The codec.
+    private final ElementCodec<T> codec;
+
+    /// The capacity, which is a power of two.
+    private final int capacity;
+
+    /// The mask that maps an index to a slot.
+    private final int mask;
+
+    /// The largest encoded size of an element.
+    private final int maxElementSize;
+
+    /// The size of a slot in bytes.
+    private final long slotSize;
+
+    /// The arena of the mapping.
+    private final Arena arena;
+
+    /// The mapped file.
+    private final MemorySegment segment;
+
+    /// A constructor that takes the file, the codec, the
+    /// capacity and the largest encoded size of an element.
+    /// It maps the file, creating and initializing it if it
+    /// does not exist or is empty. The capacity is rounded
+    /// up to a power of two.
+    ///
+    /// @param  file            java.nio.file.Path
+    /// @param  codec           net.jmp.util.extra.ElementCodec<T>
+    /// @param  capacity        int
+    /// @param  maxElementSize  int
+    /// @throws                 java.io.IOException When the file cannot be mapped
+    SharedMemoryQueue(final Path file,
+                      final ElementCodec<T> codec,
+                      final int capacity,
+                      final int maxElementSize) throws IOException {
+        super();
+
+        Objects.requireNonNull(file, () -> "Path 'file' is null");
+
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAXIMUM_CAPACITY);
+        }
+
+        if (maxElementSize <= 0) {
+            throw new IllegalArgumentException("Maximum element size must be greater than 0");
+        }
+
+        this.codec = Objects.requireNonNull(codec, () -> "ElementCodec<T> 'codec' is null");
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.maxElementSize = maxElementSize;
+        this.slotSize = (PAYLOAD_OFFSET + maxElementSize + CACHE_LINE - 1) / CACHE_LINE * CACHE_LINE;
+        this.arena = Arena.ofShared();
+
+        try {
+            this.segment = this.map(file);
+        } catch (final IOException | RuntimeException e) {
+            this.arena.close();
+
+            throw e;
+        }
+    }
+
+    /// Return the capacity, which is a power of two.
+    ///
+    /// @return int
+    int capacity() {
+        return this.capacity;
+    }
+
+    /// Encode the element into the next slot if there is space.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        Objects.requireNonNull(t, () -> "T 't' is null");
+
+        final int size = this.codec.size(t);
+
+        if (size < 0 || size > this.maxElementSize) {
+            throw new IllegalArgumentException("Encoded size " + size + " exceeds the maximum element size");
+        }
+
+        while (true) {
+            final long tail = this.index(PRODUCER_OFFSET);
+            final long slot = this.slotOffset(tail);
+            final long difference = this.sequence(slot) - tail;
+
+            if (difference == 0) {
+                if (LONG.compareAndSet(this.segment, PRODUCER_OFFSET, tail, tail + 1)) {
+                    int length = TOMBSTONE;
+
+                    try {
+                        this.codec.encode(t, this.payload(slot, size));
+
+                        length = size;
+                    } finally {
+                        this.segment.set(ValueLayout.JAVA_INT, slot + LENGTH_OFFSET, length);
+
+                        LONG.setRelease(this.segment, slot, tail + 1);
+                    }
+
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /// Decode and remove the element in the head
+    /// slot, or return null if it is empty.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        while (true) {
+            final long head = this.index(CONSUMER_OFFSET);
+            final long slot = this.slotOffset(head);
+            final long difference = this.sequence(slot) - (head + 1);
+
+            if (difference == 0) {
+                if (LONG.compareAndSet(this.segment, CONSUMER_OFFSET, head, head + 1)) {
+                    final T element;
+
+                    try {
+                        element = this.decode(slot);
+                    } finally {
+                        LONG.setRelease(this.segment, slot, head + this.capacity);
+                    }
+
+                    if (element != null) {
+                        return element;
+                    }
+                }
+            } else if (difference < 0) {
+                return null;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /// Decode the element in the head slot without removing
+    /// it, or return null if it is empty. The element is only
+    /// returned if the slot was not reused while it was
+    /// decoded.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        while (true) {
+            final long head = this.index(CONSUMER_OFFSET);
+            final long slot = this.slotOffset(head);
+
+            if (this.sequence(slot) != head + 1) {
+                if (head == this.index(CONSUMER_OFFSET)) {
+                    return null;
+                }
+            } else if (this.isTombstone(slot)) {
+                this.discard(head, slot);
+            } else {
+                final T element = this.decode(slot);
+
+                if (this.sequence(slot) == head + 1) {
+                    return element;
+                }
+            }
+        }
+    }
+
+    /// Returns the number of elements,
+    /// as seen by the shared indices.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        while (true) {
+            final long head = this.index(CONSUMER_OFFSET);
+            final long tail = this.index(PRODUCER_OFFSET);
+
+            if (head == this.index(CONSUMER_OFFSET)) {
+                return Math.clamp(tail - head, 0, this.capacity);
+            }
+        }
+    }
+
+    /// Returns true if there are no elements.
+    ///
+    /// @return boolean
+    @Override
+    public boolean isEmpty() {
+        return this.peek() == null;
+    }
+
+    /// Returns an iterator over a weakly consistent snapshot of
+    /// the published elements from the head. A slot reused while
+    /// it is decoded ends the snapshot. The iterator does not
+    /// support removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        final List<T> snapshot = new ArrayList<>();
+        final long head = this.index(CONSUMER_OFFSET);
+
+        for (long index = head; index < head + this.capacity; index++) {
+            final long slot = this.slotOffset(index);
+
+            if (this.sequence(slot) != index + 1) {
+                break;
+            }
+
+            final T element = this.decode(slot);
+
+            if (this.sequence(slot) != index + 1) {
+                break;
+            }
+
+            if (element != null) {
+                snapshot.add(element);
+            }
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /// Unmap the file. The file and its
+    /// elements are left for other processes.
+    @Override
+    public void close() {
+        if (this.arena.scope().isAlive()) {
+            this.arena.close();
+        }
+    }
+
+    /// Map the file, initializing it under a file lock
+    /// if it is empty and otherwise checking that it was
+    /// initialized with the same geometry.
+    ///
+    /// @param  file    java.nio.file.Path
+    /// @return         java.lang.foreign.MemorySegment
+    /// @throws         java.io.IOException When the file cannot be mapped
+    private MemorySegment map(final Path file) throws IOException {
+        final long fileSize = SLOTS_OFFSET + this.capacity * this.slotSize;
+
+        synchronized (FILE_LOCK) {
+            try (final FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+                 final FileLock _ = channel.lock()) {
+                final boolean fresh = channel.size() == 0;
+
+                if (!fresh && channel.size() != fileSize) {
+                    throw new IllegalArgumentException("File " + file + " was initialized with another capacity or maximum element size");
+                }
+
+                final MemorySegment mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize, this.arena);
+
+                if (fresh) {
+                    this.initialize(mapped);
+                } else if (mapped.get(ValueLayout.JAVA_INT, MAGIC_OFFSET) != MAGIC
+                        || mapped.get(ValueLayout.JAVA_INT, CAPACITY_OFFSET) != this.capacity
+                        || mapped.get(ValueLayout.JAVA_INT, MAX_ELEMENT_SIZE_OFFSET) != this.maxElementSize) {
+                    throw new IllegalArgumentException("File " + file + " is not a shared memory queue of this geometry");
+                }
+
+                return mapped;
+            }
+        }
+    }
+
+    /// Write the header and the initial slot sequences, then
+    /// the magic number, and force them to the file.
+    ///
+    /// @param  mapped  java.lang.foreign.MemorySegment
+    private void initialize(final MemorySegment mapped) {
+        mapped.set(ValueLayout.JAVA_INT, CAPACITY_OFFSET, this.capacity);
+        mapped.set(ValueLayout.JAVA_INT, MAX_ELEMENT_SIZE_OFFSET, this.maxElementSize);
+
+        LONG.setRelease(mapped, PRODUCER_OFFSET, 0L);
+        LONG.setRelease(mapped, CONSUMER_OFFSET, 0L);
+
+        for (int i = 0; i < this.capacity; i++) {
+            LONG.setRelease(mapped, SLOTS_OFFSET + i * this.slotSize, (long) i);
+        }
+
+        mapped.set(ValueLayout.JAVA_INT, MAGIC_OFFSET, MAGIC);
+        mapped.force();
+    }
+
+    /// Return the shared index at the offset with acquire semantics.
+    ///
+    /// @param  offset  long
+    /// @return         long
+    private long index(final long offset) {
+        return (long) LONG.getAcquire(this.segment, offset);
+    }
+
+    /// Return the sequence of the slot at the offset with acquire semantics.
+    ///
+    /// @param  slot    long
+    /// @return         long
+    private long sequence(final long slot) {
+        return (long) LONG.getAcquire(this.segment, slot);
+    }
+
+    /// Return the offset of the slot of the index.
+    ///
+    /// @param  index   long
+    /// @return         long
+    private long slotOffset(final long index) {
+        return SLOTS_OFFSET + (index & this.mask) * this.slotSize;
+    }
+
+    /// Return a buffer over the payload of the slot of the size.
+    ///
+    /// @param  slot    long
+    /// @param  size    int
+    /// @return         java.nio.ByteBuffer
+    private ByteBuffer payload(final long slot, final int size) {
+        return this.segment.asSlice(slot + PAYLOAD_OFFSET, size).asByteBuffer();
+    }
+
+    /// Return true if the element in the slot failed to encode.
+    ///
+    /// @param  slot    long
+    /// @return         boolean
+    private boolean isTombstone(final long slot) {
+        return this.segment.get(ValueLayout.JAVA_INT, slot + LENGTH_OFFSET) == TOMBSTONE;
+    }
+
+    /// Free the head slot if it is still
+    /// at the head, without decoding it.
+    ///
+    /// @param  head    long
+    /// @param  slot    long
+    private void discard(final long head, final long slot) {
+        if (LONG.compareAndSet(this.segment, CONSUMER_OFFSET, head, head + 1)) {
+            LONG.setRelease(this.segment, slot, head + this.capacity);
+        }
+    }
+
+    /// Decode the element in the slot, or return
+    /// null if the element failed to encode.
+    ///
+    /// @param  slot    long
+    /// @return         T
+    private T decode(final long slot) {
+        final int size = this.segment.get(ValueLayout.JAVA_INT, slot + LENGTH_OFFSET);
+
+        if (size == TOMBSTONE) {
+            return null;
+        }
+
+        return this.codec.decode(this.payload(slot, Math.clamp(size, 0, this.maxElementSize)).asReadOnlyBuffer());
+    }
+}
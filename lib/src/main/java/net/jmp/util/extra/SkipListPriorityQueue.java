@@ -0,0 +1,232 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)SkipListPriorityQueue.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.AbstractQueue;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/// An unbounded, lock-free priority queue backed by a concurrent
+/// skip list. The head is the least element by the comparator,
+/// and elements that compare equal leave in the order they were
+/// offered. Unlike a concurrent skip-list set, equal elements
+/// are all kept, since each is keyed by its offer sequence too.
+///
+/// The size is computed by traversal and iteration is weakly
+/// consistent, in ascending order.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class SkipListPriorityQueue<T> extends AbstractQueue<T> implements ConfirmedRemoval<T> {
+    /// The comparator or null for natural ordering.
+    private final Comparator<? super T> comparator;
+
+    /// The nodes in priority order.
+    private final ConcurrentSkipListMap<Node<T>, Boolean> nodes;
+
+    /// The sequence of the next node.
+    private final AtomicLong sequence = new AtomicLong();
+
+    /// A constructor that takes the comparator.
+    ///
+    /// @param  comparator  java.util.Comparator<? super T> or null for natural ordering
+    @SuppressWarnings("unchecked")
+    SkipListPriorityQueue(final Comparator<? super T> comparator) {
+        super();
+
+        this.comparator = comparator;
+
+        final Comparator<? super T> order = comparator != null
+                ? comparator
+                : (a, b) -> ((Comparable<? super T>) a).compareTo(b);
+
+        this.nodes = new ConcurrentSkipListMap<>(Comparator.<Node<T>, T>comparing(Node::element, order)
+                .thenComparingLong(Node::sequence));
+    }
+
+    /// Return the comparator or null for natural ordering.
+    ///
+    /// @return java.util.Comparator<? super T>
+    Comparator<? super T> comparator() {
+        return this.comparator;
+    }
+
+    /// Inserts the element.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        Objects.requireNonNull(t, () -> "T 't' is null");
+
+        this.nodes.put(new Node<>(t, this.sequence.getAndIncrement()), Boolean.TRUE);
+
+        return true;
+    }
+
+    /// Retrieves and removes the least element, or returns null if empty.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        final Map.Entry<Node<T>, Boolean> entry = this.nodes.pollFirstEntry();
+
+        return entry != null ? entry.getKey().element() : null;
+    }
+
+    /// Retrieves the least element, or returns null if empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        final Map.Entry<Node<T>, Boolean> entry = this.nodes.firstEntry();
+
+        return entry != null ? entry.getKey().element() : null;
+    }
+
+    /// Returns the number of elements in this queue.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /// Returns true if this queue contains no elements.
+    ///
+    /// @return boolean
+    @Override
+    public boolean isEmpty() {
+        return this.nodes.isEmpty();
+    }
+
+    /// Removes a single instance of the element if this
+    /// thread removes it before any other thread does.
+    ///
+    /// @param  o   java.lang.Object
+    /// @return     boolean
+    @Override
+    public boolean remove(final Object o) {
+        if (o == null) {
+            return false;
+        }
+
+        for (final Node<T> node : this.nodes.keySet()) {
+            if (o.equals(node.element()) && this.nodes.remove(node) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /// Removes the elements that satisfy the filter.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        return this.removeIf(filter, element -> {});
+    }
+
+    /// Removes the elements that satisfy the filter in one
+    /// pass and gives each one that this thread removed to
+    /// the action, in ascending order. Each node is keyed
+    /// by its sequence too, so only the node that the
+    /// filter accepted is removed.
+    ///
+    /// @param  filter  java.util.function.Predicate<? super T>
+    /// @param  action  java.util.function.Consumer<? super T>
+    /// @return         boolean
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter, final Consumer<? super T> action) {
+        Objects.requireNonNull(filter, () -> "Predicate<? super T> 'filter' is null");
+        Objects.requireNonNull(action, () -> "Consumer<? super T> 'action' is null");
+
+        boolean removed = false;
+
+        for (final Node<T> node : this.nodes.keySet()) {
+            if (filter.test(node.element()) && this.nodes.remove(node) != null) {
+                action.accept(node.element());
+
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /// Removes all the elements.
+    @Override
+    public void clear() {
+        this.nodes.clear();
+    }
+
+    /// Returns a weakly consistent iterator over the
+    /// elements in ascending order that supports removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<Node<T>> iterator = this.nodes.keySet().iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next().element();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    /// An element and the sequence in which it was offered.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  element     T
+    /// @param  sequence    long
+    private record Node<T>(T element, long sequence) {
+    }
+}
@@ -0,0 +1,381 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)SpillingQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.stream.Stream;
+
+/// An unbounded queue that keeps its head in memory and spills
+/// its tail to disk. Elements are held in memory until either
+/// the element or the byte threshold would be crossed. From then
+/// on each offered element is appended to a journal of memory-
+/// mapped segment files instead, until the elements spilled so
+/// far have all been polled. Elements in memory are always older
+/// than those on disk, so the queue stays first in, first out.
+/// Once the memory is drained, elements are decoded from the
+/// journal in sequence, and each segment file is deleted when
+/// it has been polled past.
+///
+/// The journal is created in a new directory under the given
+/// directory when the queue first spills, and that directory is
+/// deleted when the queue is closed. Nothing is kept across a
+/// restart. A single lock guards the queue.
+///
+/// Iteration is over a snapshot and does not support removal.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class SpillingQueue<T> extends AbstractQueue<T> implements Closeable {
+    /// The default segment size of the journal.
+    static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /// The byte threshold that places no bound on the bytes in memory.
+    static final long UNBOUNDED_BYTES = Long.MAX_VALUE;
+
+    /// The prefix of the spill directory's name.
+    private static final String SPILL_PREFIX = "spill-";
+
+    /// The directory under which the spill directory is created.
+    private final Path parent;
+
+    /// The codec.
+    private final ElementCodec<T> codec;
+
+    /// The largest number of elements held in memory.
+    private final int maxElementsInMemory;
+
+    /// The largest number of encoded bytes held in memory.
+    private final long maxBytesInMemory;
+
+    /// The segment size of the journal.
+    private final int segmentSize;
+
+    /// The lock guarding the memory, the journal and the counts.
+    private final Lock lock = new ReentrantLock();
+
+    /// The elements held in memory.
+    private final ArrayDeque<T> memory = new ArrayDeque<>();
+
+    /// The encoded bytes of the elements held in memory,
+    /// which is only counted when the bytes are bounded.
+    private long bytesInMemory;
+
+    /// The spill directory, created when the queue first spills.
+    private Path spillDirectory;
+
+    /// The journal, created when the queue first spills.
+    private JournalQueue<T> journal;
+
+    /// The number of elements in the journal.
+    private int spilled;
+
+    /// True when closed.
+    private boolean closed;
+
+    /// A constructor that takes the directory under which to
+    /// spill, the codec, the element and byte thresholds and
+    /// the segment size of the journal.
+    ///
+    /// @param  parent              java.nio.file.Path
+    /// @param  codec               net.jmp.util.extra.ElementCodec<T>
+    /// @param  maxElementsInMemory int
+    /// @param  maxBytesInMemory    long
+    /// @param  segmentSize         int
+    SpillingQueue(final Path parent,
+                  final ElementCodec<T> codec,
+                  final int maxElementsInMemory,
+                  final long maxBytesInMemory,
+                  final int segmentSize) {
+        super();
+
+        if (maxElementsInMemory < 0) {
+            throw new IllegalArgumentException("Maximum elements in memory must not be negative");
+        }
+
+        if (maxBytesInMemory < 0) {
+            throw new IllegalArgumentException("Maximum bytes in memory must not be negative");
+        }
+
+        if (segmentSize < JournalQueue.MINIMUM_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + JournalQueue.MINIMUM_SEGMENT_SIZE);
+        }
+
+        this.parent = Objects.requireNonNull(parent, () -> "Path 'parent' is null");
+        this.codec = Objects.requireNonNull(codec, () -> "ElementCodec<T> 'codec' is null");
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.maxBytesInMemory = maxBytesInMemory;
+        this.segmentSize = segmentSize;
+    }
+
+    /// Return the number of elements spilled to
+    /// disk and not yet polled.
+    ///
+    /// @return int
+    int spilledCount() {
+        this.lock.lock();
+
+        try {
+            return this.spilled;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Inserts the element into memory if neither threshold
+    /// would be crossed and nothing is spilled, otherwise
+    /// appends it to the journal.
+    ///
+    /// @param  t   T
+    /// @return     boolean
+    @Override
+    public boolean offer(final T t) {
+        Objects.requireNonNull(t, () -> "T 't' is null");
+
+        final long size = this.maxBytesInMemory == UNBOUNDED_BYTES ? 0 : this.codec.size(t);
+
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            if (this.spilled == 0
+                    && this.memory.size() < this.maxElementsInMemory
+                    && this.bytesInMemory + size <= this.maxBytesInMemory) {
+                this.memory.addLast(t);
+                this.bytesInMemory += size;
+            } else {
+                this.journal().offer(t);
+                this.spilled++;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        return true;
+    }
+
+    /// Retrieves and removes the head of memory, or of
+    /// the journal once memory is drained, or returns
+    /// null if both are empty.
+    ///
+    /// @return T
+    @Override
+    public T poll() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            final T element = this.memory.pollFirst();
+
+            if (element != null) {
+                if (this.maxBytesInMemory != UNBOUNDED_BYTES) {
+                    this.bytesInMemory -= this.codec.size(element);
+                }
+
+                return element;
+            }
+
+            if (this.spilled == 0) {
+                return null;
+            }
+
+            this.spilled--;
+
+            return this.journal.poll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Retrieves the head of memory, or of the journal once
+    /// memory is drained, or returns null if both are empty.
+    ///
+    /// @return T
+    @Override
+    public T peek() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            final T element = this.memory.peekFirst();
+
+            if (element != null || this.spilled == 0) {
+                return element;
+            }
+
+            return this.journal.peek();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Returns the number of elements in memory and on disk.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        this.lock.lock();
+
+        try {
+            return this.memory.size() + this.spilled;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Removes every element from memory and from the journal.
+    @Override
+    public void clear() {
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            this.memory.clear();
+            this.bytesInMemory = 0;
+
+            if (this.spilled > 0) {
+                this.journal.clear();
+                this.spilled = 0;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Returns an iterator over a snapshot of the elements
+    /// in memory followed by those in the journal. The
+    /// iterator does not support removal.
+    ///
+    /// @return java.util.Iterator<T>
+    @Override
+    public Iterator<T> iterator() {
+        final List<T> snapshot;
+
+        this.lock.lock();
+
+        try {
+            this.ensureOpen();
+
+            snapshot = new ArrayList<>(this.memory.size() + this.spilled);
+            snapshot.addAll(this.memory);
+
+            if (this.spilled > 0) {
+                this.journal.iterator().forEachRemaining(snapshot::add);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /// Close the queue, discarding its elements, and
+    /// delete the spill directory if there is one.
+    ///
+    /// @throws java.io.IOException When the spill directory cannot be deleted
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+
+        try {
+            if (!this.closed) {
+                this.closed = true;
+                this.memory.clear();
+                this.spilled = 0;
+
+                if (this.journal != null) {
+                    this.journal.close();
+                    this.journal = null;
+                }
+
+                if (this.spillDirectory != null) {
+                    try (final Stream<Path> files = Files.list(this.spillDirectory)) {
+                        for (final Path file : files.toList()) {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+
+                    Files.deleteIfExists(this.spillDirectory);
+
+                    this.spillDirectory = null;
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// Return the journal, creating it and
+    /// the spill directory if need be.
+    ///
+    /// @return net.jmp.util.extra.JournalQueue<T>
+    private JournalQueue<T> journal() {
+        if (this.journal == null) {
+            try {
+                if (this.spillDirectory == null) {
+                    Files.createDirectories(this.parent);
+
+                    this.spillDirectory = Files.createTempDirectory(this.parent, SPILL_PREFIX);
+                }
+
+                this.journal = new JournalQueue<>(this.spillDirectory, this.codec, this.segmentSize, FsyncPolicy.NEVER);
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        return this.journal;
+    }
+
+    /// Throw an IllegalStateException if closed.
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Queue is closed");
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TimingWheel.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/// A hierarchical timing wheel. Each level is a ring of slots;
+/// a slot of the first level spans one tick, and a slot of each
+/// further level spans a whole revolution of the level below.
+/// An element is placed in the lowest level whose ring reaches
+/// its deadline, so scheduling is constant time. As the wheel
+/// advances, a slot of a higher level is cascaded into the
+/// levels below when its span begins, and the elements in the
+/// current slot of the first level expire. The number of slots
+/// per level is rounded up to a power of two.
+///
+/// The wheel is not thread-safe.
+///
+/// @param  <T> The type of element
+/// @version    1.5.0
+/// @since      1.5.0
+final class TimingWheel<T> {
+    /// The largest number of slots per level.
+    static final int MAXIMUM_WHEEL_SIZE = 1 << 16;
+
+    /// The number of bits of a tick indexed by each level.
+    private final int bits;
+
+    /// The mask of a slot index.
+    private final long mask;
+
+    /// The slots of each level, allocated when first used.
+    private final ArrayDeque<Timer<T>>[][] slots;
+
+    /// Elements that were due when scheduled.
+    private final ArrayDeque<T> overdue = new ArrayDeque<>();
+
+    /// The last tick that the wheel advanced to.
+    private long currentTick;
+
+    /// The number of elements.
+    private int size;
+
+    /// A constructor that takes the number of slots per level.
+    ///
+    /// @param  wheelSize   int
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimingWheel(final int wheelSize) {
+        super();
+
+        if (wheelSize < 2 || wheelSize > MAXIMUM_WHEEL_SIZE) {
+            throw new IllegalArgumentException("Wheel size must be between 2 and " + MAXIMUM_WHEEL_SIZE);
+        }
+
+        this.bits = Integer.SIZE - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1L << this.bits) - 1;
+        this.slots = new ArrayDeque[(Long.SIZE - 1 + this.bits - 1) / this.bits][];
+    }
+
+    /// Return the number of slots per level.
+    ///
+    /// @return int
+    int wheelSize() {
+        return 1 << this.bits;
+    }
+
+    /// Return the last tick that the wheel advanced to.
+    ///
+    /// @return long
+    long currentTick() {
+        return this.currentTick;
+    }
+
+    /// Return the number of elements.
+    ///
+    /// @return int
+    int size() {
+        return this.size;
+    }
+
+    /// Return true if there are no elements.
+    ///
+    /// @return boolean
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /// Schedule the element to expire at the deadline tick.
+    /// An element whose deadline has passed expires when
+    /// the wheel next advances.
+    ///
+    /// @param  element         T
+    /// @param  deadlineTick    long
+    void schedule(final T element, final long deadlineTick) {
+        if (deadlineTick <= this.currentTick) {
+            this.overdue.addLast(element);
+        } else {
+            this.place(new Timer<>(element, deadlineTick));
+        }
+
+        this.size++;
+    }
+
+    /// Advance the wheel to the tick, adding
+    /// the elements that expire to the list.
+    ///
+    /// @param  tick    long
+    /// @param  expired java.util.List<T>
+    void advance(final long tick, final List<T> expired) {
+        if (!this.overdue.isEmpty()) {
+            this.size -= this.overdue.size();
+
+            expired.addAll(this.overdue);
+            this.overdue.clear();
+        }
+
+        while (this.currentTick < tick && this.size > 0) {
+            this.currentTick++;
+
+            for (int level = this.slots.length - 1; level > 0; level--) {
+                final int shift = this.bits * level;
+
+                if ((this.currentTick & ((1L << shift) - 1)) == 0) {
+                    this.cascade(level, (int) ((this.currentTick >>> shift) & this.mask));
+                }
+            }
+
+            this.expire((int) (this.currentTick & this.mask), expired);
+        }
+
+        this.currentTick = Math.max(this.currentTick, tick);
+    }
+
+    /// Remove every element.
+    void clear() {
+        for (final ArrayDeque<Timer<T>>[] level : this.slots) {
+            if (level != null) {
+                for (final ArrayDeque<Timer<T>> slot : level) {
+                    if (slot != null) {
+                        slot.clear();
+                    }
+                }
+            }
+        }
+
+        this.overdue.clear();
+        this.size = 0;
+    }
+
+    /// Place the timer in the lowest level whose ring reaches its deadline.
+    ///
+    /// @param  timer   net.jmp.util.extra.TimingWheel.Timer<T>
+    private void place(final Timer<T> timer) {
+        int level = 0;
+
+        while (level < this.slots.length - 1
+                && (timer.deadlineTick >>> (this.bits * level)) - (this.currentTick >>> (this.bits * level)) > this.mask) {
+            level++;
+        }
+
+        this.slot(level, (int) ((timer.deadlineTick >>> (this.bits * level)) & this.mask)).addLast(timer);
+    }
+
+    /// Move the timers in the slot of the level into the levels below.
+    ///
+    /// @param  level   int
+    /// @param  index   int
+    private void cascade(final int level, final int index) {
+        final ArrayDeque<Timer<T>>[] ring = this.slots[level];
+        final ArrayDeque<Timer<T>> slot = ring == null ? null : ring[index];
+
+        if (slot != null) {
+            Timer<T> timer;
+
+            while ((timer = slot.pollFirst()) != null) {
+                this.place(timer);
+            }
+        }
+    }
+
+    /// Expire the timers in the slot of the first level.
+    ///
+    /// @param  index   int
+    /// @param  expired java.util.List<T>
+    private void expire(final int index, final List<T> expired) {
+        final ArrayDeque<Timer<T>>[] ring = this.slots[0];
+        final ArrayDeque<Timer<T>> slot = ring == null ? null : ring[index];
+
+        if (slot != null) {
+            Timer<T> timer;
+
+            while ((timer = slot.pollFirst()) != null) {
+                expired.add(timer.element);
+                this.size--;
+            }
+        }
+    }
+
+    /// Return the slot of the level, allocating it if need be.
+    ///
+    /// @param  level   int
+    /// @param  index   int
+    /// @return         java.util.ArrayDeque<net.jmp.util.extra.TimingWheel.Timer<T>>
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ArrayDeque<Timer<T>> slot(final int level, final int index) {
+        if (this.slots[level] == null) {
+            this.slots[level] = new ArrayDeque[1 << this.bits];
+        }
+
+        if (this.slots[level][index] == null) {
+            this.slots[level][index] = new ArrayDeque<>();
+        }
+
+        return this.slots[level][index];
+    }
+
+    /// An element and the tick at which it expires.
+    ///
+    /// @param  <T>             The type of element
+    /// @param  element         T
+    /// @param  deadlineTick    long
+    private record Timer<T>(T element, long deadlineTick) {
+    }
+}
@@ -0,0 +1,118 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)Utf8Codec.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/// A codec that encodes strings as UTF-8.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+final class Utf8Codec implements ElementCodec<String> {
+    /// The instance.
+    static final Utf8Codec INSTANCE = new Utf8Codec();
+
+    /// The default constructor.
+    private Utf8Codec() {
+        super();
+    }
+
+    /// Return the UTF-8 length of the string without encoding it.
+    ///
+    /// @param  element java.lang.String
+    /// @return         int
+    @Override
+    public int size(final String element) {
+        int size = 0;
+
+        for (int i = 0; i < element.length(); i++) {
+            final char c = element.charAt(i);
+
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (!Character.isSurrogate(c)) {
+                size += 3;
+            } else if (Character.isHighSurrogate(c) && i + 1 < element.length()
+                    && Character.isLowSurrogate(element.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size += 1;  // An unpaired surrogate encodes as '?'
+            }
+        }
+
+        return size;
+    }
+
+    /// Encode the string as UTF-8 straight into the buffer,
+    /// one character at a time, without an intermediate
+    /// array. An unpaired surrogate encodes as '?', as it
+    /// does with String.getBytes.
+    ///
+    /// @param  element java.lang.String
+    /// @param  buffer  java.nio.ByteBuffer
+    @Override
+    public void encode(final String element, final ByteBuffer buffer) {
+        for (int i = 0; i < element.length(); i++) {
+            final char c = element.charAt(i);
+
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < element.length()
+                    && Character.isLowSurrogate(element.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, element.charAt(++i));
+
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    /// Decode a UTF-8 string.
+    ///
+    /// @param  buffer  java.nio.ByteBuffer
+    /// @return         java.lang.String
+    @Override
+    public String decode(final ByteBuffer buffer) {
+        return UTF_8.decode(buffer).toString();
+    }
+}
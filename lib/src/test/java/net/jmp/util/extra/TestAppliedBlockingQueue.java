@@ -0,0 +1,179 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestAppliedBlockingQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.Function;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for AppliedBlockingQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestAppliedBlockingQueue {
+    public static final int AWAIT_TIME = 500;
+
+    @Test
+    public void testIsBlockingQueue() {
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>()) {
+            assertTrue(queue instanceof BlockingQueue<Integer>);
+            assertEquals(Integer.MAX_VALUE, queue.remainingCapacity());
+        }
+    }
+
+    @Test
+    public void testTakeAndApplyWaitsForElement() throws InterruptedException {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>()) {
+            final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+
+                queue.offer(7);
+            });
+
+            assertEquals(Integer.valueOf(7), queue.takeAndApply(consumed::addAndGet));
+
+            producer.join();
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS)
+                    .untilAsserted(
+                            () -> assertThat(consumed.get())
+                                    .isEqualTo(7)
+                    );
+        }
+    }
+
+    @Test
+    public void testTimedPollAndApply() throws InterruptedException {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>()) {
+            assertNull(queue.pollAndApply(10, TimeUnit.MILLISECONDS, consumed::addAndGet));
+
+            queue.offer(3);
+
+            assertEquals(Integer.valueOf(3), queue.pollAndApply(10, TimeUnit.MILLISECONDS, consumed::addAndGet));
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS)
+                    .untilAsserted(
+                            () -> assertThat(consumed.get())
+                                    .isEqualTo(3)
+                    );
+        }
+    }
+
+    @Test
+    public void testBoundedCapacity() throws InterruptedException {
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>(2)) {
+            assertTrue(queue.offer(1));
+            assertTrue(queue.applyAndOffer(1, e -> e + 1));
+            assertFalse(queue.offer(3));
+            assertFalse(queue.applyAndOffer(3, Function.identity(), 10, TimeUnit.MILLISECONDS));
+            assertEquals(0, queue.remainingCapacity());
+            assertThrows(IllegalStateException.class, () -> queue.add(3));
+        }
+    }
+
+    @Test
+    public void testApplyAndPutWaitsForSpace() throws InterruptedException {
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>(1)) {
+            queue.put(1);
+
+            final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+                try {
+                    queue.applyAndPut(1, e -> e + 1);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            assertFalse(producer.isDone());
+            assertEquals(Integer.valueOf(1), queue.take());
+
+            producer.join();
+
+            assertEquals(Integer.valueOf(2), queue.poll());
+        }
+    }
+
+    @Test
+    public void testDrainTo() {
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>(10)) {
+            final List<Integer> drained = new ArrayList<>();
+
+            queue.addAll(List.of(1, 2, 3, 4));
+
+            assertEquals(2, queue.drainTo(drained, 2));
+            assertEquals(2, queue.drainTo(drained));
+            assertEquals(List.of(1, 2, 3, 4), drained);
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testWithVirtualThreads() throws InterruptedException {
+        final AtomicInteger virtual = new AtomicInteger();
+
+        try (final AppliedBlockingQueue<Integer> queue = AppliedBlockingQueue.withVirtualThreads(4)) {
+            queue.put(1);
+            queue.takeAndApply(e -> {
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+            });
+        }
+
+        assertEquals(1, virtual.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        try (final AppliedBlockingQueue<Integer> _ = new AppliedBlockingQueue<>(0)) {
+            fail("Expected an IllegalArgumentException");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestAppliedDelayQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for AppliedDelayQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestAppliedDelayQueue {
+    private static final int AWAIT_TIME = 500;
+
+    @Test
+    public void testElementsAreAppliedAfterTheirDelays() {
+        final Map<String, Long> appliedAt = new ConcurrentHashMap<>();
+        final long start = System.nanoTime();
+
+        try (final AppliedDelayQueue<String> queue = new AppliedDelayQueue<>(
+                batch -> batch.forEach(e -> appliedAt.put(e, System.nanoTime() - start)),
+                Duration.ofMillis(5),
+                8)) {
+            queue.schedule("late", 150, TimeUnit.MILLISECONDS);
+            queue.schedule("early", 30, TimeUnit.MILLISECONDS);
+            queue.schedule("now", 0, TimeUnit.MILLISECONDS);
+
+            assertEquals(3, queue.size());
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(appliedAt.size()).isEqualTo(3));
+
+            assertTrue(appliedAt.get("early") >= TimeUnit.MILLISECONDS.toNanos(30));
+            assertTrue(appliedAt.get("late") >= TimeUnit.MILLISECONDS.toNanos(150));
+            assertTrue(appliedAt.get("now") < appliedAt.get("early"));
+            assertTrue(appliedAt.get("early") < appliedAt.get("late"));
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testExpiredElementsAreAppliedInBatches() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedDelayQueue<Integer> queue = new AppliedDelayQueue<>(batches::add)) {
+            IntStream.range(0, 5_000).forEach(e -> queue.schedule(e, 50, TimeUnit.MILLISECONDS));
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(queue.isEmpty()).isEqualTo(true));
+
+            queue.waitForConsumers();
+
+            assertEquals(5_000, batches.stream().mapToInt(List::size).sum());
+            assertTrue(batches.size() < 5_000);
+            assertTrue(batches.stream().allMatch(batch -> batch.size() <= 1_024));
+        }
+    }
+
+    @Test
+    public void testCloseDiscardsPendingElements() {
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+        final AppliedDelayQueue<Integer> queue = AppliedDelayQueue.withVirtualThreads(applied::addAll);
+
+        queue.schedule(1, 1, TimeUnit.HOURS);
+        queue.close();
+
+        assertTrue(queue.isEmpty());
+        assertTrue(applied.isEmpty());
+    }
+
+    @Test
+    public void testSchedulingContinuesAfterARejectedBatch() throws InterruptedException {
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (final AppliedDelayQueue<Integer> queue = new AppliedDelayQueue<>(batch -> {
+            if (batch.contains(1)) {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            applied.addAll(batch);
+        })) {
+            queue.setMaxInFlight(1, BackpressurePolicy.FAIL_FAST);
+            queue.setRetryPolicy(RetryPolicy.of(1, Duration.ZERO));
+            queue.schedule(1, 0, TimeUnit.MILLISECONDS);
+
+            assertTrue(started.await(AWAIT_TIME, TimeUnit.MILLISECONDS));
+
+            queue.schedule(2, 0, TimeUnit.MILLISECONDS);
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(queue.getDeadLetterQueue()).containsExactly(2));
+
+            release.countDown();
+            queue.waitForConsumers();
+            queue.schedule(3, 0, TimeUnit.MILLISECONDS);
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(applied).containsExactly(1, 3));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduleAfterClose() {
+        final AppliedDelayQueue<Integer> queue = AppliedDelayQueue.withSharedExecutor(batch -> { });
+
+        queue.close();
+        queue.schedule(1, 1, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTickMustBePositive() {
+        new AppliedDelayQueue<Integer>(batch -> { }, Duration.ZERO, 8);
+    }
+}
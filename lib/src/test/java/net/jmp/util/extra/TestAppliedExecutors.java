@@ -0,0 +1,82 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestAppliedExecutors.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for AppliedExecutors.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestAppliedExecutors {
+    public static final int AWAIT_TIME = 500;
+
+    @Test
+    public void testSharedExecutorIsSingleton() {
+        assertSame(AppliedExecutors.sharedExecutor(), AppliedExecutors.sharedExecutor());
+    }
+
+    @Test
+    public void testSharedExecutorUsesDaemonThreads() {
+        final ExecutorService executor = AppliedExecutors.sharedExecutor();
+        final AtomicBoolean daemon = new AtomicBoolean(false);
+
+        executor.execute(() -> daemon.set(Thread.currentThread().isDaemon()));
+
+        await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS)
+                .untilAsserted(
+                        () -> assertThat(daemon.get())
+                                .isTrue()
+                );
+    }
+
+    @Test
+    public void testSharedExecutorSurvivesClose() {
+        try (final AppliedList<Integer> list = AppliedList.withSharedExecutor()) {
+            list.add(1);
+            list.consume(e -> {}, () -> {});
+        }
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withSharedExecutor()) {
+            queue.offer(1);
+            queue.pollAndApply(e -> {});
+        }
+
+        assertFalse(AppliedExecutors.sharedExecutor().isShutdown());
+    }
+}
@@ -0,0 +1,174 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestAppliedLeaseQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.Consumer;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for AppliedLeaseQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestAppliedLeaseQueue {
+    private static final int AWAIT_TIME = 500;
+
+    @Test
+    public void testAcknowledgedLeaseDoesNotReappear() {
+        try (final AppliedLeaseQueue<Integer> queue = new AppliedLeaseQueue<>(Duration.ofMillis(50))) {
+            queue.add(1);
+
+            final Lease<Integer> lease = queue.lease();
+
+            assertEquals(Integer.valueOf(1), lease.element());
+            assertTrue(lease.isHeld());
+            assertTrue(queue.isEmpty());
+            assertEquals(1, queue.getLeasedCount());
+
+            assertTrue(lease.acknowledge());
+            assertFalse(lease.acknowledge());
+            assertFalse(lease.release());
+            assertFalse(lease.isHeld());
+            assertEquals(0, queue.getLeasedCount());
+
+            await().pollDelay(100, TimeUnit.MILLISECONDS)
+                    .atMost(AWAIT_TIME, TimeUnit.MILLISECONDS)
+                    .untilAsserted(() -> assertThat(queue.isEmpty()).isEqualTo(true));
+
+            assertNull(queue.lease());
+        }
+    }
+
+    @Test
+    public void testUnacknowledgedLeaseReappears() {
+        try (final AppliedLeaseQueue<Integer> queue = new AppliedLeaseQueue<>(Duration.ofMillis(30))) {
+            queue.add(1);
+            queue.add(2);
+
+            final Lease<Integer> lease = queue.lease();
+
+            assertEquals(List.of(2), new ArrayList<>(queue));
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(queue.size()).isEqualTo(2));
+
+            assertEquals(List.of(2, 1), new ArrayList<>(queue));
+            assertFalse(lease.isHeld());
+            assertFalse(lease.acknowledge());
+            assertEquals(0, queue.getLeasedCount());
+        }
+    }
+
+    @Test
+    public void testReleaseReturnsTheElementAtOnce() {
+        try (final AppliedLeaseQueue<Integer> queue = new AppliedLeaseQueue<>(Duration.ofHours(1))) {
+            queue.add(1);
+
+            final Lease<Integer> lease = queue.lease();
+
+            assertTrue(queue.isEmpty());
+            assertTrue(lease.release());
+            assertEquals(List.of(1), new ArrayList<>(queue));
+            assertEquals(0, queue.getLeasedCount());
+        }
+    }
+
+    @Test
+    public void testLeaseAndApplyAcknowledgesOnSuccess() {
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedLeaseQueue<Integer> queue = AppliedLeaseQueue.withVirtualThreads(Duration.ofMillis(30))) {
+            IntStream.rangeClosed(1, 10).forEach(queue::add);
+
+            Lease<Integer> lease;
+
+            while ((lease = queue.leaseAndApply(applied::add)) != null) {
+                assertNotNull(lease.element());
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(10, applied.size());
+            assertEquals(0, queue.getLeasedCount());
+
+            await().pollDelay(60, TimeUnit.MILLISECONDS)
+                    .atMost(AWAIT_TIME, TimeUnit.MILLISECONDS)
+                    .untilAsserted(() -> assertThat(queue.isEmpty()).isEqualTo(true));
+        }
+    }
+
+    @Test
+    public void testLeaseAndApplyRedeliversAfterFailure() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedLeaseQueue<String> queue = AppliedLeaseQueue.withSharedExecutor(Duration.ofMillis(30))) {
+            queue.add("flaky");
+
+            final Consumer<String> consumer = e -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("First attempt fails");
+                }
+
+                applied.add(e);
+            };
+
+            assertNotNull(queue.leaseAndApply(consumer));
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> {
+                queue.leaseAndApply(consumer);
+
+                assertThat(applied).containsExactly("flaky");
+            });
+
+            assertEquals(2, attempts.get());
+            assertEquals(0, queue.getLeasedCount());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVisibilityTimeoutMustBePositive() {
+        new AppliedLeaseQueue<Integer>(Duration.ZERO);
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)TestAppliedList.java  1.5.0   10/16/2026
  * (#)TestAppliedList.java  1.2.0   09/27/2024
  *
  * MIT License
@@ -27,11 +28,21 @@ package net.jmp.util.extra;
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.TimeUnit;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -48,7 +59,7 @@ import org.junit.Test;
 
 /// A test class for AppliedList.
 ///
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public final class TestAppliedList {
     public static final int AWAIT_TIME = 500;
@@ -745,4 +756,318 @@ public final class TestAppliedList {
 
         assertEquals(0, results.size());
     }
+
+    @Test
+    public void testConstructWithBorrowedExecutor() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>(executor)) {
+            IntStream.rangeClosed(1, 3).forEach(list::add);
+
+            list.clearAndApply(e -> consumed.incrementAndGet(), () -> {});
+        }
+
+        assertEquals(3, consumed.get());
+        assertFalse(executor.isShutdown());
+
+        executor.shutdown();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructWithNullExecutor() {
+        try (final var _ = new AppliedList<Integer>((ExecutorService) null)) {
+            assertTrue(true);
+        }
+    }
+
+    @Test
+    public void testWithVirtualThreads() {
+        final AtomicInteger virtual = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = AppliedList.withVirtualThreads()) {
+            IntStream.rangeClosed(1, 3).forEach(list::add);
+
+            list.clearAndApply(e -> {
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+            }, () -> {});
+        }
+
+        assertEquals(3, virtual.get());
+    }
+
+    @Test
+    public void testConsumeInChunks() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 1_000).forEach(list::add);
+
+            list.setChunkSize(64);
+            list.consume(e -> consumed.incrementAndGet(), () -> {});
+            list.waitForConsumers();
+
+            assertEquals(64, list.getChunkSize());
+            assertEquals(1_000, consumed.get());
+            assertEquals(1_000, list.size());
+        }
+    }
+
+    @Test
+    public void testClearAndApplyInAdaptiveChunks() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>(2)) {
+            IntStream.rangeClosed(1, 1_001).forEach(list::add);
+
+            list.setChunkSize(AppliedBaseCollection.ADAPTIVE_CHUNKING);
+            list.clearAndApply(e -> consumed.incrementAndGet(), () -> {});
+            list.waitForConsumers();
+
+            assertEquals(1_001, consumed.get());
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    public void testChunkContinuesAfterConsumerThrows() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 10).forEach(list::add);
+
+            list.setChunkSize(10);
+            list.consume(e -> {
+                consumed.incrementAndGet();
+
+                if (e == 1) {
+                    throw new IllegalStateException("First element");
+                }
+            }, () -> {});
+            list.waitForConsumers();
+
+            assertEquals(10, consumed.get());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeChunkSize() {
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            list.setChunkSize(-1);
+        }
+    }
+
+    @Test
+    public void testConsumeAsync() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 100).forEach(list::add);
+
+            list.consumeAsync(e -> consumed.incrementAndGet()).join();
+
+            assertEquals(100, consumed.get());
+            assertEquals(100, list.size());
+        }
+    }
+
+    @Test
+    public void testConsumeAsyncCompletesIndependently() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (final AppliedList<Integer> list = new AppliedList<>(2)) {
+            list.add(1);
+
+            final CompletableFuture<Void> slow = list.consumeAsync(e -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            final CompletableFuture<Void> fast = list.consumeAsync(e -> {});
+
+            fast.join();
+
+            assertFalse(slow.isDone());
+
+            release.countDown();
+            slow.join();
+        }
+    }
+
+    @Test
+    public void testConsumeAsyncCompletesExceptionally() {
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 3).forEach(list::add);
+
+            final CompletableFuture<Void> future = list.consumeAsync(e -> {
+                if (e == 2) {
+                    throw new IllegalStateException("Element 2");
+                }
+            });
+
+            final CompletionException ce = assertThrows(CompletionException.class, future::join);
+
+            assertTrue(ce.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testClearAndApplyAsync() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 100).forEach(list::add);
+
+            list.setChunkSize(AppliedBaseCollection.ADAPTIVE_CHUNKING);
+            list.clearAndApplyAsync(e -> consumed.incrementAndGet()).join();
+
+            assertEquals(100, consumed.get());
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    public void testRemoveAllAndApplyAsync() {
+        final List<Integer> removed = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 6).forEach(list::add);
+
+            assertTrue(list.removeAllAndApplyAsync(List.of(2, 4, 6), removed::add).join());
+            assertEquals(3, removed.size());
+            assertEquals(List.of(1, 3, 5), list);
+            assertFalse(list.removeAllAndApplyAsync(List.of(7), removed::add).join());
+        }
+    }
+
+    @Test
+    public void testRetainAllAndApplyAsync() {
+        final List<Integer> retained = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 6).forEach(list::add);
+
+            assertTrue(list.retainAllAndApplyAsync(List.of(1, 2), retained::add).join());
+            assertEquals(2, retained.size());
+            assertEquals(List.of(1, 2), list);
+        }
+    }
+
+    @Test
+    public void testConsumeOrderedInChunks() {
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedList<Integer> list = new AppliedList<>(4)) {
+            IntStream.rangeClosed(1, 1_000).forEach(list::add);
+
+            list.setOrdered();
+            list.setChunkSize(AppliedBaseCollection.ADAPTIVE_CHUNKING);
+            list.consumeAsync(applied::add).join();
+        }
+
+        assertEquals(IntStream.rangeClosed(1, 1_000).boxed().toList(), applied);
+    }
+
+    @Test
+    public void testConsumeByForkJoin() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 10_000).forEach(list::add);
+
+            list.setForkJoinThreshold(16);
+            list.consume(e -> consumed.incrementAndGet(), () -> {});
+            list.waitForConsumers();
+
+            assertEquals(16, list.getForkJoinThreshold());
+            assertEquals(10_000, consumed.get());
+            assertEquals(10_000, list.size());
+        }
+    }
+
+    @Test
+    public void testConsumeByForkJoinInPool() {
+        final AtomicInteger forkJoin = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+
+        try (final AppliedList<Integer> list = new AppliedList<>(pool)) {
+            IntStream.rangeClosed(1, 100).forEach(list::add);
+
+            list.setForkJoinThreshold(8);
+            list.consume(e -> {
+                if (Thread.currentThread() instanceof ForkJoinWorkerThread thread && thread.getPool() == pool) {
+                    forkJoin.incrementAndGet();
+                }
+            }, () -> {});
+            list.waitForConsumers();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(100, forkJoin.get());
+    }
+
+    @Test
+    public void testClearAndApplyAsyncByForkJoin() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 1_000).forEach(list::add);
+
+            list.setForkJoinThreshold(10);
+            list.clearAndApplyAsync(e -> consumed.incrementAndGet()).join();
+
+            assertEquals(1_000, consumed.get());
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    public void testRetainAllAndApplyByForkJoin() {
+        final List<Integer> retained = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 100).forEach(list::add);
+
+            list.setForkJoinThreshold(4);
+
+            assertTrue(list.retainAllAndApplyAsync(IntStream.rangeClosed(1, 50).boxed().toList(), retained::add).join());
+            assertEquals(50, retained.size());
+            assertEquals(50, list.size());
+        }
+    }
+
+    @Test
+    public void testForkJoinContinuesAfterConsumerThrows() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            IntStream.rangeClosed(1, 100).forEach(list::add);
+
+            list.setForkJoinThreshold(4);
+
+            final CompletableFuture<Void> future = list.consumeAsync(e -> {
+                consumed.incrementAndGet();
+
+                if (e == 1) {
+                    throw new IllegalStateException("First element");
+                }
+            });
+
+            assertThrows(CompletionException.class, future::join);
+            assertEquals(100, consumed.get());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeForkJoinThreshold() {
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            list.setForkJoinThreshold(-1);
+        }
+    }
 }
@@ -0,0 +1,186 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestAppliedMetrics.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for AppliedMetrics.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestAppliedMetrics {
+    @Test
+    public void testMetricsDisabledByDefault() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            assertNull(queue.getMetricsListener());
+        }
+    }
+
+    @Test
+    public void testTasksAndOperationsCounted() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            final AppliedMetrics metrics = queue.enableMetrics();
+
+            queue.applyAndAdd(1, Function.identity());
+            queue.applyAndAdd(2, Function.identity());
+            queue.applyAndAdd(3, Function.identity());
+            queue.pollAndApply(e -> {});
+            queue.pollAndApply(e -> {});
+            queue.waitForConsumers();
+
+            assertSame(metrics, queue.getMetricsListener());
+            assertEquals(2, metrics.getTasksSubmitted());
+            assertEquals(2, metrics.getTasksCompleted());
+            assertEquals(0, metrics.getTasksDropped());
+            assertEquals(0, metrics.getInFlightCount());
+            assertEquals(2, Arrays.stream(metrics.getExecutionTimeHistogram()).sum());
+            assertTrue(metrics.getMaxExecutionNanos() <= metrics.getTotalExecutionNanos());
+            assertEquals(Map.of("applyAndAdd", 3L, "pollAndApply", 2L), metrics.getOperationCounts());
+        }
+    }
+
+    @Test
+    public void testDroppedTasksCounted() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(executor)) {
+            final AppliedMetrics metrics = queue.enableMetrics();
+
+            queue.setMaxInFlight(1, BackpressurePolicy.DROP);
+            queue.applyAndAddAll(List.of(1, 2), Function.identity());
+
+            final CountDownLatch release = new CountDownLatch(1);
+
+            queue.pollAndApply(e -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            queue.pollAndApply(e -> {});
+
+            assertEquals(1, metrics.getTasksDropped());
+
+            release.countDown();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueueDepth() {
+        final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+        try (final AppliedList<Integer> list = new AppliedList<>(executor)) {
+            assertEquals(0, list.getQueueDepth());
+        } finally {
+            executor.shutdown();
+        }
+
+        try (final AppliedList<Integer> list = AppliedList.withVirtualThreads()) {
+            assertEquals(-1, list.getQueueDepth());
+        }
+    }
+
+    @Test
+    public void testCustomListener() {
+        final AtomicInteger operations = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = new AppliedSet<>()) {
+            set.setMetricsListener(new AppliedMetricsListener() {
+                @Override
+                public void operationInvoked(final String operation) {
+                    operations.incrementAndGet();
+                }
+            });
+
+            set.applyAndAdd(1, Function.identity());
+            set.removeAndApply(1, e -> {});
+            set.setMetricsListener(null);
+            set.applyAndAdd(2, Function.identity());
+        }
+
+        assertEquals(2, operations.get());
+    }
+
+    @Test
+    public void testReset() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            final AppliedMetrics metrics = queue.enableMetrics();
+
+            queue.applyAndAdd(1, Function.identity());
+            queue.pollAndApply(e -> {});
+            queue.waitForConsumers();
+            metrics.reset();
+
+            assertEquals(0, metrics.getTasksSubmitted());
+            assertEquals(0, metrics.getTasksCompleted());
+            assertTrue(metrics.getOperationCounts().isEmpty());
+        }
+    }
+
+    @Test
+    public void testRegisteredAsMBean() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("net.jmp.util.extra:type=AppliedMetrics,name=test");
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            final AppliedMetrics metrics = queue.enableMetrics();
+
+            metrics.register(name);
+            queue.applyAndAdd(1, Function.identity());
+            queue.pollAndApply(e -> {});
+            queue.waitForConsumers();
+
+            assertEquals(name, metrics.getObjectName());
+            assertEquals(1L, server.getAttribute(name, "TasksCompleted"));
+        }
+
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,167 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestAppliedPriorityQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for AppliedPriorityQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestAppliedPriorityQueue {
+    public static final int AWAIT_TIME = 500;
+
+    @Test
+    public void testPollAndApplyReturnsHighestPriority() {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedPriorityQueue<Integer> queue = new AppliedPriorityQueue<>(Comparator.reverseOrder())) {
+            queue.addAll(List.of(3, 9, 1, 7, 5));
+
+            assertEquals(Integer.valueOf(9), queue.peek());
+            assertEquals(Integer.valueOf(9), queue.pollAndApply(consumed::add));
+            assertEquals(Integer.valueOf(7), queue.pollAndApply(consumed::add));
+            assertEquals(3, queue.size());
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS)
+                    .untilAsserted(
+                            () -> assertThat(consumed)
+                                    .isEqualTo(Set.of(7, 9))
+                    );
+        }
+    }
+
+    @Test
+    public void testNaturalOrdering() {
+        try (final AppliedPriorityQueue<String> queue = new AppliedPriorityQueue<>()) {
+            queue.addAll(List.of("c", "a", "b"));
+
+            assertNull(queue.comparator());
+            assertEquals(List.of("a", "b", "c"), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testEqualPrioritiesAreKeptInOfferOrder() {
+        final Comparator<String> byLength = Comparator.comparingInt(String::length);
+
+        try (final AppliedPriorityQueue<String> queue = new AppliedPriorityQueue<>(byLength)) {
+            queue.addAll(List.of("bulk 1", "urgent", "bulk 2", "x"));
+
+            assertSame(byLength, queue.comparator());
+            assertEquals("x", queue.poll());
+            assertEquals("bulk 1", queue.poll());
+            assertEquals("urgent", queue.poll());
+            assertEquals("bulk 2", queue.poll());
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    public void testDrainAndApplyInPriorityOrder() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedPriorityQueue<Integer> queue = new AppliedPriorityQueue<>(Comparator.naturalOrder())) {
+            queue.addAll(List.of(5, 2, 4, 1, 3));
+
+            assertEquals(3, queue.drainAndApply(3, batches::add));
+
+            queue.waitForConsumers();
+
+            assertEquals(List.of(List.of(1, 2, 3)), batches);
+        }
+    }
+
+    @Test
+    public void testRemoveIfAndApply() {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedPriorityQueue<Integer> queue = new AppliedPriorityQueue<>(Comparator.naturalOrder())) {
+            IntStream.rangeClosed(1, 10).forEach(queue::add);
+
+            assertTrue(queue.removeIfAndApply(e -> e > 5, consumed::add));
+
+            queue.waitForConsumers();
+
+            assertEquals(Set.of(6, 7, 8, 9, 10), consumed);
+            assertEquals(List.of(1, 2, 3, 4, 5), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() {
+        final Set<Integer> polled = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedPriorityQueue<Integer> queue = AppliedPriorityQueue.withSharedExecutor(Comparator.naturalOrder())) {
+            final List<CompletableFuture<Void>> producers = IntStream.range(0, 4)
+                    .mapToObj(p -> CompletableFuture.runAsync(() ->
+                            IntStream.range(p * 1_000, (p + 1) * 1_000).forEach(queue::offer)))
+                    .toList();
+
+            producers.forEach(CompletableFuture::join);
+
+            final List<CompletableFuture<Void>> consumers = IntStream.range(0, 4)
+                    .mapToObj(_ -> CompletableFuture.runAsync(() -> {
+                        while (queue.pollAndApply(polled::add) != null) {
+                            // Keep polling until the queue is empty
+                        }
+                    }))
+                    .toList();
+
+            consumers.forEach(CompletableFuture::join);
+            queue.waitForConsumers();
+
+            assertEquals(4_000, polled.size());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullComparator() {
+        try (final AppliedPriorityQueue<Integer> _ = new AppliedPriorityQueue<>(null)) {
+            fail("Expected a NullPointerException");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)TestAppliedQueue.java 1.5.0   10/16/2026
  * (#)TestAppliedQueue.java 1.2.0   09/28/2024
  *
  * MIT License
@@ -27,11 +28,25 @@ package net.jmp.util.extra;
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -47,7 +62,7 @@ import org.junit.Test;
 
 /// A test class for AppliedQueue.
 ///
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public final class TestAppliedQueue {
     public static final int AWAIT_TIME = 500;
@@ -578,4 +593,591 @@ public final class TestAppliedQueue {
 
         assertEquals(0, results.size());
     }
+
+    @Test
+    public void testWaitForConsumersAfterManyPolls() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 10_000).forEach(queue::offer);
+
+            while (!queue.isEmpty()) {
+                queue.pollAndApply(e -> consumed.incrementAndGet());
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(10_000, consumed.get());
+        }
+    }
+
+    @Test
+    public void testWaitForConsumersWhenConsumerThrows() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 10).forEach(queue::offer);
+
+            while (!queue.isEmpty()) {
+                queue.pollAndApply(e -> {
+                    consumed.incrementAndGet();
+
+                    if (e % 2 == 0) {
+                        throw new IllegalStateException("Even element: " + e);
+                    }
+                });
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(10, consumed.get());
+        }
+    }
+
+    @Test
+    public void testConstructWithBorrowedExecutor() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(executor)) {
+            IntStream.rangeClosed(1, 3).forEach(queue::add);
+
+            queue.clearAndApply(e -> consumed.incrementAndGet(), () -> {});
+        }
+
+        assertEquals(3, consumed.get());
+        assertFalse(executor.isShutdown());
+
+        executor.shutdown();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructWithNullExecutor() {
+        try (final var _ = new AppliedQueue<Integer>((ExecutorService) null)) {
+            assertTrue(true);
+        }
+    }
+
+    @Test
+    public void testWithVirtualThreads() {
+        final AtomicInteger virtual = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withVirtualThreads()) {
+            IntStream.rangeClosed(1, 3).forEach(queue::add);
+
+            queue.clearAndApply(e -> {
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+            }, () -> {});
+        }
+
+        assertEquals(3, virtual.get());
+    }
+
+    @Test
+    public void testClearAndApplyInChunks() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 1_000).forEach(queue::offer);
+
+            queue.setChunkSize(100);
+            queue.clearAndApply(e -> consumed.incrementAndGet(), () -> {});
+            queue.waitForConsumers();
+
+            assertEquals(1_000, consumed.get());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testInFlightCount() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(1)) {
+            queue.offer(1);
+            queue.offer(2);
+
+            queue.pollAndApply(e -> awaitQuietly(release));
+            queue.pollAndApply(e -> {});
+
+            assertEquals(2, queue.getInFlightCount());
+
+            release.countDown();
+            queue.waitForConsumers();
+
+            assertEquals(0, queue.getInFlightCount());
+        }
+    }
+
+    @Test
+    public void testBlockBackpressure() {
+        final AtomicInteger consumed = new AtomicInteger();
+        final AtomicInteger maxSeen = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(4)) {
+            IntStream.rangeClosed(1, 100).forEach(queue::offer);
+
+            queue.setMaxInFlight(2, BackpressurePolicy.BLOCK);
+
+            while (!queue.isEmpty()) {
+                queue.pollAndApply(e -> consumed.incrementAndGet());
+                maxSeen.accumulateAndGet((int) queue.getInFlightCount(), Math::max);
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(100, consumed.get());
+            assertTrue(maxSeen.get() <= 2);
+            assertEquals(2, queue.getMaxInFlight());
+            assertEquals(BackpressurePolicy.BLOCK, queue.getBackpressurePolicy());
+        }
+    }
+
+    @Test
+    public void testCallerRunsBackpressure() {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread caller = Thread.currentThread();
+        final AtomicBoolean ranOnCaller = new AtomicBoolean(false);
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(1)) {
+            queue.offer(1);
+            queue.offer(2);
+
+            queue.setMaxInFlight(1, BackpressurePolicy.CALLER_RUNS);
+
+            queue.pollAndApply(e -> awaitQuietly(release));
+            queue.pollAndApply(e -> ranOnCaller.set(Thread.currentThread() == caller));
+
+            assertTrue(ranOnCaller.get());
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testDropBackpressure() {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> dropped = new ArrayList<>();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(1)) {
+            IntStream.rangeClosed(1, 3).forEach(queue::offer);
+
+            queue.setMaxInFlight(1, BackpressurePolicy.DROP);
+            queue.setOnDrop(dropped::add);
+
+            queue.pollAndApply(e -> awaitQuietly(release));
+            queue.pollAndApply(e -> {});
+            queue.pollAndApply(e -> {});
+
+            assertEquals(List.of(2, 3), dropped);
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testFailFastBackpressure() {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(1)) {
+            IntStream.rangeClosed(1, 2).forEach(queue::offer);
+
+            queue.setMaxInFlight(1, BackpressurePolicy.FAIL_FAST);
+            queue.pollAndApply(e -> awaitQuietly(release));
+
+            assertThrows(RejectedExecutionException.class, () -> queue.pollAndApply(e -> {}));
+
+            release.countDown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxInFlight() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            queue.setMaxInFlight(-1, BackpressurePolicy.BLOCK);
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testClearAndApplyAsync() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 100).forEach(queue::offer);
+
+            queue.clearAndApplyAsync(e -> consumed.incrementAndGet()).join();
+
+            assertEquals(100, consumed.get());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testRetainAllAndApplyAsync() {
+        final AtomicInteger retained = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 6).forEach(queue::offer);
+
+            assertTrue(queue.retainAllAndApplyAsync(List.of(5, 6), e -> retained.incrementAndGet()).join());
+            assertEquals(2, retained.get());
+            assertEquals(2, queue.size());
+        }
+    }
+
+    @Test
+    public void testOrdered() {
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(4)) {
+            IntStream.rangeClosed(1, 1_000).forEach(queue::offer);
+
+            queue.setOrdered();
+
+            while (!queue.isEmpty()) {
+                queue.pollAndApply(applied::add);
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(ApplicationMode.ORDERED, queue.getApplicationMode());
+        }
+
+        assertEquals(IntStream.rangeClosed(1, 1_000).boxed().toList(), applied);
+    }
+
+    @Test
+    public void testOrderedByKey() {
+        final Map<Integer, List<Integer>> appliedByKey = new ConcurrentHashMap<>();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(4)) {
+            IntStream.rangeClosed(1, 1_000).forEach(queue::offer);
+
+            queue.setOrderedByKey(e -> e % 8, 3);
+
+            while (!queue.isEmpty()) {
+                queue.pollAndApply(e -> appliedByKey.computeIfAbsent(e % 8, _ -> new ArrayList<>()).add(e));
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(ApplicationMode.ORDERED_BY_KEY, queue.getApplicationMode());
+        }
+
+        assertEquals(8, appliedByKey.size());
+
+        appliedByKey.forEach((key, applied) -> {
+            assertEquals(125, applied.size());
+            assertEquals(applied.stream().sorted().toList(), applied);
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOrderedByKeyWithZeroLanes() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            queue.setOrderedByKey(e -> e, 0);
+        }
+    }
+
+    @Test
+    public void testDrainAndApply() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 10).forEach(queue::offer);
+
+            assertEquals(4, queue.drainAndApply(4, batches::add));
+            assertEquals(6, queue.size());
+
+            queue.waitForConsumers();
+
+            assertEquals(List.of(List.of(1, 2, 3, 4)), batches);
+        }
+    }
+
+    @Test
+    public void testDrainAndApplyEmptyQueue() {
+        final AtomicInteger calls = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            assertEquals(0, queue.drainAndApply(4, _ -> calls.incrementAndGet()));
+
+            queue.waitForConsumers();
+
+            assertEquals(0, calls.get());
+        }
+    }
+
+    @Test
+    public void testDrainAllAndApply() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 10).forEach(queue::offer);
+
+            queue.setOrdered();
+
+            assertEquals(10, queue.drainAllAndApply(4, batches::add));
+            assertTrue(queue.isEmpty());
+
+            queue.waitForConsumers();
+
+            assertEquals(List.of(List.of(1, 2, 3, 4), List.of(5, 6, 7, 8), List.of(9, 10)), batches);
+        }
+    }
+
+    @Test
+    public void testDrainAndApplyBlockingQueue() {
+        final AtomicInteger drained = new AtomicInteger();
+
+        try (final AppliedBlockingQueue<Integer> queue = new AppliedBlockingQueue<>(16)) {
+            IntStream.rangeClosed(1, 16).forEach(queue::offer);
+
+            assertEquals(16, queue.drainAllAndApply(5, batch -> drained.addAndGet(batch.size())));
+
+            queue.waitForConsumers();
+
+            assertEquals(16, drained.get());
+        }
+    }
+
+    @Test
+    public void testDrainAndApplyInvalidMaxElements() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            assertThrows(IllegalArgumentException.class, () -> queue.drainAndApply(0, _ -> {}));
+            assertThrows(IllegalArgumentException.class, () -> queue.drainAllAndApply(-1, _ -> {}));
+        }
+    }
+
+    @Test
+    public void testRemoveIfAndApplyAppliesOnlyRemovedElements() {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 10).forEach(queue::offer);
+
+            assertTrue(queue.removeIfAndApply(e -> e % 2 == 0, consumed::add));
+
+            queue.waitForConsumers();
+
+            assertEquals(Set.of(2, 4, 6, 8, 10), consumed);
+            assertEquals(List.of(1, 3, 5, 7, 9), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testRemoveIfAndApplyLargeQueue() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.range(0, 100_000).forEach(queue::offer);
+
+            queue.setChunkSize(AppliedBaseCollection.ADAPTIVE_CHUNKING);
+
+            assertTrue(queue.removeIfAndApply(e -> e % 2 == 0, e -> consumed.incrementAndGet()));
+
+            queue.waitForConsumers();
+
+            assertEquals(50_000, consumed.get());
+            assertEquals(50_000, queue.size());
+        }
+    }
+
+    @Test
+    public void testRemoveIfAndApplyRacingPollsAppliesEachElementOnce() throws Exception {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+        final AtomicInteger duplicates = new AtomicInteger();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.range(0, 100_000).forEach(queue::offer);
+
+            final Thread poller = Thread.ofPlatform().start(() -> {
+                while (queue.pollAndApply(e -> {
+                    if (!consumed.add(e)) {
+                        duplicates.incrementAndGet();
+                    }
+                }) != null) {
+                    // Poll until empty
+                }
+            });
+
+            queue.removeIfAndApply(_ -> true, e -> {
+                if (!consumed.add(e)) {
+                    duplicates.incrementAndGet();
+                }
+            });
+
+            poller.join();
+            queue.waitForConsumers();
+
+            assertEquals(0, duplicates.get());
+            assertEquals(100_000, consumed.size());
+        }
+    }
+
+    @Test
+    public void testRemoveIfAndApplyBatch() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            IntStream.rangeClosed(1, 6).forEach(queue::offer);
+
+            assertTrue(queue.removeIfAndApplyBatch(e -> e > 3, batches::add));
+            assertFalse(queue.removeIfAndApplyBatch(e -> e > 3, batches::add));
+
+            queue.waitForConsumers();
+
+            assertEquals(List.of(List.of(4, 5, 6)), batches);
+            assertEquals(3, queue.size());
+        }
+    }
+
+    @Test
+    public void testPublisherHonorsDemand() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        final AppliedQueue<Integer> queue = new AppliedQueue<>(1);
+
+        queue.asPublisher().subscribe(subscriber);
+        subscriber.subscription.request(3);
+
+        IntStream.rangeClosed(1, 5).forEach(queue::offer);
+
+        await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(subscriber.received.size()).isEqualTo(3));
+
+        assertEquals(2, queue.size());
+
+        subscriber.subscription.request(2);
+
+        await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(subscriber.received.size()).isEqualTo(5));
+
+        assertEquals(List.of(1, 2, 3, 4, 5), subscriber.received);
+        assertTrue(queue.isEmpty());
+
+        queue.close();
+
+        assertTrue(subscriber.completed.get());
+    }
+
+    @Test
+    public void testPublisherSpreadsWorkAcrossSubscribers() {
+        final List<RecordingSubscriber> subscribers = List.of(new RecordingSubscriber(),
+                new RecordingSubscriber(),
+                new RecordingSubscriber());
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            for (final RecordingSubscriber subscriber : subscribers) {
+                queue.asPublisher().subscribe(subscriber);
+                subscriber.subscription.request(10);
+            }
+
+            IntStream.range(0, 30).forEach(queue::add);
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() ->
+                    assertThat(subscribers.stream().mapToInt(s -> s.received.size()).sum()).isEqualTo(30));
+
+            final Set<Integer> all = ConcurrentHashMap.newKeySet();
+
+            subscribers.forEach(s -> {
+                assertEquals(10, s.received.size());
+
+                all.addAll(s.received);
+            });
+
+            assertEquals(30, all.size());
+        }
+    }
+
+    @Test
+    public void testPublisherRejectsInvalidRequestAndDuplicateSubscribe() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>()) {
+            final Flow.Publisher<Integer> publisher = queue.asPublisher();
+
+            assertSame(publisher, queue.asPublisher());
+
+            publisher.subscribe(subscriber);
+            publisher.subscribe(subscriber);
+
+            assertTrue(subscriber.error.get() instanceof IllegalStateException);
+
+            subscriber.subscription.request(0);
+
+            await().atMost(AWAIT_TIME, TimeUnit.MILLISECONDS).untilAsserted(() ->
+                    assertThat(subscriber.error.get() instanceof IllegalArgumentException).isEqualTo(true));
+        }
+    }
+
+    @Test
+    public void testPublisherSerializesPollsOfASingleConsumerRingBuffer() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (final RingBufferMode mode : List.of(RingBufferMode.SPSC, RingBufferMode.MPSC)) {
+            final List<RecordingSubscriber> subscribers = List.of(new RecordingSubscriber(),
+                    new RecordingSubscriber(),
+                    new RecordingSubscriber(),
+                    new RecordingSubscriber());
+
+            try (final AppliedQueue<Integer> queue = AppliedQueue.withRingBuffer(1 << 17, mode, executor)) {
+                for (final RecordingSubscriber subscriber : subscribers) {
+                    queue.asPublisher().subscribe(subscriber);
+                    subscriber.subscription.request(Long.MAX_VALUE);
+                }
+
+                IntStream.range(0, 50_000).forEach(e -> assertTrue(queue.offer(e)));
+
+                await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                        assertThat(subscribers.stream().mapToInt(s -> s.received.size()).sum()).isEqualTo(50_000));
+
+                final Set<Integer> all = new HashSet<>();
+
+                subscribers.forEach(s -> all.addAll(s.received));
+
+                assertEquals(mode.name(), 50_000, all.size());
+                assertTrue(queue.isEmpty());
+            }
+        }
+
+        executor.shutdown();
+    }
+
+    /// A subscriber that records what it receives.
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Integer item) {
+            this.received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error.set(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed.set(true);
+        }
+    }
 }
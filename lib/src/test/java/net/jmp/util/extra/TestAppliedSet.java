@@ -1,6 +1,7 @@
 package net.jmp.util.extra;
 
 /*
+ * (#)TestAppliedSet.java   1.5.0   10/16/2026
  * (#)TestAppliedSet.java   1.2.0   09/29/2024
  *
  * MIT License
@@ -30,8 +31,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -48,7 +53,7 @@ import org.junit.Test;
 
 /// A test class for AppliedSet.
 ///
-/// @version    1.2.0
+/// @version    1.5.0
 /// @since      1.2.0
 public final class TestAppliedSet {
     public static final int AWAIT_TIME = 500;
@@ -605,4 +610,103 @@ public final class TestAppliedSet {
 
         assertEquals(0, results.size());
     }
+
+    @Test
+    public void testConstructWithBorrowedExecutor() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = new AppliedSet<>(executor)) {
+            IntStream.rangeClosed(1, 3).forEach(set::add);
+
+            set.clearAndApply(e -> consumed.incrementAndGet(), () -> {});
+        }
+
+        assertEquals(3, consumed.get());
+        assertFalse(executor.isShutdown());
+
+        executor.shutdown();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructWithNullExecutor() {
+        try (final var _ = new AppliedSet<Integer>((ExecutorService) null)) {
+            assertTrue(true);
+        }
+    }
+
+    @Test
+    public void testWithVirtualThreads() {
+        final AtomicInteger virtual = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = AppliedSet.withVirtualThreads()) {
+            IntStream.rangeClosed(1, 3).forEach(set::add);
+
+            set.clearAndApply(e -> {
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+            }, () -> {});
+        }
+
+        assertEquals(3, virtual.get());
+    }
+
+    @Test
+    public void testConsumeInChunks() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = new AppliedSet<>()) {
+            IntStream.rangeClosed(1, 1_000).forEach(set::add);
+
+            set.setChunkSize(AppliedBaseCollection.ADAPTIVE_CHUNKING);
+            set.consume(e -> consumed.incrementAndGet(), () -> {});
+            set.waitForConsumers();
+
+            assertEquals(1_000, consumed.get());
+            assertEquals(1_000, set.size());
+        }
+    }
+
+    @Test
+    public void testConsumeAsync() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = new AppliedSet<>()) {
+            IntStream.rangeClosed(1, 100).forEach(set::add);
+
+            set.consumeAsync(e -> consumed.incrementAndGet()).join();
+
+            assertEquals(100, consumed.get());
+        }
+    }
+
+    @Test
+    public void testRemoveAllAndApplyAsync() {
+        final AtomicInteger removed = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = new AppliedSet<>()) {
+            IntStream.rangeClosed(1, 6).forEach(set::add);
+
+            assertTrue(set.removeAllAndApplyAsync(List.of(1, 2), e -> removed.incrementAndGet()).join());
+            assertEquals(2, removed.get());
+            assertEquals(4, set.size());
+        }
+    }
+
+    @Test
+    public void testConsumeByForkJoin() {
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try (final AppliedSet<Integer> set = new AppliedSet<>()) {
+            IntStream.rangeClosed(1, 1_000).forEach(set::add);
+
+            set.setForkJoinThreshold(16);
+            set.consume(e -> consumed.incrementAndGet(), () -> {});
+            set.waitForConsumers();
+
+            assertEquals(1_000, consumed.get());
+            assertEquals(1_000, set.size());
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestClaimingQueue.java    1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for ClaimingQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestClaimingQueue {
+    @Test
+    public void testSingleThreadIsFifo() {
+        final ClaimingQueue<Integer> queue = new ClaimingQueue<>();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.poll());
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+
+        IntStream.rangeClosed(1, 5).forEach(e -> assertTrue(queue.offer(e)));
+
+        assertEquals(5, queue.size());
+        assertEquals(List.of(1, 2, 3, 4, 5), new ArrayList<>(queue));
+        assertEquals(Integer.valueOf(1), queue.peek());
+
+        IntStream.rangeClosed(1, 5).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemovals() {
+        final ClaimingQueue<Integer> queue = new ClaimingQueue<>();
+        final List<Integer> removed = new ArrayList<>();
+
+        IntStream.rangeClosed(1, 10).forEach(queue::offer);
+
+        assertTrue(queue.remove(Integer.valueOf(10)));
+        assertFalse(queue.remove(Integer.valueOf(10)));
+        assertFalse(queue.remove(null));
+
+        assertTrue(queue.removeIf(e -> e % 2 == 0, removed::add));
+        assertFalse(queue.removeIf(e -> e % 2 == 0, removed::add));
+        assertEquals(List.of(2, 4, 6, 8), removed);
+        assertEquals(List.of(1, 3, 5, 7, 9), new ArrayList<>(queue));
+
+        final Iterator<Integer> iterator = queue.iterator(removed::add);
+
+        iterator.next();
+        iterator.remove();
+
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertEquals(Integer.valueOf(3), iterator.next());
+        assertTrue(iterator.hasNext());
+
+        iterator.remove();
+
+        assertEquals(List.of(2, 4, 6, 8, 1, 3), removed);
+        assertEquals(List.of(5, 7, 9), new ArrayList<>(queue));
+        assertEquals(Integer.valueOf(5), queue.poll());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testIteratorRemovesTheElementReturned() {
+        final ClaimingQueue<String> queue = new ClaimingQueue<>();
+        final String first = new String("a");
+        final String second = new String("a");
+
+        queue.offer(first);
+        queue.offer(second);
+
+        final Iterator<String> iterator = queue.iterator();
+
+        iterator.next();
+
+        assertSame(second, iterator.next());
+
+        iterator.remove();
+
+        assertSame(first, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRemoveIfIsLinear() {
+        final ClaimingQueue<Integer> queue = new ClaimingQueue<>();
+        final AtomicInteger removed = new AtomicInteger();
+
+        IntStream.range(0, 1_000_000).forEach(queue::offer);
+
+        final long start = System.nanoTime();
+
+        assertTrue(queue.removeIf(e -> e % 2 != 0, e -> removed.incrementAndGet()));
+
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(500_000, removed.get());
+        assertEquals(500_000, queue.size());
+        assertTrue("Took " + millis + " ms", millis < 5_000);
+    }
+
+    @Test
+    public void testRemoveIfRacingPollsTakesEachElementOnce() {
+        for (int round = 0; round < 20; round++) {
+            final ClaimingQueue<Integer> queue = new ClaimingQueue<>();
+            final Set<Integer> taken = ConcurrentHashMap.newKeySet();
+            final AtomicInteger duplicates = new AtomicInteger();
+
+            IntStream.range(0, 10_000).forEach(queue::offer);
+
+            final CompletableFuture<Void> poller = CompletableFuture.runAsync(() -> {
+                Integer element;
+
+                while ((element = queue.poll()) != null) {
+                    if (!taken.add(element)) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }, Thread.ofPlatform()::start);
+
+            queue.removeIf(_ -> true, e -> {
+                if (!taken.add(e)) {
+                    duplicates.incrementAndGet();
+                }
+            });
+
+            poller.join();
+
+            assertEquals(0, duplicates.get());
+            assertEquals(10_000, taken.size());
+            assertTrue(queue.isEmpty());
+        }
+    }
+}
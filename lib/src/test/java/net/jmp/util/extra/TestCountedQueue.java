@@ -0,0 +1,212 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestCountedQueue.java     1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for CountedQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestCountedQueue {
+    @Test
+    public void testCountFollowsOfferAndPoll() {
+        final CountedQueue<Integer> queue = new CountedQueue<>(new ClaimingQueue<>());
+
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+        assertEquals(0L, queue.count());
+
+        IntStream.rangeClosed(1, 5).forEach(e -> assertTrue(queue.offer(e)));
+
+        assertEquals(5, queue.size());
+        assertEquals(List.of(1, 2, 3, 4, 5), new ArrayList<>(queue));
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    public void testCountFollowsRemovals() {
+        final CountedQueue<Integer> queue = new CountedQueue<>(new ClaimingQueue<>());
+
+        IntStream.rangeClosed(1, 10).forEach(queue::offer);
+
+        assertTrue(queue.remove(Integer.valueOf(10)));
+        assertFalse(queue.remove(Integer.valueOf(10)));
+        assertEquals(9, queue.size());
+
+        assertTrue(queue.removeIf(e -> e % 2 == 0));
+        assertEquals(5, queue.size());
+
+        final Iterator<Integer> iterator = queue.iterator();
+
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(4, queue.size());
+        assertTrue(queue.removeAll(List.of(3, 5)));
+        assertEquals(List.of(7, 9), new ArrayList<>(queue));
+        assertEquals(2, queue.size());
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testInvalidBackingQueue() {
+        assertThrows(NullPointerException.class, () -> new CountedQueue<Integer>(null));
+
+        final ClaimingQueue<Integer> backing = new ClaimingQueue<>();
+
+        backing.offer(1);
+
+        assertThrows(IllegalArgumentException.class, () -> new CountedQueue<>(backing));
+    }
+
+    @Test
+    public void testIteratorUncountsTheElementReturned() {
+        final CountedQueue<String> queue = new CountedQueue<>(new ClaimingQueue<>());
+        final String first = new String("a");
+        final String second = new String("a");
+
+        queue.offer(first);
+        queue.offer(second);
+
+        final Iterator<String> iterator = queue.iterator();
+
+        iterator.next();
+
+        assertSame(second, iterator.next());
+
+        iterator.remove();
+
+        assertEquals(1, queue.size());
+        assertSame(first, queue.poll());
+        assertEquals(0L, queue.count());
+    }
+
+    @Test
+    public void testCountIsExactAfterConcurrentTransfer() {
+        final CountedQueue<Integer> queue = new CountedQueue<>(new ClaimingQueue<>());
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        for (int p = 0; p < 4; p++) {
+            final int base = p * 10_000;
+
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    queue.offer(base + i);
+                }
+            }, Thread.ofPlatform()::start));
+        }
+
+        tasks.forEach(CompletableFuture::join);
+        tasks.clear();
+
+        assertEquals(40_000, queue.size());
+
+        for (int c = 0; c < 4; c++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    assertTrue(received.add(queue.poll()));
+                }
+            }, Thread.ofPlatform()::start));
+        }
+
+        tasks.forEach(CompletableFuture::join);
+
+        assertEquals(20_000, received.size());
+        assertEquals(20_000, queue.size());
+        assertEquals(20_000L, queue.count());
+    }
+
+    @Test
+    public void testCountIsExactWhenRemoveIfRacesWithPolls() {
+        final CountedQueue<Integer> queue = new CountedQueue<>(new ClaimingQueue<>());
+
+        for (int round = 0; round < 20; round++) {
+            IntStream.range(0, 10_000).forEach(queue::offer);
+
+            final CompletableFuture<Void> poller = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    queue.poll();
+                }
+            }, Thread.ofPlatform()::start);
+
+            queue.removeIf(e -> e % 2 == 0);
+            poller.join();
+
+            assertEquals(new ArrayList<>(queue).size(), queue.size());
+
+            queue.clear();
+
+            assertEquals(0L, queue.count());
+        }
+    }
+
+    @Test
+    public void testAppliedQueueWithCountedSize() {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withCountedSize()) {
+            IntStream.rangeClosed(1, 20).forEach(queue::add);
+
+            assertEquals(20, queue.size());
+            assertEquals(20L, queue.approximateSize());
+
+            queue.removeIfAndApply(e -> e > 16, consumed::add);
+
+            assertEquals(16L, queue.approximateSize());
+
+            queue.drainAndApply(6, consumed::addAll);
+
+            assertEquals(10, queue.size());
+
+            queue.clearAndApply(consumed::add, () -> {});
+            queue.waitForConsumers();
+
+            assertEquals(20, consumed.size());
+            assertEquals(0L, queue.approximateSize());
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestJournalQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/// A test class for JournalQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestJournalQueue {
+    /// A codec of integers as four bytes.
+    private static final ElementCodec<Integer> INTEGER_CODEC = new ElementCodec<>() {
+        @Override
+        public int size(final Integer element) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer element, final ByteBuffer buffer) {
+            buffer.putInt(element);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("journal");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testFifo() throws IOException {
+        try (final JournalQueue<String> queue = this.open(ElementCodec.utf8(), 4_096)) {
+            assertTrue(queue.isEmpty());
+            assertNull(queue.peek());
+            assertNull(queue.poll());
+
+            queue.addAll(List.of("a", "bé", "c€", "d😀"));
+
+            assertEquals(4, queue.size());
+            assertEquals(List.of("a", "bé", "c€", "d😀"), new ArrayList<>(queue));
+            assertEquals("a", queue.peek());
+            assertEquals("a", queue.poll());
+            assertEquals("bé", queue.poll());
+            assertEquals("c€", queue.poll());
+            assertEquals("d😀", queue.poll());
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    public void testReopenResumesFromCheckpoint() throws IOException {
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 4_096)) {
+            IntStream.rangeClosed(1, 5).forEach(queue::add);
+
+            assertEquals(Integer.valueOf(1), queue.poll());
+            assertEquals(Integer.valueOf(2), queue.poll());
+        }
+
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 4_096)) {
+            assertEquals(3, queue.size());
+            assertEquals(List.of(3, 4, 5), new ArrayList<>(queue));
+
+            queue.add(6);
+
+            assertEquals(Integer.valueOf(3), queue.poll());
+        }
+
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 4_096)) {
+            assertEquals(List.of(4, 5, 6), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testSegmentsRollAndAreDeletedWhenConsumed() throws IOException {
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64)) {
+            IntStream.range(0, 100).forEach(queue::add);
+
+            assertTrue(this.segmentCount() > 10);
+            assertEquals(100, queue.size());
+
+            IntStream.range(0, 97).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+
+            assertEquals(1, this.segmentCount());
+        }
+
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64)) {
+            assertEquals(List.of(97, 98, 99), new ArrayList<>(queue));
+
+            queue.clear();
+
+            assertTrue(queue.isEmpty());
+        }
+
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64)) {
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testElementLargerThanSegment() throws IOException {
+        try (final JournalQueue<String> queue = this.open(ElementCodec.utf8(), 64)) {
+            queue.offer("x".repeat(61));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUseAfterClose() throws IOException {
+        final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64);
+
+        queue.close();
+        queue.offer(1);
+    }
+
+    @Test
+    public void testReopenWithAnotherSegmentSizeIsRejected() throws IOException {
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64)) {
+            queue.add(1);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> this.open(INTEGER_CODEC, 128));
+
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64)) {
+            assertEquals(List.of(1), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testDirectoryIsLockedWhileOpen() throws IOException {
+        try (final JournalQueue<Integer> _ = this.open(INTEGER_CODEC, 64)) {
+            assertThrows(IllegalStateException.class, () -> this.open(INTEGER_CODEC, 64));
+        }
+
+        try (final JournalQueue<Integer> queue = this.open(INTEGER_CODEC, 64)) {
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testUnacknowledgedRecordsAreDeliveredAgain() throws IOException {
+        try (final JournalQueue<Integer> queue = this.openAtLeastOnce(64)) {
+            IntStream.rangeClosed(1, 40).forEach(queue::add);
+
+            final long segments = this.segmentCount();
+            final JournalQueue.Polled<Integer> first = queue.pollUnacknowledged();
+            final JournalQueue.Polled<Integer> second = queue.pollUnacknowledged();
+
+            assertEquals(Integer.valueOf(1), first.element());
+            assertEquals(Integer.valueOf(2), second.element());
+
+            queue.acknowledge(second.sequence());
+
+            IntStream.rangeClosed(3, 30).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+
+            assertEquals(segments, this.segmentCount());
+        }
+
+        try (final JournalQueue<Integer> queue = this.openAtLeastOnce(64)) {
+            assertEquals(40, queue.size());
+
+            final JournalQueue.Polled<Integer> first = queue.pollUnacknowledged();
+
+            assertEquals(Integer.valueOf(1), first.element());
+
+            IntStream.rangeClosed(2, 30).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+
+            final long segments = this.segmentCount();
+
+            queue.acknowledge(first.sequence());
+
+            assertTrue(this.segmentCount() < segments);
+        }
+
+        try (final JournalQueue<Integer> queue = this.openAtLeastOnce(64)) {
+            assertEquals(IntStream.rangeClosed(31, 40).boxed().toList(), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testPollUnacknowledgedWaitsForRoom() throws Exception {
+        try (final JournalQueue<Integer> queue = new JournalQueue<>(this.directory,
+                INTEGER_CODEC,
+                64,
+                FsyncPolicy.ON_ROLL,
+                DeliveryGuarantee.AT_LEAST_ONCE,
+                2)) {
+            IntStream.rangeClosed(1, 5).forEach(queue::add);
+
+            final JournalQueue.Polled<Integer> first = queue.pollUnacknowledged();
+            final JournalQueue.Polled<Integer> second = queue.pollUnacknowledged();
+
+            assertEquals(2, queue.unacknowledgedCount());
+            assertEquals(Integer.valueOf(3), queue.poll());
+
+            final CompletableFuture<JournalQueue.Polled<Integer>> third =
+                    CompletableFuture.supplyAsync(queue::pollUnacknowledged);
+
+            queue.acknowledge(second.sequence());
+
+            assertThrows(TimeoutException.class, () -> third.get(100, TimeUnit.MILLISECONDS));
+
+            queue.acknowledge(first.sequence());
+
+            assertEquals(Integer.valueOf(4), third.get(5, TimeUnit.SECONDS).element());
+            assertEquals(1, queue.unacknowledgedCount());
+        }
+    }
+
+    @Test
+    public void testAppliedQueueSettlesElementsWhoseConsumersThrew() throws IOException {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            IntStream.rangeClosed(1, 10).forEach(queue::add);
+
+            for (int i = 0; i < 4; i++) {
+                queue.pollAndApply(e -> {
+                    if (e == 2) {
+                        throw new IllegalStateException("Consumer failed");
+                    }
+
+                    consumed.add(e);
+                });
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(Set.of(1, 3, 4), consumed);
+        }
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            assertEquals(IntStream.rangeClosed(5, 10).boxed().toList(), new ArrayList<>(queue));
+
+            queue.setRetryPolicy(RetryPolicy.of(2, Duration.ZERO));
+
+            assertEquals(2, queue.drainAndApply(2, batch -> {
+                throw new IllegalStateException("Consumer failed");
+            }));
+
+            queue.waitForConsumers();
+
+            assertEquals(List.of(5, 6), new ArrayList<>(queue.getDeadLetterQueue()));
+        }
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            assertEquals(IntStream.rangeClosed(7, 10).boxed().toList(), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testAppliedQueueSettlesDroppedElements() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> dropped = new CopyOnWriteArrayList<>();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            IntStream.rangeClosed(1, 5).forEach(queue::add);
+
+            queue.setMaxInFlight(1, BackpressurePolicy.DROP);
+            queue.setOnDrop(dropped::add);
+
+            queue.pollAndApply(_ -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            queue.pollAndApply(_ -> { });
+
+            release.countDown();
+            queue.waitForConsumers();
+
+            assertEquals(List.of(2), dropped);
+        }
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            assertEquals(List.of(3, 4, 5), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    public void testFailingConsumersStillReleaseSegments() throws IOException {
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC, 64, FsyncPolicy.ON_ROLL)) {
+            IntStream.rangeClosed(1, 40).forEach(queue::add);
+
+            final long segments = this.segmentCount();
+
+            assertEquals(40, queue.drainAllAndApply(5, batch -> {
+                throw new IllegalStateException("Consumer failed");
+            }));
+
+            queue.waitForConsumers();
+
+            assertTrue(this.segmentCount() < segments);
+        }
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC, 64, FsyncPolicy.ON_ROLL)) {
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testAppliedQueueWithJournal() throws IOException {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            IntStream.rangeClosed(1, 10).forEach(queue::add);
+
+            for (int i = 0; i < 4; i++) {
+                queue.pollAndApply(consumed::add);
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(Set.of(1, 2, 3, 4), consumed);
+        }
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withJournal(this.directory, INTEGER_CODEC)) {
+            assertEquals(List.of(5, 6, 7, 8, 9, 10), new ArrayList<>(queue));
+        }
+    }
+
+    private <T> JournalQueue<T> open(final ElementCodec<T> codec, final int segmentSize) throws IOException {
+        return new JournalQueue<>(this.directory, codec, segmentSize, FsyncPolicy.ON_ROLL);
+    }
+
+    private JournalQueue<Integer> openAtLeastOnce(final int segmentSize) throws IOException {
+        return new JournalQueue<>(this.directory, INTEGER_CODEC, segmentSize, FsyncPolicy.ON_ROLL, DeliveryGuarantee.AT_LEAST_ONCE);
+    }
+
+    private long segmentCount() throws IOException {
+        try (final Stream<Path> paths = Files.list(this.directory)) {
+            return paths.filter(path -> path.toString().endsWith(".journal")).count();
+        }
+    }
+}
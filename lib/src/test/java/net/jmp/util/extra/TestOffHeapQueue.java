@@ -0,0 +1,120 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestOffHeapQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for OffHeapQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestOffHeapQueue {
+    @Test
+    public void testFifoAcrossChunks() {
+        try (final OffHeapQueue<String> queue = new OffHeapQueue<>(ElementCodec.utf8(), 64)) {
+            assertTrue(queue.isEmpty());
+            assertNull(queue.peek());
+            assertNull(queue.poll());
+
+            for (int lap = 0; lap < 3; lap++) {
+                IntStream.range(0, 100).forEach(e -> queue.add("element " + e));
+
+                assertEquals(100, queue.size());
+                assertEquals("element 0", queue.peek());
+
+                IntStream.range(0, 100).forEach(e -> assertEquals("element " + e, queue.poll()));
+
+                assertNull(queue.poll());
+                assertEquals(0, queue.size());
+            }
+        }
+    }
+
+    @Test
+    public void testElementLargerThanChunk() {
+        final String large = "x".repeat(1_000);
+
+        try (final OffHeapQueue<String> queue = new OffHeapQueue<>(ElementCodec.utf8(), 64)) {
+            queue.addAll(List.of("a", large, "b", ""));
+
+            assertEquals(List.of("a", large, "b", ""), new ArrayList<>(queue));
+            assertEquals("a", queue.poll());
+            assertEquals(large, queue.poll());
+            assertEquals("b", queue.poll());
+            assertEquals("", queue.poll());
+        }
+    }
+
+    @Test
+    public void testClear() {
+        try (final OffHeapQueue<String> queue = new OffHeapQueue<>(ElementCodec.utf8(), 64)) {
+            IntStream.range(0, 50).forEach(e -> queue.add("element " + e));
+
+            queue.clear();
+
+            assertTrue(queue.isEmpty());
+            assertNull(queue.poll());
+
+            queue.add("again");
+
+            assertEquals("again", queue.poll());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUseAfterClose() {
+        final OffHeapQueue<String> queue = new OffHeapQueue<>(ElementCodec.utf8(), 64);
+
+        queue.add("a");
+        queue.close();
+        queue.poll();
+    }
+
+    @Test
+    public void testAppliedQueueWithOffHeapStorage() {
+        final List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedQueue<String> queue = AppliedQueue.withOffHeapStorage(ElementCodec.utf8())) {
+            IntStream.rangeClosed(1, 10).forEach(e -> queue.add("element " + e));
+
+            assertEquals(4, queue.drainAndApply(4, consumed::addAll));
+
+            queue.waitForConsumers();
+
+            assertEquals(List.of("element 1", "element 2", "element 3", "element 4"), consumed);
+            assertEquals(6, queue.size());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestQueuePublisher.java   1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for QueuePublisher.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestQueuePublisher {
+    @Test
+    public void testSingleConsumerPollsNeverOverlap() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final OverlapDetectingQueue queue = new OverlapDetectingQueue();
+
+        try {
+            final QueuePublisher<Integer> publisher = new QueuePublisher<>(queue, task -> {
+                executor.execute(task);
+
+                return true;
+            }, true);
+
+            final List<CollectingSubscriber> subscribers = new ArrayList<>();
+
+            for (int s = 0; s < 4; s++) {
+                final CollectingSubscriber subscriber = new CollectingSubscriber();
+
+                publisher.subscribe(subscriber);
+                subscribers.add(subscriber);
+            }
+
+            IntStream.range(0, 200).forEach(queue::offer);
+
+            subscribers.forEach(s -> s.subscription.request(Long.MAX_VALUE));
+            publisher.signal(subscribers.size());
+
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                    assertThat(subscribers.stream().mapToInt(s -> s.received.size()).sum()).isEqualTo(200));
+
+            final Set<Integer> all = new HashSet<>();
+
+            subscribers.forEach(s -> all.addAll(s.received));
+
+            assertEquals(200, all.size());
+            assertFalse(queue.overlapped.get());
+
+            publisher.close();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    /// A queue whose polls are slow and that
+    /// records whether two of them overlapped.
+    private static final class OverlapDetectingQueue extends ConcurrentLinkedQueue<Integer> {
+        private final AtomicInteger polling = new AtomicInteger();
+        private final AtomicBoolean overlapped = new AtomicBoolean();
+
+        @Override
+        public Integer poll() {
+            if (this.polling.incrementAndGet() > 1) {
+                this.overlapped.set(true);
+            }
+
+            try {
+                Thread.sleep(1);
+
+                return super.poll();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+
+                return null;
+            } finally {
+                this.polling.decrementAndGet();
+            }
+        }
+    }
+
+    /// A subscriber that collects what it receives.
+    private static final class CollectingSubscriber implements Flow.Subscriber<Integer> {
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Integer item) {
+            this.received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestRetryPolicy.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for RetryPolicy and the retrying
+/// of consumers by the applied collections.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestRetryPolicy {
+    @Test
+    public void testBackoffGrowsExponentiallyUpToTheMaximum() {
+        final RetryPolicy policy = new RetryPolicy(5, Duration.ofMillis(10), Duration.ofMillis(35), 2.0, 0.0);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), policy.backoffNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), policy.backoffNanos(2));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(35), policy.backoffNanos(3));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(35), policy.backoffNanos(4));
+    }
+
+    @Test
+    public void testJitterShortensTheBackoff() {
+        final RetryPolicy policy = RetryPolicy.of(3, Duration.ofMillis(100));
+        final long full = TimeUnit.MILLISECONDS.toNanos(200);
+
+        for (int i = 0; i < 1_000; i++) {
+            final long backoff = policy.backoffNanos(2);
+
+            assertTrue(backoff > full / 2 - 1);
+            assertTrue(backoff <= full);
+        }
+    }
+
+    @Test
+    public void testInvalidPolicies() {
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(1, Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(1, Duration.ofSeconds(2), Duration.ofSeconds(1), 2.0, 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 0.5, 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 2.0, 1.5));
+        assertThrows(NullPointerException.class, () -> RetryPolicy.of(1, null));
+    }
+
+    @Test
+    public void testFailingElementsAreRetriedUntilTheySucceed() {
+        final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedList<Integer> list = new AppliedList<>()) {
+            list.setRetryPolicy(RetryPolicy.of(3, Duration.ofMillis(5)));
+            list.addAll(List.of(1, 2, 3, 4));
+
+            final CompletableFuture<Void> future = list.consumeAsync(e -> {
+                if (attempts.computeIfAbsent(e, _ -> new AtomicInteger()).incrementAndGet() < e) {
+                    throw new IllegalStateException("Attempt failed");
+                }
+
+                applied.add(e);
+            });
+
+            final CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+            assertEquals(List.of(1, 2, 3), applied.stream().sorted().toList());
+            assertEquals(1, attempts.get(1).get());
+            assertEquals(2, attempts.get(2).get());
+            assertEquals(3, attempts.get(3).get());
+            assertEquals(List.of(4), List.copyOf(list.getDeadLetterQueue()));
+            assertEquals(3, attempts.get(4).get());
+        }
+    }
+
+    @Test
+    public void testAsyncFutureFailsWhenAnElementIsDeadLettered() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(2)) {
+            final AppliedMetrics metrics = queue.enableMetrics();
+
+            queue.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1), 1.0, 0.0));
+            IntStream.rangeClosed(1, 3).forEach(queue::add);
+
+            final CompletableFuture<Void> future = queue.clearAndApplyAsync(e -> {
+                if (e == 2) {
+                    throw new IllegalStateException("Always fails");
+                }
+            });
+
+            assertThrows(CompletionException.class, future::join);
+            assertEquals(Integer.valueOf(2), queue.getDeadLetterQueue().poll());
+            assertEquals(1, metrics.getTasksRetried());
+            assertEquals(1, metrics.getElementsDeadLettered());
+        }
+    }
+
+    @Test
+    public void testDeadLettersCanBeDrainedInBulk() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(2)) {
+            queue.setRetryPolicy(new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1.0, 0.0));
+            IntStream.rangeClosed(1, 10).forEach(queue::add);
+
+            while (queue.pollAndApply(e -> {
+                throw new IllegalStateException("Always fails");
+            }) != null) {
+                // Drain the queue
+            }
+
+            queue.waitForConsumers();
+
+            final AppliedQueue<Integer> deadLetters = queue.getDeadLetterQueue();
+
+            assertEquals(10, deadLetters.drainAllAndApply(4, batches::add));
+
+            deadLetters.waitForConsumers();
+
+            assertEquals(3, batches.size());
+            assertEquals(10, batches.stream().mapToInt(List::size).sum());
+        }
+    }
+
+    @Test
+    public void testNoRetryPolicyKeepsNoDeadLetters() {
+        try (final AppliedQueue<Integer> queue = new AppliedQueue<>(1)) {
+            queue.add(1);
+            queue.pollAndApply(e -> {
+                throw new IllegalStateException("Fails once");
+            });
+            queue.waitForConsumers();
+
+            assertNull(queue.getRetryPolicy());
+            assertNull(queue.getDeadLetterQueue());
+        }
+    }
+}
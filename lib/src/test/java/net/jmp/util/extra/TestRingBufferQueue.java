@@ -0,0 +1,195 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestRingBufferQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for RingBufferQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestRingBufferQueue {
+    @Test
+    public void testFifoInEveryMode() {
+        for (final RingBufferMode mode : RingBufferMode.values()) {
+            final RingBufferQueue<Integer> queue = RingBufferQueue.create(4, mode);
+
+            assertTrue(queue.isEmpty());
+            assertNull(queue.peek());
+            assertNull(queue.poll());
+
+            for (int lap = 0; lap < 3; lap++) {
+                IntStream.rangeClosed(1, 4).forEach(e -> assertTrue(queue.offer(e)));
+
+                assertFalse(mode.name(), queue.offer(5));
+                assertEquals(4, queue.size());
+                assertEquals(List.of(1, 2, 3, 4), new ArrayList<>(queue));
+                assertEquals(Integer.valueOf(1), queue.peek());
+
+                IntStream.rangeClosed(1, 4).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+
+                assertNull(queue.poll());
+                assertEquals(0, queue.size());
+            }
+        }
+    }
+
+    @Test
+    public void testCapacityRoundedUpToPowerOfTwo() {
+        final RingBufferQueue<Integer> queue = RingBufferQueue.create(5, RingBufferMode.MPMC);
+
+        assertEquals(8, queue.capacity());
+        assertEquals(1, RingBufferQueue.create(1, RingBufferMode.SPSC).capacity());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> RingBufferQueue.create(0, RingBufferMode.SPSC));
+        assertThrows(IllegalArgumentException.class, () -> RingBufferQueue.create(-1, RingBufferMode.MPSC));
+    }
+
+    @Test
+    public void testNullElement() {
+        assertThrows(NullPointerException.class, () -> RingBufferQueue.create(2, RingBufferMode.MPMC).offer(null));
+    }
+
+    @Test
+    public void testRemoveUnsupported() {
+        final RingBufferQueue<Integer> queue = RingBufferQueue.create(4, RingBufferMode.MPSC);
+
+        queue.offer(1);
+
+        assertThrows(UnsupportedOperationException.class, () -> queue.remove(1));
+    }
+
+    @Test
+    public void testSpscTransfersEveryElement() {
+        this.transfer(RingBufferMode.SPSC, 1, 1);
+    }
+
+    @Test
+    public void testMpscTransfersEveryElement() {
+        this.transfer(RingBufferMode.MPSC, 4, 1);
+    }
+
+    @Test
+    public void testMpmcTransfersEveryElement() {
+        this.transfer(RingBufferMode.MPMC, 4, 4);
+    }
+
+    @Test
+    public void testAppliedQueueWithRingBuffer() {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withRingBuffer(16, RingBufferMode.MPSC)) {
+            IntStream.rangeClosed(1, 16).forEach(queue::add);
+
+            assertFalse(queue.offer(17));
+            assertThrows(IllegalStateException.class, () -> queue.add(17));
+
+            while (queue.pollAndApply(consumed::add) != null) {
+                // Drain the queue
+            }
+
+            queue.clearAndApply(consumed::add, () -> {});
+            queue.waitForConsumers();
+
+            assertEquals(16, consumed.size());
+            assertThrows(UnsupportedOperationException.class,
+                    () -> {
+                        queue.add(1);
+                        queue.removeAllAndApply(List.of(1), consumed::add, () -> {});
+                    });
+        }
+    }
+
+    /// Transfer elements from the producers to the consumers
+    /// and assert that each is received exactly once.
+    ///
+    /// @param  mode        net.jmp.util.extra.RingBufferMode
+    /// @param  producers   int
+    /// @param  consumers   int
+    private void transfer(final RingBufferMode mode, final int producers, final int consumers) {
+        final int perProducer = 10_000;
+        final int total = producers * perProducer;
+        final RingBufferQueue<Integer> queue = RingBufferQueue.create(64, mode);
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final CountDownLatch done = new CountDownLatch(total);
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }, Thread.ofPlatform()::start));
+        }
+
+        for (int c = 0; c < consumers; c++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                while (done.getCount() > 0) {
+                    final Integer element = queue.poll();
+
+                    if (element == null) {
+                        Thread.onSpinWait();
+                    } else {
+                        assertTrue(received.add(element));
+                        done.countDown();
+                    }
+                }
+            }, Thread.ofPlatform()::start));
+        }
+
+        try {
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        tasks.forEach(CompletableFuture::join);
+
+        assertEquals(total, received.size());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,192 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestShardedQueue.java     1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for ShardedQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestShardedQueue {
+    @Test
+    public void testSingleThreadIsFifo() {
+        for (final ShardDrainMode mode : ShardDrainMode.values()) {
+            final ShardedQueue<Integer> queue = new ShardedQueue<>(4, mode);
+
+            assertTrue(queue.isEmpty());
+            assertNull(queue.peek());
+            assertNull(queue.poll());
+
+            IntStream.rangeClosed(1, 5).forEach(e -> assertTrue(queue.offer(e)));
+
+            assertEquals(5, queue.size());
+            assertEquals(List.of(1, 2, 3, 4, 5), new ArrayList<>(queue));
+            assertEquals(mode.name(), Integer.valueOf(1), queue.peek());
+
+            IntStream.rangeClosed(1, 5).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedQueue<Integer>(0, ShardDrainMode.ROUND_ROBIN));
+        assertThrows(NullPointerException.class, () -> new ShardedQueue<Integer>(2, null));
+        assertThrows(NullPointerException.class, () -> new ShardedQueue<Integer>(2, ShardDrainMode.WORK_STEALING).offer(null));
+    }
+
+    @Test
+    public void testRemoveIfAndClearVisitEveryShard() {
+        final ShardedQueue<Integer> queue = new ShardedQueue<>(4, ShardDrainMode.ROUND_ROBIN);
+
+        this.produce(queue, 4, 100);
+
+        assertEquals(400, queue.size());
+        assertTrue(queue.removeIf(e -> e % 2 == 0));
+        assertEquals(200, queue.size());
+        assertTrue(queue.stream().allMatch(e -> e % 2 != 0));
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testEachProducerIsFifo() {
+        final ShardedQueue<Integer> queue = new ShardedQueue<>(4, ShardDrainMode.ROUND_ROBIN);
+        final int[] last = {-1, -1, -1, -1, -1, -1, -1, -1};
+
+        this.produce(queue, 8, 1_000);
+
+        Integer element;
+
+        while ((element = queue.poll()) != null) {
+            final int producer = element / 1_000;
+
+            assertTrue(element > last[producer]);
+
+            last[producer] = element;
+        }
+    }
+
+    @Test
+    public void testRoundRobinDrainsEveryElement() {
+        this.transfer(ShardDrainMode.ROUND_ROBIN);
+    }
+
+    @Test
+    public void testWorkStealingDrainsEveryElement() {
+        this.transfer(ShardDrainMode.WORK_STEALING);
+    }
+
+    @Test
+    public void testAppliedQueueWithShards() {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<Integer> queue = AppliedQueue.withShards(4, ShardDrainMode.WORK_STEALING)) {
+            IntStream.rangeClosed(1, 20).forEach(queue::add);
+
+            queue.removeIfAndApply(e -> e > 16, consumed::add);
+
+            while (queue.pollAndApply(consumed::add) != null) {
+                // Drain the queue
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(20, consumed.size());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    /// Offer elements from the producers on their own
+    /// threads, then drain them from several consumer
+    /// threads, and assert that each is received once.
+    ///
+    /// @param  mode    net.jmp.util.extra.ShardDrainMode
+    private void transfer(final ShardDrainMode mode) {
+        final ShardedQueue<Integer> queue = new ShardedQueue<>(4, mode);
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        this.produce(queue, 8, 10_000);
+
+        for (int c = 0; c < 4; c++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                Integer element;
+
+                while ((element = queue.poll()) != null) {
+                    assertTrue(received.add(element));
+                }
+            }, Thread.ofPlatform()::start));
+        }
+
+        tasks.forEach(CompletableFuture::join);
+
+        assertEquals(80_000, received.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    /// Offer distinct elements from each producer
+    /// on its own thread and wait for them all.
+    ///
+    /// @param  queue       net.jmp.util.extra.ShardedQueue<Integer>
+    /// @param  producers   int
+    /// @param  perProducer int
+    private void produce(final ShardedQueue<Integer> queue, final int producers, final int perProducer) {
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(base + i);
+                }
+            }, Thread.ofPlatform()::start));
+        }
+
+        tasks.forEach(CompletableFuture::join);
+
+        assertEquals(producers * perProducer, queue.size());
+    }
+}
@@ -0,0 +1,277 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestSharedMemoryQueue.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/// A test class for SharedMemoryQueue. Two queues
+/// over the same file stand in for two processes.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestSharedMemoryQueue {
+    /// A codec of integers as four bytes.
+    private static final ElementCodec<Integer> INTEGER_CODEC = new ElementCodec<>() {
+        @Override
+        public int size(final Integer element) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer element, final ByteBuffer buffer) {
+            buffer.putInt(element);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    private Path directory;
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        this.directory = Files.createTempDirectory("shm");
+        this.file = this.directory.resolve("queue.shm");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(this.file);
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Test
+    public void testFifoAcrossMappings() throws IOException {
+        try (final SharedMemoryQueue<String> producer = new SharedMemoryQueue<>(this.file, ElementCodec.utf8(), 8, 16);
+             final SharedMemoryQueue<String> consumer = new SharedMemoryQueue<>(this.file, ElementCodec.utf8(), 8, 16)) {
+            assertTrue(consumer.isEmpty());
+            assertNull(consumer.peek());
+            assertNull(consumer.poll());
+
+            producer.addAll(List.of("a", "bé", "c€", "d😀"));
+
+            assertEquals(4, consumer.size());
+            assertEquals(List.of("a", "bé", "c€", "d😀"), new ArrayList<>(consumer));
+            assertEquals("a", consumer.peek());
+            assertEquals("a", consumer.poll());
+            assertEquals("bé", consumer.poll());
+            assertEquals("c€", consumer.poll());
+            assertEquals("d😀", consumer.poll());
+            assertNull(consumer.poll());
+            assertTrue(producer.isEmpty());
+        }
+    }
+
+    @Test
+    public void testBoundedAndWrapsAround() throws IOException {
+        try (final SharedMemoryQueue<Integer> queue = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 3, Integer.BYTES)) {
+            assertEquals(4, queue.capacity());
+
+            for (int lap = 0; lap < 3; lap++) {
+                final int base = lap * 10;
+
+                IntStream.range(base, base + 4).forEach(e -> assertTrue(queue.offer(e)));
+
+                assertFalse(queue.offer(99));
+                assertEquals(4, queue.size());
+
+                IntStream.range(base, base + 4).forEach(e -> assertEquals(Integer.valueOf(e), queue.poll()));
+            }
+
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testElementsSurviveAnotherMapping() throws IOException {
+        try (final SharedMemoryQueue<Integer> queue = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 8, Integer.BYTES)) {
+            IntStream.rangeClosed(1, 3).forEach(queue::add);
+        }
+
+        try (final SharedMemoryQueue<Integer> queue = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 8, Integer.BYTES)) {
+            assertEquals(List.of(1, 2, 3), new ArrayList<>(queue));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testElementLargerThanSlot() throws IOException {
+        try (final SharedMemoryQueue<String> queue = new SharedMemoryQueue<>(this.file, ElementCodec.utf8(), 8, 4)) {
+            queue.offer("abcde");
+        }
+    }
+
+    @Test
+    public void testMismatchedGeometry() throws IOException {
+        try (final SharedMemoryQueue<Integer> _ = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 8, Integer.BYTES)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 16, Integer.BYTES));
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 8, 0));
+        assertThrows(NullPointerException.class, () -> new SharedMemoryQueue<>(this.file, null, 8, 4));
+    }
+
+    @Test
+    public void testFailedEncodingIsSkipped() throws IOException {
+        final ElementCodec<Integer> codec = new ElementCodec<>() {
+            @Override
+            public int size(final Integer element) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(final Integer element, final ByteBuffer buffer) {
+                if (element < 0) {
+                    throw new IllegalStateException("Negative");
+                }
+
+                buffer.putInt(element);
+            }
+
+            @Override
+            public Integer decode(final ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+
+        try (final SharedMemoryQueue<Integer> queue = new SharedMemoryQueue<>(this.file, codec, 4, Integer.BYTES)) {
+            queue.add(1);
+
+            assertThrows(IllegalStateException.class, () -> queue.add(-1));
+
+            queue.add(2);
+
+            assertEquals(List.of(1, 2), new ArrayList<>(queue));
+            assertEquals(Integer.valueOf(1), queue.poll());
+            assertEquals(Integer.valueOf(2), queue.peek());
+            assertEquals(Integer.valueOf(2), queue.poll());
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUseAfterClose() throws IOException {
+        final SharedMemoryQueue<Integer> queue = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 4, Integer.BYTES);
+
+        queue.close();
+        queue.offer(1);
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        final int producers = 4;
+        final int perProducer = 5_000;
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final SharedMemoryQueue<Integer> producerSide = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 64, Integer.BYTES);
+             final SharedMemoryQueue<Integer> consumerSide = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 64, Integer.BYTES)) {
+            final ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+
+            for (int p = 0; p < producers; p++) {
+                final int base = p * perProducer;
+
+                executor.execute(() -> {
+                    for (int i = base; i < base + perProducer; i++) {
+                        while (!producerSide.offer(i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+
+            for (int c = 0; c < 2; c++) {
+                executor.execute(() -> {
+                    while (consumed.size() < producers * perProducer) {
+                        final Integer element = consumerSide.poll();
+
+                        if (element != null) {
+                            assertTrue(consumed.add(element));
+                        } else {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+
+            executor.shutdown();
+
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            assertEquals(producers * perProducer, consumed.size());
+            assertTrue(consumerSide.isEmpty());
+        }
+    }
+
+    @Test
+    public void testAppliedQueueWithSharedMemory() throws IOException {
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final SharedMemoryQueue<Integer> producer = new SharedMemoryQueue<>(this.file, INTEGER_CODEC, 16, Integer.BYTES);
+             final AppliedQueue<Integer> queue = AppliedQueue.withSharedMemory(this.file, INTEGER_CODEC, 16, Integer.BYTES)) {
+            IntStream.rangeClosed(1, 10).forEach(producer::add);
+
+            assertEquals(10, queue.size());
+
+            for (int i = 0; i < 4; i++) {
+                queue.pollAndApply(consumed::add);
+            }
+
+            queue.waitForConsumers();
+
+            assertEquals(Set.of(1, 2, 3, 4), consumed);
+            assertEquals(List.of(5, 6, 7, 8, 9, 10), new ArrayList<>(producer));
+        }
+    }
+}
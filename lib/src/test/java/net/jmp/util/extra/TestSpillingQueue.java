@@ -0,0 +1,190 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestSpillingQueue.java 1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/// A test class for SpillingQueue.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestSpillingQueue {
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("spill");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testFifoAcrossMemoryAndDisk() throws IOException {
+        try (final SpillingQueue<String> queue = this.open(3, SpillingQueue.UNBOUNDED_BYTES)) {
+            assertNull(queue.peek());
+            assertNull(queue.poll());
+
+            IntStream.range(0, 10).forEach(i -> queue.offer("e" + i));
+
+            assertEquals(10, queue.size());
+            assertEquals(7, queue.spilledCount());
+            assertEquals(IntStream.range(0, 10).mapToObj(i -> "e" + i).toList(), new ArrayList<>(queue));
+
+            assertEquals("e0", queue.poll());
+            assertEquals("e1", queue.poll());
+
+            queue.offer("e10");
+
+            assertEquals(8, queue.spilledCount());
+
+            for (int i = 2; i <= 10; i++) {
+                assertEquals("e" + i, queue.peek());
+                assertEquals("e" + i, queue.poll());
+            }
+
+            assertNull(queue.poll());
+            assertEquals(0, queue.spilledCount());
+
+            queue.offer("e11");
+
+            assertEquals(0, queue.spilledCount());
+            assertEquals("e11", queue.poll());
+        }
+    }
+
+    @Test
+    public void testByteThreshold() throws IOException {
+        try (final SpillingQueue<String> queue = this.open(Integer.MAX_VALUE, 10)) {
+            queue.addAll(List.of("abcd", "efgh", "ijk", "l"));
+
+            assertEquals(2, queue.spilledCount());
+            assertEquals(List.of("abcd", "efgh", "ijk", "l"), new ArrayList<>(queue));
+
+            queue.clear();
+
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.spilledCount());
+
+            queue.offer("abcdefghij");
+
+            assertEquals(0, queue.spilledCount());
+        }
+    }
+
+    @Test
+    public void testSpillDirectoryIsDeletedOnClose() throws IOException {
+        final SpillingQueue<String> queue = this.open(0, SpillingQueue.UNBOUNDED_BYTES);
+
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(0, files.count());
+        }
+
+        queue.offer("a");
+
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(1, files.count());
+        }
+
+        queue.close();
+
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(0, files.count());
+        }
+
+        assertThrows(IllegalStateException.class, () -> queue.offer("b"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> this.open(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> this.open(0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpillingQueue<>(this.directory, ElementCodec.utf8(), 1, 1, 8));
+    }
+
+    @Test
+    public void testRemoveUnsupported() throws IOException {
+        try (final SpillingQueue<String> queue = this.open(1, SpillingQueue.UNBOUNDED_BYTES)) {
+            queue.offer("a");
+
+            assertThrows(UnsupportedOperationException.class, () -> queue.remove("a"));
+        }
+    }
+
+    @Test
+    public void testAppliedQueueWithSpillToDisk() {
+        final Set<String> consumed = ConcurrentHashMap.newKeySet();
+
+        try (final AppliedQueue<String> queue = AppliedQueue.withSpillToDisk(this.directory, ElementCodec.utf8(), 100)) {
+            IntStream.range(0, 10_000).forEach(i -> queue.add("e" + i));
+
+            assertEquals(10_000, queue.size());
+            assertEquals(10_000, queue.drainAllAndApply(1_000, consumed::addAll));
+
+            queue.waitForConsumers();
+
+            assertEquals(10_000, consumed.size());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    /// Create a spilling queue of strings in the test
+    /// directory with a small segment size.
+    ///
+    /// @param  maxElementsInMemory int
+    /// @param  maxBytesInMemory    long
+    /// @return                     net.jmp.util.extra.SpillingQueue<java.lang.String>
+    private SpillingQueue<String> open(final int maxElementsInMemory, final long maxBytesInMemory) {
+        return new SpillingQueue<>(this.directory, ElementCodec.utf8(), maxElementsInMemory, maxBytesInMemory, 4_096);
+    }
+}
@@ -0,0 +1,130 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestTimingWheel.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for TimingWheel.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestTimingWheel {
+    @Test
+    public void testWheelSizeRoundedUpToPowerOfTwo() {
+        assertEquals(8, new TimingWheel<Integer>(5).wheelSize());
+        assertEquals(2, new TimingWheel<Integer>(2).wheelSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWheelSizeTooSmall() {
+        new TimingWheel<Integer>(1);
+    }
+
+    @Test
+    public void testEachElementExpiresAtItsDeadline() {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(4);
+        final List<Integer> deadlines = List.of(1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 1_000, 4_096, 100_000);
+
+        deadlines.forEach(d -> wheel.schedule(d, d));
+
+        assertEquals(deadlines.size(), wheel.size());
+
+        final List<Integer> expired = new ArrayList<>();
+
+        for (long tick = 1; tick <= 100_000; tick++) {
+            wheel.advance(tick, expired);
+
+            expired.forEach(e -> assertEquals(e.longValue(), wheel.currentTick()));
+            expired.clear();
+        }
+
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testAdvanceSeveralTicksAtOnce() {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(8);
+        final List<Integer> expired = new ArrayList<>();
+
+        IntStream.rangeClosed(1, 1_000).forEach(d -> wheel.schedule(d, d));
+
+        wheel.advance(500, expired);
+
+        assertEquals(IntStream.rangeClosed(1, 500).boxed().toList(), expired);
+        assertEquals(500, wheel.size());
+
+        expired.clear();
+        wheel.advance(10_000, expired);
+
+        assertEquals(IntStream.rangeClosed(501, 1_000).boxed().toList(), expired);
+        assertTrue(wheel.isEmpty());
+        assertEquals(10_000, wheel.currentTick());
+    }
+
+    @Test
+    public void testOverdueElementsExpireOnNextAdvance() {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(8);
+        final List<Integer> expired = new ArrayList<>();
+
+        wheel.advance(100, expired);
+        wheel.schedule(1, 50);
+        wheel.schedule(2, 100);
+        wheel.schedule(3, 101);
+
+        assertEquals(3, wheel.size());
+
+        wheel.advance(100, expired);
+
+        assertEquals(List.of(1, 2), expired);
+
+        wheel.advance(101, expired);
+
+        assertEquals(List.of(1, 2, 3), expired);
+    }
+
+    @Test
+    public void testClear() {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(8);
+        final List<Integer> expired = new ArrayList<>();
+
+        IntStream.rangeClosed(0, 100).forEach(d -> wheel.schedule(d, d));
+        wheel.clear();
+
+        assertTrue(wheel.isEmpty());
+
+        wheel.advance(200, expired);
+
+        assertTrue(expired.isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package net.jmp.util.extra;
+
+/*
+ * (#)TestUtf8Codec.java  1.5.0   10/16/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// A test class for Utf8Codec.
+///
+/// @version    1.5.0
+/// @since      1.5.0
+public final class TestUtf8Codec {
+    @Test
+    public void testEncodingMatchesStringGetBytes() {
+        final ElementCodec<String> codec = ElementCodec.utf8();
+
+        for (final String string : new String[] {"", "abc", "bé", "c€", "d😀", "\uD800x", "x\uDC00", "ߟ￿"}) {
+            final byte[] expected = string.getBytes(UTF_8);
+            final ByteBuffer buffer = ByteBuffer.allocate(codec.size(string));
+
+            codec.encode(string, buffer);
+
+            assertEquals(expected.length, codec.size(string));
+            assertFalse(buffer.hasRemaining());
+            assertArrayEquals(expected, buffer.array());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final ElementCodec<String> codec = ElementCodec.utf8();
+        final String string = "a bé c€ d😀";
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(codec.size(string));
+
+        codec.encode(string, buffer);
+
+        assertEquals(string, codec.decode(buffer.flip()));
+    }
+}